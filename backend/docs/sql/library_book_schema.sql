@@ -56,10 +56,59 @@ CREATE TABLE `t_book` (
   KEY `idx_status` (`status`),
   KEY `idx_create_time` (`create_time`),
   KEY `idx_category_status` (`category_id`,`status`),
-  KEY `idx_title_author` (`title`,`author`)
+  KEY `idx_title_author` (`title`,`author`),
+  KEY `idx_deleted_create_time` (`deleted`,`create_time`),
+  KEY `idx_deleted_status_create_time` (`deleted`,`status`,`create_time`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='图书表';
 /*!40101 SET character_set_client = @saved_cs_client */;
 
+--
+-- Table structure for table `t_book_import`
+--
+
+DROP TABLE IF EXISTS `t_book_import`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `t_book_import` (
+  `import_id` varchar(32) COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '导入任务ID',
+  `format` varchar(16) COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '文件格式：CSV、NDJSON',
+  `status` varchar(16) COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '任务状态：PENDING-排队中，RUNNING-导入中，COMPLETED-已完成，FAILED-异常终止',
+  `processed_rows` bigint NOT NULL DEFAULT '0' COMMENT '已处理的数据行数',
+  `success_rows` bigint NOT NULL DEFAULT '0' COMMENT '导入成功的行数',
+  `failed_rows` bigint NOT NULL DEFAULT '0' COMMENT '导入失败的行数',
+  `message` varchar(500) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '任务异常终止的原因',
+  `errors` mediumtext COLLATE utf8mb4_unicode_ci COMMENT '失败行明细（JSON数组）',
+  `submit_time` datetime NOT NULL COMMENT '提交时间',
+  `finish_time` datetime DEFAULT NULL COMMENT '完成时间',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`import_id`),
+  KEY `idx_finish_time` (`finish_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='图书导入任务表';
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Table structure for table `t_book_outbox`
+--
+
+DROP TABLE IF EXISTS `t_book_outbox`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `t_book_outbox` (
+  `id` bigint NOT NULL AUTO_INCREMENT COMMENT '事件ID（投递顺序）',
+  `event_type` varchar(32) COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '事件类型：TITLE_CHANGED-书名变更',
+  `book_id` bigint NOT NULL COMMENT '图书ID',
+  `payload` varchar(200) COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '事件内容（书名变更为新书名）',
+  `attempts` int NOT NULL DEFAULT '0' COMMENT '失败投递次数',
+  `locked_by` varchar(64) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '正在投递的中继实例',
+  `locked_until` datetime(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '投递租约或重试等待截止时间，之前不可被领取',
+  `last_error` varchar(500) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '最近一次投递失败原因',
+  `create_time` datetime(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '创建时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_locked_until_book_id` (`locked_until`,`book_id`),
+  KEY `idx_locked_by` (`locked_by`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='图书发件箱表';
+/*!40101 SET character_set_client = @saved_cs_client */;
+
 --
 -- Table structure for table `t_category`
 --
@@ -7,6 +7,7 @@ import com.library.auth.dto.UserDTO;
 import com.library.auth.entity.User;
 import com.library.auth.service.UserService;
 import com.library.common.constant.CommonConstants;
+import com.library.common.result.PageResult;
 import com.library.common.result.Result;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -57,24 +58,33 @@ public class UserController {
      *
      * @param pageNum  页码
      * @param pageSize 每页大小
-     * @param keyword  关键词
+     * @param keyword   关键词
+     * @param cursor    游标（传入时使用游标分页，空字符串表示第一页）
+     * @param withTotal 游标分页时是否统计总数
      * @return 用户分页列表
      */
     @GetMapping
-    public Result<Page<UserDTO>> getUserPage(
+    public Result<PageResult<UserDTO>> getUserPage(
             @RequestParam(name = "pageNum", defaultValue = "1") Integer pageNum,
             @RequestParam(name = "pageSize", defaultValue = "10") Integer pageSize,
-            @RequestParam(name = "keyword", required = false) String keyword) {
-        log.debug("分页查询用户: pageNum={}, pageSize={}, keyword={}", pageNum, pageSize, keyword);
+            @RequestParam(name = "keyword", required = false) String keyword,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "withTotal", defaultValue = "false") boolean withTotal) {
+        log.debug("分页查询用户: pageNum={}, pageSize={}, keyword={}, cursor={}", pageNum, pageSize, keyword, cursor);
         
         // 限制最大页大小
         if (pageSize > CommonConstants.MAX_PAGE_SIZE) {
             pageSize = CommonConstants.MAX_PAGE_SIZE;
         }
+
+        if (cursor != null) {
+            return Result.success(userService.getUserCursorPage(cursor, pageSize, keyword, withTotal));
+        }
         
         Page<User> page = new Page<>(pageNum, pageSize);
         Page<UserDTO> userPage = userService.getUserPage(page, keyword);
-        return Result.success(userPage);
+        return Result.success(PageResult.of(userPage.getCurrent(), userPage.getSize(), userPage.getTotal(),
+                userPage.getRecords()));
     }
 
     /**
@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.library.auth.dto.UserDTO;
 import com.library.auth.entity.User;
+import com.library.common.result.PageResult;
 
 /**
  * 用户服务接口
@@ -59,6 +60,17 @@ public interface UserService extends IService<User> {
      */
     Page<UserDTO> getUserPage(Page<User> page, String keyword);
 
+    /**
+     * 游标分页查询用户列表（按创建时间、ID倒序）
+     *
+     * @param cursor    上一页返回的游标，空字符串表示第一页
+     * @param pageSize  每页大小
+     * @param keyword   关键词
+     * @param withTotal 是否统计总数
+     * @return 用户分页列表
+     */
+    PageResult<UserDTO> getUserCursorPage(String cursor, Integer pageSize, String keyword, boolean withTotal);
+
     /**
      * 更新用户状态
      *
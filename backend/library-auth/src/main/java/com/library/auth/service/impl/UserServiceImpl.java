@@ -9,6 +9,8 @@ import com.library.auth.mapper.UserMapper;
 import com.library.auth.service.UserService;
 import com.library.common.constant.CommonConstants;
 import com.library.common.exception.BusinessException;
+import com.library.common.result.PageCursor;
+import com.library.common.result.PageResult;
 import com.library.common.result.ResultCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -67,9 +69,47 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
 
     @Override
     public Page<UserDTO> getUserPage(Page<User> page, String keyword) {
+        LambdaQueryWrapper<User> queryWrapper = keywordQuery(keyword);
+        queryWrapper.orderByDesc(User::getCreateTime).orderByDesc(User::getId);
+
+        Page<User> userPage = userMapper.selectPage(page, queryWrapper);
+
+        // 转换为 DTO
+        Page<UserDTO> dtoPage = new Page<>(userPage.getCurrent(), userPage.getSize(), userPage.getTotal());
+        List<UserDTO> dtoList = userPage.getRecords().stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        dtoPage.setRecords(dtoList);
+
+        return dtoPage;
+    }
+
+    @Override
+    public PageResult<UserDTO> getUserCursorPage(String cursor, Integer pageSize, String keyword, boolean withTotal) {
+        PageCursor after = PageCursor.decode(cursor);
+        Long total = withTotal ? userMapper.selectCount(keywordQuery(keyword)) : null;
+
+        LambdaQueryWrapper<User> queryWrapper = keywordQuery(keyword);
+        if (after != null) {
+            queryWrapper.and(wrapper -> wrapper
+                    .lt(User::getCreateTime, after.createTime())
+                    .or(w -> w.eq(User::getCreateTime, after.createTime()).lt(User::getId, after.id()))
+            );
+        }
+        queryWrapper.orderByDesc(User::getCreateTime).orderByDesc(User::getId)
+                .last("LIMIT " + (pageSize + 1));
+
+        List<UserDTO> records = userMapper.selectList(queryWrapper).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        return PageResult.ofCursor(records, pageSize, total, user -> new PageCursor(user.getCreateTime(), user.getId()));
+    }
+
+    /**
+     * 关键词搜索条件（用户名、邮箱、手机号、真实姓名）
+     */
+    private LambdaQueryWrapper<User> keywordQuery(String keyword) {
         LambdaQueryWrapper<User> queryWrapper = new LambdaQueryWrapper<>();
-        
-        // 关键词搜索（用户名、邮箱、手机号、真实姓名）
         if (StringUtils.hasText(keyword)) {
             queryWrapper.and(wrapper -> wrapper
                     .like(User::getUsername, keyword)
@@ -81,19 +121,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
                     .like(User::getRealName, keyword)
             );
         }
-
-        queryWrapper.orderByDesc(User::getCreateTime);
-
-        Page<User> userPage = userMapper.selectPage(page, queryWrapper);
-
-        // 转换为 DTO
-        Page<UserDTO> dtoPage = new Page<>(userPage.getCurrent(), userPage.getSize(), userPage.getTotal());
-        List<UserDTO> dtoList = userPage.getRecords().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        dtoPage.setRecords(dtoList);
-
-        return dtoPage;
+        return queryWrapper;
     }
 
     @Override
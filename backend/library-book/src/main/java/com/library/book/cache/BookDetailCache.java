@@ -0,0 +1,166 @@
+package com.library.book.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.library.book.config.BookDetailCacheProperties;
+import com.library.book.dto.BookResponse;
+import com.library.book.event.CatalogChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 图书详情本地缓存
+ *
+ * <p>缓存 {@link BookResponse}（含分类名称的联表查询结果）：
+ * <ul>
+ *     <li>容量按条目估算字节数限制，超出后按 W-TinyLFU 策略淘汰</li>
+ *     <li>库存单独保存在条目的库存覆盖层中，借还、出入库提交后按事件携带的库存原地替换，不回表也不淘汰整条</li>
+ *     <li>图书修改、删除、上下架提交后精确失效该图书；分类修改后失效该分类下的图书（分类名称可能变化）</li>
+ *     <li>命中率、淘汰数等指标通过 /actuator/metrics/cache.* 暴露（cache=bookDetailCache）</li>
+ * </ul>
+ * 加载、库存刷新和失效都在同一个键的原子操作内完成，加载中的旧数据不会覆盖提交后的变更
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Component
+public class BookDetailCache {
+
+    /**
+     * 指标中的缓存名称
+     */
+    private static final String CACHE_NAME = "bookDetailCache";
+
+    /**
+     * 条目固定开销估算（对象头、数值字段、日期等）
+     */
+    private static final int BASE_WEIGHT = 512;
+
+    private final BookDetailCacheProperties properties;
+    private final Cache<Long, Entry> cache;
+
+    public BookDetailCache(BookDetailCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumWeight())
+                .weigher((Long id, Entry entry) -> entry.weight())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 查询图书详情，未命中时通过 loader 加载并缓存
+     *
+     * @param id     图书ID
+     * @param loader 加载函数，图书不存在时返回 null（不缓存）
+     * @return 图书详情副本，调用方可以修改；不存在时为 null
+     */
+    public BookResponse get(Long id, Function<Long, BookResponse> loader) {
+        if (!properties.isEnabled()) {
+            return loader.apply(id);
+        }
+        Entry entry = cache.get(id, key -> {
+            BookResponse book = loader.apply(key);
+            return book != null ? new Entry(book) : null;
+        });
+        return entry != null ? entry.toResponse() : null;
+    }
+
+    /**
+     * 图书或分类变更提交后更新缓存
+     *
+     * @param event 目录变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.id() == null) {
+            return;
+        }
+        if (event.type() == CatalogChangedEvent.Type.CATEGORY) {
+            cache.asMap().values().removeIf(entry -> Objects.equals(entry.book.getCategoryId(), event.id()));
+        } else if (event.stockOnly()) {
+            refreshStock(event);
+        } else {
+            cache.invalidate(event.id());
+        }
+    }
+
+    /**
+     * 按事件携带的库存替换覆盖层，不回表；事件未携带库存时失效整条，下次访问重新加载
+     */
+    private void refreshStock(CatalogChangedEvent event) {
+        if (event.availableStock() == null) {
+            cache.invalidate(event.id());
+            return;
+        }
+        cache.asMap().computeIfPresent(event.id(), (key, entry) -> {
+            Integer totalStock = event.totalStock() != null ? event.totalStock() : entry.stock.totalStock();
+            entry.stock = new StockLevel(totalStock, event.availableStock());
+            return entry;
+        });
+    }
+
+    /**
+     * 库存覆盖层，整体替换保证总库存与可借库存一致
+     */
+    private record StockLevel(Integer totalStock, Integer availableStock) {
+    }
+
+    /**
+     * 缓存条目：加载时的图书详情 + 可原地替换的库存
+     */
+    private static final class Entry {
+
+        private final BookResponse book;
+
+        private volatile StockLevel stock;
+
+        private Entry(BookResponse book) {
+            this.book = book;
+            this.stock = new StockLevel(book.getTotalStock(), book.getAvailableStock());
+        }
+
+        private BookResponse toResponse() {
+            StockLevel current = stock;
+            return BookResponse.builder()
+                    .id(book.getId())
+                    .isbn(book.getIsbn())
+                    .title(book.getTitle())
+                    .author(book.getAuthor())
+                    .publisher(book.getPublisher())
+                    .publishDate(book.getPublishDate())
+                    .categoryId(book.getCategoryId())
+                    .categoryName(book.getCategoryName())
+                    .price(book.getPrice())
+                    .totalStock(current.totalStock())
+                    .availableStock(current.availableStock())
+                    .coverUrl(book.getCoverUrl())
+                    .description(book.getDescription())
+                    .status(book.getStatus())
+                    .statusDesc(book.getStatusDesc())
+                    .createTime(book.getCreateTime())
+                    .updateTime(book.getUpdateTime())
+                    .build();
+        }
+
+        /**
+         * 估算占用字节数（字符串按每字符 2 字节）
+         */
+        private int weight() {
+            return BASE_WEIGHT + 2 * (length(book.getIsbn()) + length(book.getTitle()) + length(book.getAuthor())
+                    + length(book.getPublisher()) + length(book.getCategoryName()) + length(book.getCoverUrl())
+                    + length(book.getDescription()) + length(book.getStatusDesc()));
+        }
+
+        private static int length(String value) {
+            return value != null ? value.length() : 0;
+        }
+    }
+}
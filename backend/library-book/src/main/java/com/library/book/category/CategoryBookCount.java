@@ -0,0 +1,12 @@
+package com.library.book.category;
+
+/**
+ * 分类下的图书数量（按分类分组统计的一行）
+ *
+ * @param categoryId 分类ID
+ * @param bookCount  图书数量
+ * @author Library System
+ * @since 1.0.0
+ */
+public record CategoryBookCount(Long categoryId, Long bookCount) {
+}
@@ -0,0 +1,120 @@
+package com.library.book.category;
+
+import com.library.book.config.CategoryTreeProperties;
+import com.library.book.entity.Category;
+import com.library.book.event.BookCategoryChangedEvent;
+import com.library.book.event.CatalogChangedEvent;
+import com.library.book.mapper.BookMapper;
+import com.library.book.mapper.CategoryMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * 分类树快照缓存
+ *
+ * <p>持有当前的 {@link CategoryTreeSnapshot}：
+ * <ul>
+ *     <li>首次读取或超过刷新间隔时，用一次分类查询和一次分组计数重建快照</li>
+ *     <li>分类新增、修改、删除、启停提交后立即重建并整体替换</li>
+ *     <li>图书新增、删除、改分类提交后只调整对应分类的计数</li>
+ * </ul>
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class CategoryTreeCache {
+
+    private final CategoryMapper categoryMapper;
+    private final BookMapper bookMapper;
+    private final CategoryTreeProperties properties;
+
+    private volatile CategoryTreeSnapshot snapshot;
+
+    public CategoryTreeCache(CategoryMapper categoryMapper, BookMapper bookMapper,
+                             CategoryTreeProperties properties) {
+        this.categoryMapper = categoryMapper;
+        this.bookMapper = bookMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * 获取当前快照，不存在或已过期时重建
+     *
+     * @return 分类树快照
+     */
+    public CategoryTreeSnapshot get() {
+        CategoryTreeSnapshot current = snapshot;
+        if (current == null || current.isOlderThan(properties.getRefreshInterval().toNanos())) {
+            current = rebuild(current);
+        }
+        return current;
+    }
+
+    /**
+     * 分类变更提交后重建快照
+     *
+     * @param event 目录变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.type() != CatalogChangedEvent.Type.CATEGORY) {
+            return;
+        }
+        synchronized (this) {
+            snapshot = null;
+        }
+        try {
+            rebuild(null);
+        } catch (RuntimeException e) {
+            log.warn("分类变更后重建分类树快照失败，将在下次读取时重建: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 图书所属分类变更提交后调整计数
+     *
+     * @param event 图书分类变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookCategoryChanged(BookCategoryChangedEvent event) {
+        synchronized (this) {
+            CategoryTreeSnapshot current = snapshot;
+            if (current != null) {
+                current.adjustBookCount(event.fromCategoryId(), -1);
+                current.adjustBookCount(event.toCategoryId(), 1);
+            }
+        }
+    }
+
+    /**
+     * 重建快照；与计数调整互斥，避免增量落在即将被替换的旧快照上
+     *
+     * @param expected 调用方看到的快照，已被其他线程替换时直接返回新快照；为 null 时强制重建
+     */
+    private synchronized CategoryTreeSnapshot rebuild(CategoryTreeSnapshot expected) {
+        CategoryTreeSnapshot current = snapshot;
+        if (expected != null && current != expected) {
+            return current;
+        }
+        try {
+            List<Category> categories = categoryMapper.selectList(null);
+            List<CategoryBookCount> counts = bookMapper.countGroupByCategory();
+            CategoryTreeSnapshot built = CategoryTreeSnapshot.build(categories, counts);
+            snapshot = built;
+            log.debug("分类树快照已重建，分类数: {}", categories.size());
+            return built;
+        } catch (RuntimeException e) {
+            // 重建失败时继续使用旧快照（即使已过期），没有旧快照时抛出
+            if (current == null) {
+                throw e;
+            }
+            log.warn("分类树快照重建失败，继续使用旧快照: {}", e.getMessage());
+            return current;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.library.book.category;
+
+import com.library.book.dto.CategoryResponse;
+import com.library.book.entity.Category;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 分类树快照
+ *
+ * <p>由一次分类全表扫描和一次按分类分组的图书计数构建：
+ * <ul>
+ *     <li>树结构（父子关系、排序、分类字段）构建后不再修改，分类变更时整体替换为新快照</li>
+ *     <li>各分类的直属图书数量存放在原子数组中，图书新增、删除、改分类时按增量调整</li>
+ *     <li>按先序遍历给每个分类编号，子树对应编号上的连续区间，查询子孙分类不需要递归</li>
+ * </ul>
+ * 每次读取都生成新的响应对象，调用方修改返回值不会影响快照
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+public final class CategoryTreeSnapshot {
+
+    private static final Comparator<Category> ORDER = Comparator
+            .comparing((Category c) -> c.getSortOrder() != null ? c.getSortOrder() : 0)
+            .thenComparing(Category::getId);
+
+    private static final int[] NO_CHILDREN = new int[0];
+
+    /**
+     * 按排序号、ID排列的分类
+     */
+    private final Category[] categories;
+
+    private final Map<Long, Integer> positions;
+
+    private final int[][] children;
+
+    private final int[] roots;
+
+    /**
+     * 先序遍历顺序中的分类下标
+     */
+    private final int[] preorder;
+
+    /**
+     * 分类子树在 {@link #preorder} 中的区间 [subtreeStart, subtreeEnd)
+     */
+    private final int[] subtreeStart;
+    private final int[] subtreeEnd;
+
+    private final AtomicIntegerArray bookCounts;
+
+    private final long builtAtNanos;
+
+    private CategoryTreeSnapshot(Category[] categories, Map<Long, Integer> positions, int[][] children,
+                                 int[] roots, AtomicIntegerArray bookCounts) {
+        this.categories = categories;
+        this.positions = positions;
+        this.children = children;
+        this.roots = roots;
+        this.bookCounts = bookCounts;
+        this.preorder = new int[categories.length];
+        this.subtreeStart = new int[categories.length];
+        this.subtreeEnd = new int[categories.length];
+        int[] stack = new int[categories.length];
+        int[] childCursor = new int[categories.length];
+        int next = 0;
+        for (int root : roots) {
+            next = number(root, next, stack, childCursor);
+        }
+        this.builtAtNanos = System.nanoTime();
+    }
+
+    /**
+     * 构建快照
+     *
+     * @param categoryList 全部未删除的分类
+     * @param counts       按分类分组的图书数量
+     * @return 快照
+     */
+    public static CategoryTreeSnapshot build(Collection<Category> categoryList, Collection<CategoryBookCount> counts) {
+        Category[] categories = categoryList.toArray(new Category[0]);
+        Arrays.sort(categories, ORDER);
+
+        Map<Long, Integer> positions = new HashMap<>(categories.length * 2);
+        for (int i = 0; i < categories.length; i++) {
+            positions.put(categories[i].getId(), i);
+        }
+
+        // 分类已按顺序排列，按顺序追加即得到有序的子节点列表
+        List<List<Integer>> childLists = new ArrayList<>(categories.length);
+        for (int i = 0; i < categories.length; i++) {
+            childLists.add(null);
+        }
+        List<Integer> rootList = new ArrayList<>();
+        for (int i = 0; i < categories.length; i++) {
+            Long parentId = categories[i].getParentId();
+            if (parentId == null || parentId == 0L) {
+                rootList.add(i);
+                continue;
+            }
+            Integer parent = positions.get(parentId);
+            if (parent != null) {
+                if (childLists.get(parent) == null) {
+                    childLists.set(parent, new ArrayList<>());
+                }
+                childLists.get(parent).add(i);
+            }
+        }
+        int[][] children = new int[categories.length][];
+        for (int i = 0; i < categories.length; i++) {
+            List<Integer> list = childLists.get(i);
+            children[i] = list == null ? NO_CHILDREN : list.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        AtomicIntegerArray bookCounts = new AtomicIntegerArray(categories.length);
+        for (CategoryBookCount count : counts) {
+            Integer position = positions.get(count.categoryId());
+            if (position != null && count.bookCount() != null) {
+                bookCounts.set(position, count.bookCount().intValue());
+            }
+        }
+
+        return new CategoryTreeSnapshot(categories, positions, children,
+                rootList.stream().mapToInt(Integer::intValue).toArray(), bookCounts);
+    }
+
+    /**
+     * 分类及其全部子孙分类的ID
+     *
+     * @param categoryId 分类ID
+     * @return 子树内的分类ID（含自身）；分类不在树中时只包含自身
+     */
+    public List<Long> subtreeIds(Long categoryId) {
+        Integer position = positions.get(categoryId);
+        if (position == null || subtreeEnd[position] == 0) {
+            return List.of(categoryId);
+        }
+        List<Long> ids = new ArrayList<>(subtreeEnd[position] - subtreeStart[position]);
+        for (int i = subtreeStart[position]; i < subtreeEnd[position]; i++) {
+            ids.add(categories[preorder[i]].getId());
+        }
+        return ids;
+    }
+
+    /**
+     * 分类 descendantId 是否在 ancestorId 的子树中（含自身）
+     *
+     * @param ancestorId   祖先分类ID
+     * @param descendantId 子孙分类ID
+     * @return 是否在子树中
+     */
+    public boolean inSubtree(Long ancestorId, Long descendantId) {
+        if (Objects.equals(ancestorId, descendantId)) {
+            return true;
+        }
+        Integer ancestor = positions.get(ancestorId);
+        Integer descendant = positions.get(descendantId);
+        if (ancestor == null || descendant == null || subtreeEnd[descendant] == 0) {
+            return false;
+        }
+        return subtreeStart[descendant] >= subtreeStart[ancestor] && subtreeStart[descendant] < subtreeEnd[ancestor];
+    }
+
+    /**
+     * 调整分类的直属图书数量
+     *
+     * @param categoryId 分类ID，为 null 或不在快照中时忽略
+     * @param delta      变化量
+     */
+    public void adjustBookCount(Long categoryId, int delta) {
+        if (categoryId == null) {
+            return;
+        }
+        Integer position = positions.get(categoryId);
+        if (position != null) {
+            bookCounts.addAndGet(position, delta);
+        }
+    }
+
+    /**
+     * 分类的直属图书数量
+     *
+     * @param categoryId 分类ID
+     * @return 图书数量，分类不在快照中时为 null
+     */
+    public Integer bookCount(Long categoryId) {
+        Integer position = positions.get(categoryId);
+        return position != null ? bookCounts.get(position) : null;
+    }
+
+    /**
+     * 快照是否已超过指定时长
+     *
+     * @param maxAgeNanos 最长存活时间（纳秒）
+     * @return 是否过期
+     */
+    public boolean isOlderThan(long maxAgeNanos) {
+        return System.nanoTime() - builtAtNanos > maxAgeNanos;
+    }
+
+    /**
+     * 分类树（从顶级分类开始，父分类已删除的分类不出现在树中）
+     *
+     * @return 树形分类列表
+     */
+    public List<CategoryResponse> tree() {
+        List<CategoryResponse> tree = new ArrayList<>(roots.length);
+        for (int root : roots) {
+            tree.add(toTreeNode(root));
+        }
+        return tree;
+    }
+
+    /**
+     * 分类平铺列表
+     *
+     * @param enabledOnly 是否只返回启用的分类
+     * @return 分类列表
+     */
+    public List<CategoryResponse> list(boolean enabledOnly) {
+        List<CategoryResponse> list = new ArrayList<>(categories.length);
+        for (int i = 0; i < categories.length; i++) {
+            if (!enabledOnly || Integer.valueOf(1).equals(categories[i].getStatus())) {
+                list.add(toResponse(i));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * 先序编号（用显式栈代替递归，层级很深时也不会栈溢出）
+     *
+     * @return 下一个可用编号
+     */
+    private int number(int root, int next, int[] stack, int[] childCursor) {
+        int top = 0;
+        stack[top] = root;
+        childCursor[top] = 0;
+        subtreeStart[root] = next;
+        preorder[next++] = root;
+        while (top >= 0) {
+            int current = stack[top];
+            if (childCursor[top] < children[current].length) {
+                int child = children[current][childCursor[top]++];
+                top++;
+                stack[top] = child;
+                childCursor[top] = 0;
+                subtreeStart[child] = next;
+                preorder[next++] = child;
+            } else {
+                subtreeEnd[current] = next;
+                top--;
+            }
+        }
+        return next;
+    }
+
+    private CategoryResponse toTreeNode(int position) {
+        CategoryResponse node = toResponse(position);
+        List<CategoryResponse> childNodes = new ArrayList<>(children[position].length);
+        int total = node.getBookCount();
+        for (int child : children[position]) {
+            CategoryResponse childNode = toTreeNode(child);
+            total += childNode.getTotalBookCount();
+            childNodes.add(childNode);
+        }
+        node.setChildren(childNodes);
+        node.setTotalBookCount(total);
+        return node;
+    }
+
+    private CategoryResponse toResponse(int position) {
+        Category category = categories[position];
+        String parentName = null;
+        if (category.getParentId() != null && category.getParentId() > 0) {
+            Integer parent = positions.get(category.getParentId());
+            if (parent != null) {
+                parentName = categories[parent].getName();
+            }
+        }
+        return CategoryResponse.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .code(category.getCode())
+                .parentId(category.getParentId())
+                .parentName(parentName)
+                .sortOrder(category.getSortOrder())
+                .description(category.getDescription())
+                .status(category.getStatus())
+                .statusDesc(Integer.valueOf(1).equals(category.getStatus()) ? "启用" : "禁用")
+                .bookCount(bookCounts.get(position))
+                .createTime(category.getCreateTime())
+                .updateTime(category.getUpdateTime())
+                .build();
+    }
+}
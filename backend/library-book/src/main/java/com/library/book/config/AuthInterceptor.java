@@ -1,7 +1,10 @@
 package com.library.book.config;
 
 import com.library.book.feign.AuthClient;
+import com.library.common.config.IdentityProperties;
+import com.library.common.dto.UserInfo;
 import com.library.common.exception.BusinessException;
+import com.library.common.interceptor.UserContextHolder;
 import com.library.common.result.Result;
 import com.library.common.result.ResultCode;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,6 +28,7 @@ import org.springframework.web.servlet.HandlerInterceptor;
 public class AuthInterceptor implements HandlerInterceptor {
 
     private final AuthClient authClient;
+    private final IdentityProperties identityProperties;
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
@@ -45,22 +49,28 @@ public class AuthInterceptor implements HandlerInterceptor {
         boolean requireAdmin = handlerMethod.hasMethodAnnotation(RequireAdmin.class)
                 || handlerMethod.getBeanType().isAnnotationPresent(RequireAdmin.class);
 
+        // 网关签名身份（由 TrustedIdentityInterceptor 本地验签）
+        AuthClient.AuthUserInfo trustedUser = getTrustedUser();
+
         // 获取 Token
         String token = extractToken(request);
 
         // 如果需要管理员权限，必须验证 Token
         if (requireAdmin) {
-            if (!StringUtils.hasText(token)) {
-                throw new BusinessException(ResultCode.UNAUTHORIZED, "请先登录");
-            }
+            AuthClient.AuthUserInfo userInfo = trustedUser;
 
-            // 调用认证服务验证 Token
-            Result<AuthClient.AuthUserInfo> result = authClient.verifyToken(BEARER_PREFIX + token);
-            if (!result.isSuccess()) {
-                throw new BusinessException(ResultCode.UNAUTHORIZED, result.getMessage());
-            }
+            // 无签名身份或开启吊销检查时，调用认证服务验证 Token
+            if (userInfo == null || identityProperties.isRevocationCheck()) {
+                if (!StringUtils.hasText(token)) {
+                    throw new BusinessException(ResultCode.UNAUTHORIZED, "请先登录");
+                }
 
-            AuthClient.AuthUserInfo userInfo = result.getData();
+                Result<AuthClient.AuthUserInfo> result = authClient.verifyToken(BEARER_PREFIX + token);
+                if (!result.isSuccess()) {
+                    throw new BusinessException(ResultCode.UNAUTHORIZED, result.getMessage());
+                }
+                userInfo = result.getData();
+            }
 
             // 检查是否是管理员
             if (!"ADMIN".equals(userInfo.role())) {
@@ -70,6 +80,9 @@ public class AuthInterceptor implements HandlerInterceptor {
             // 存储用户信息
             CURRENT_USER.set(userInfo);
             log.debug("用户 {} 验证通过，角色: {}", userInfo.username(), userInfo.role());
+        } else if (trustedUser != null) {
+            // 已有签名身份，无需远程验证
+            CURRENT_USER.set(trustedUser);
         } else if (StringUtils.hasText(token)) {
             // 非必须验证的接口，如果有 Token 也进行验证
             try {
@@ -91,6 +104,17 @@ public class AuthInterceptor implements HandlerInterceptor {
         CURRENT_USER.remove();
     }
 
+    /**
+     * 获取网关签名身份
+     */
+    private AuthClient.AuthUserInfo getTrustedUser() {
+        UserInfo userInfo = UserContextHolder.getUser();
+        if (userInfo == null) {
+            return null;
+        }
+        return new AuthClient.AuthUserInfo(userInfo.getUserId(), userInfo.getUsername(), userInfo.getRole());
+    }
+
     /**
      * 从请求头中提取 Token
      */
@@ -0,0 +1,34 @@
+package com.library.book.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 图书详情缓存配置
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "library.book.detail-cache")
+public class BookDetailCacheProperties {
+
+    /**
+     * 是否启用图书详情本地缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最大占用（按条目估算的字节数，描述较长的图书占用更多）
+     */
+    private long maximumWeight = 32L * 1024 * 1024;
+
+    /**
+     * 写入后过期时间（兜底，正常由变更事件精确失效）
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(30);
+}
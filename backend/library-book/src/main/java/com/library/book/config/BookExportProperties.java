@@ -0,0 +1,22 @@
+package com.library.book.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 图书导出配置
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "library.book.export")
+public class BookExportProperties {
+
+    /**
+     * 同时进行的导出数上限（每个导出在传输期间占用一个数据库连接），超出后拒绝新的导出
+     */
+    private int maxConcurrent = 2;
+}
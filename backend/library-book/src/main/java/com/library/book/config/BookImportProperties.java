@@ -0,0 +1,39 @@
+package com.library.book.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 图书批量导入配置
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "library.book.import")
+public class BookImportProperties {
+
+    /**
+     * 每批插入的行数（一个 JDBC 批次、一个事务；需在数据源 URL 上开启 rewriteBatchedStatements）
+     */
+    private int batchSize = 1000;
+
+    /**
+     * 单个导入任务最多记录的错误行数，超出后只计数
+     */
+    private int maxReportedErrors = 1000;
+
+    /**
+     * 排队等待执行的导入任务上限，超出后拒绝新的导入
+     */
+    private int maxPendingJobs = 4;
+
+    /**
+     * 导入完成后进度保留多久，过期后无法再查询
+     */
+    private Duration retention = Duration.ofHours(1);
+}
@@ -0,0 +1,49 @@
+package com.library.book.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 图书发件箱中继配置
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "library.book.outbox")
+public class BookOutboxProperties {
+
+    /**
+     * 是否启用发件箱中继（关闭时事件只写入不投递，重新启用后继续投递）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 没有待投递事件时的轮询间隔（图书变更提交后会立即唤醒中继）
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * 每批最多领取的事件数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 领取后的投递租约，超时未完成的事件可被其他实例重新领取
+     */
+    private Duration lease = Duration.ofSeconds(30);
+
+    /**
+     * 首次投递失败后的重试间隔，之后每次失败加倍
+     */
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    /**
+     * 重试间隔上限
+     */
+    private Duration maxRetryBackoff = Duration.ofMinutes(5);
+}
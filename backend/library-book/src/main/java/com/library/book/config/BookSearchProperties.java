@@ -0,0 +1,27 @@
+package com.library.book.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 图书搜索索引配置
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "library.book.search")
+public class BookSearchProperties {
+
+    /**
+     * 是否启用内存倒排索引（关闭或索引未就绪时图书列表查询走数据库）
+     */
+    private boolean enabled = false;
+
+    /**
+     * 初始构建时每批从数据库读取的行数（按主键分批，不长时间占用连接）
+     */
+    private int batchSize = 1000;
+}
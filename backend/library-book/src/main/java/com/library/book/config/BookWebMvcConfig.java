@@ -1,5 +1,6 @@
 package com.library.book.config;
 
+import com.library.common.interceptor.TrustedIdentityInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -16,14 +17,24 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class BookWebMvcConfig implements WebMvcConfigurer {
 
     private final AuthInterceptor authInterceptor;
+    private final TrustedIdentityInterceptor trustedIdentityInterceptor;
     
     @Autowired
-    public BookWebMvcConfig(@Lazy AuthInterceptor authInterceptor) {
+    public BookWebMvcConfig(@Lazy AuthInterceptor authInterceptor,
+                            TrustedIdentityInterceptor trustedIdentityInterceptor) {
         this.authInterceptor = authInterceptor;
+        this.trustedIdentityInterceptor = trustedIdentityInterceptor;
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        // 先校验网关签名身份，再执行认证拦截
+        registry.addInterceptor(trustedIdentityInterceptor)
+                .addPathPatterns("/**")
+                .excludePathPatterns(
+                        "/actuator/**",
+                        "/error"
+                );
         registry.addInterceptor(authInterceptor)
                 .addPathPatterns("/**")
                 .excludePathPatterns(
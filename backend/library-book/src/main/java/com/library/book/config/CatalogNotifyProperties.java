@@ -0,0 +1,32 @@
+package com.library.book.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 目录变更通知配置
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "library.book.catalog-notify")
+public class CatalogNotifyProperties {
+
+    /**
+     * 是否在图书/分类变更后通知网关清除响应缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 网关在注册中心的服务名
+     */
+    private String gatewayServiceId = "library-gateway";
+
+    /**
+     * 通知请求超时时间（毫秒）
+     */
+    private int timeoutMillis = 2000;
+}
@@ -0,0 +1,24 @@
+package com.library.book.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 分类树快照配置
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "library.book.category-tree")
+public class CategoryTreeProperties {
+
+    /**
+     * 快照全量重建间隔：图书数量平时按增量调整，定期与数据库对齐，修正并发下可能出现的计数偏差
+     */
+    private Duration refreshInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,49 @@
+package com.library.book.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 热点图书库存预留配置
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "library.book.hot-stock")
+public class HotStockProperties {
+
+    /**
+     * 是否启用热点图书库存预留（关闭时所有借书都直接更新数据库）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 同一图书同时在数据库上扣减库存的请求数达到该值时，判定为热点图书
+     */
+    private int promoteConcurrency = 8;
+
+    /**
+     * 热点图书连续多久没有借书请求后退出热点模式
+     */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    /**
+     * 批量落库间隔：预留请求最多等待这么久就会随同一批扣减写入数据库
+     */
+    private Duration flushInterval = Duration.ofMillis(5);
+
+    /**
+     * 单批最多合并的预留数
+     */
+    private int maxBatchSize = 2000;
+
+    /**
+     * 预留请求等待落库的最长时间，超时且尚未被取走的预留会被撤销
+     */
+    private Duration waitTimeout = Duration.ofSeconds(3);
+}
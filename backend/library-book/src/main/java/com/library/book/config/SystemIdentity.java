@@ -0,0 +1,45 @@
+package com.library.book.config;
+
+import com.library.common.config.IdentityProperties;
+import com.library.common.constant.CommonConstants;
+import com.library.common.utils.IdentitySignUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 图书服务的系统身份
+ *
+ * <p>后台任务（通知网关、发件箱中继）调用其他服务时没有用户请求可转发，
+ * 使用以 library.identity.secret 签名的系统身份头
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class SystemIdentity {
+
+    private static final String USER_ID = "0";
+    private static final String USERNAME = "library-book";
+    private static final String ROLE = "SYSTEM";
+
+    private final IdentityProperties identityProperties;
+
+    /**
+     * 生成带当前时间戳签名的身份头
+     *
+     * @return 请求头名称到值的映射
+     */
+    public Map<String, String> signedHeaders() {
+        long timestamp = System.currentTimeMillis();
+        String signature = IdentitySignUtils.sign(USER_ID, USERNAME, ROLE, timestamp, identityProperties.getSecret());
+        return Map.of(
+                CommonConstants.USER_ID_HEADER, USER_ID,
+                CommonConstants.USERNAME_HEADER, USERNAME,
+                CommonConstants.USER_ROLE_HEADER, ROLE,
+                CommonConstants.USER_TIMESTAMP_HEADER, String.valueOf(timestamp),
+                CommonConstants.USER_SIGNATURE_HEADER, signature);
+    }
+}
@@ -2,14 +2,27 @@ package com.library.book.controller;
 
 import com.library.book.config.RequireAdmin;
 import com.library.book.dto.*;
+import com.library.book.service.BookExportService;
+import com.library.book.service.BookImportService;
 import com.library.book.service.BookService;
+import com.library.book.transfer.BookFileFormat;
 import com.library.common.result.PageResult;
 import com.library.common.result.Result;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
 /**
  * 图书管理 Controller
  *
@@ -22,7 +35,16 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class BookController {
 
+    private static final DateTimeFormatter EXPORT_FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    /**
+     * 管理员 GET 接口的缓存策略：响应依赖调用者权限，不允许网关等共享缓存保存
+     */
+    private static final String ADMIN_CACHE_CONTROL = "private, no-store";
+
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
 
     /**
      * 分页查询图书列表
@@ -36,6 +58,57 @@ public class BookController {
         return Result.success(result);
     }
 
+    /**
+     * 按ID批量查询图书简要信息及可借库存
+     *
+     * @param ids 图书ID列表，单次最多100个
+     * @return 与请求顺序一致的图书简要信息，不存在的图书 found 为 false
+     */
+    @GetMapping("/batch")
+    public Result<List<BookBrief>> getBooksByIds(@RequestParam("ids") List<Long> ids) {
+        List<BookBrief> books = bookService.getBooksByIds(ids);
+        return Result.success(books);
+    }
+
+    /**
+     * 流式导出图书（需要管理员权限）
+     *
+     * <p>导出符合查询条件的全部图书（忽略分页参数），请求头 Accept-Encoding 含 gzip 时边写边压缩
+     *
+     * @param query          查询条件
+     * @param format         文件格式：csv（默认）、ndjson
+     * @param acceptEncoding 请求的 Accept-Encoding
+     * @param response       HTTP 响应
+     */
+    @GetMapping("/export")
+    @RequireAdmin
+    public void exportBooks(BookQuery query,
+                            @RequestParam(value = "format", required = false) String format,
+                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                            HttpServletResponse response) {
+        BookFileFormat fileFormat = BookFileFormat.resolve(format, null);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        try {
+            bookExportService.exportBooks(query, fileFormat, () -> {
+                String extension = fileFormat == BookFileFormat.NDJSON ? "ndjson" : "csv";
+                response.setContentType(fileFormat == BookFileFormat.NDJSON
+                        ? "application/x-ndjson;charset=UTF-8" : "text/csv;charset=UTF-8");
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"books-"
+                        + LocalDateTime.now().format(EXPORT_FILE_TIME) + "." + extension + "\"");
+                response.setHeader(HttpHeaders.CACHE_CONTROL, ADMIN_CACHE_CONTROL);
+                response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                if (!gzip) {
+                    return response.getOutputStream();
+                }
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                return new GZIPOutputStream(response.getOutputStream(), 8192);
+            });
+        } catch (UncheckedIOException e) {
+            // 响应已开始发送，无法再返回错误信息（通常是客户端中途断开）
+            log.warn("图书导出中断: {}", e.getMessage());
+        }
+    }
+
     /**
      * 根据ID查询图书详情
      *
@@ -60,6 +133,41 @@ public class BookController {
         return Result.success(book);
     }
 
+    /**
+     * 批量导入图书（需要管理员权限）
+     *
+     * <p>请求体为 CSV（首行为表头）或 NDJSON，上传完成后立即返回导入任务ID，导入在后台执行
+     *
+     * @param format      文件格式：csv、ndjson，为空时按 Content-Type 判断
+     * @param contentType 请求的 Content-Type
+     * @param body        请求体
+     * @return 导入进度（含导入任务ID）
+     */
+    @PostMapping("/import")
+    @RequireAdmin
+    public Result<BookImportProgress> importBooks(@RequestParam(value = "format", required = false) String format,
+                                                  @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                                  InputStream body) {
+        BookImportProgress progress = bookImportService.submitImport(body, format, contentType);
+        return Result.success("导入任务已提交", progress);
+    }
+
+    /**
+     * 查询图书导入进度（需要管理员权限）
+     *
+     * @param importId 导入任务ID
+     * @return 导入进度及失败行明细
+     */
+    @GetMapping("/import/{importId}")
+    @RequireAdmin
+    public Result<BookImportProgress> getImportProgress(@PathVariable("importId") String importId,
+                                                        HttpServletResponse response) {
+        // 进度随导入批次变化且只对管理员可见，禁止网关和浏览器缓存
+        response.setHeader(HttpHeaders.CACHE_CONTROL, ADMIN_CACHE_CONTROL);
+        BookImportProgress progress = bookImportService.getImportProgress(importId);
+        return Result.success(progress);
+    }
+
     /**
      * 新增图书（需要管理员权限）
      *
@@ -128,7 +236,33 @@ public class BookController {
     }
 
     /**
-     * 检查库存是否充足
+     * 借书预留库存（供借阅服务调用）：校验上架状态、扣减可借库存并返回图书快照
+     *
+     * @param id       图书ID
+     * @param quantity 数量
+     * @return 图书快照及预留后的可借库存
+     */
+    @PostMapping("/{id}/reservations")
+    public Result<BookReservation> reserveForBorrow(@PathVariable("id") Long id,
+                                                    @RequestParam("quantity") Integer quantity) {
+        BookReservation reservation = bookService.reserveForBorrow(id, quantity);
+        return Result.success("借书成功", reservation);
+    }
+
+    /**
+     * 批量借书预留库存（供借阅服务一次借多本书调用）：一个事务内锁定、校验并扣减全部图书
+     *
+     * @param request 预留明细及预留模式
+     * @return 与请求顺序一致的逐本预留结果
+     */
+    @PostMapping("/reservations")
+    public Result<List<BookReservation>> reserveForBorrowBatch(@Valid @RequestBody BatchReservationRequest request) {
+        List<BookReservation> reservations = bookService.reserveForBorrowBatch(request);
+        return Result.success(reservations);
+    }
+
+    /**
+     * 检查库存是否充足（借阅服务已改用预留接口，保留供滚动升级期间的旧实例调用）
      *
      * @param bookId   图书ID
      * @param quantity 需要的数量
@@ -141,7 +275,7 @@ public class BookController {
     }
 
     /**
-     * 借书时减少库存（供借阅服务调用）
+     * 借书时减少库存（借阅服务已改用预留接口，保留供滚动升级期间的旧实例调用）
      *
      * @param bookId   图书ID
      * @param quantity 数量
@@ -149,12 +283,7 @@ public class BookController {
      */
     @PostMapping("/{bookId}/stock/borrow")
     public Result<Integer> borrowStock(@PathVariable("bookId") Long bookId, @RequestParam("quantity") Integer quantity) {
-        StockRequest request = StockRequest.builder()
-                .bookId(bookId)
-                .quantity(quantity)
-                .operationType(StockRequest.StockOperationType.BORROW)
-                .build();
-        Integer availableStock = bookService.operateStock(request);
+        Integer availableStock = bookService.borrowStock(bookId, quantity);
         return Result.success("借书成功", availableStock);
     }
 
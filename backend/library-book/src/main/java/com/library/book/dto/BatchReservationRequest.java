@@ -0,0 +1,62 @@
+package com.library.book.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量借书预留库存请求DTO（供借阅服务一次借多本书）
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchReservationRequest {
+
+    /**
+     * 预留明细，同一本图书只能出现一次
+     */
+    @Valid
+    @NotEmpty(message = "预留明细不能为空")
+    @Size(max = 100, message = "单次最多预留100本图书")
+    private List<Item> items;
+
+    /**
+     * 是否整单预留：true-任意一本失败则全部不预留，false-尽量预留，逐本返回结果
+     */
+    @Builder.Default
+    private Boolean allOrNothing = true;
+
+    /**
+     * 预留明细
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        /**
+         * 图书ID
+         */
+        @NotNull(message = "图书ID不能为空")
+        private Long bookId;
+
+        /**
+         * 数量
+         */
+        @NotNull(message = "借阅数量不能为空")
+        @Min(value = 1, message = "借阅数量必须大于0")
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,66 @@
+package com.library.book.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 图书简要信息DTO（批量查询返回）
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookBrief {
+
+    /**
+     * 图书ID
+     */
+    private Long id;
+
+    /**
+     * 是否存在（不存在或已删除时为 false，其余字段为空）
+     */
+    private Boolean found;
+
+    /**
+     * ISBN
+     */
+    private String isbn;
+
+    /**
+     * 书名
+     */
+    private String title;
+
+    /**
+     * 作者
+     */
+    private String author;
+
+    /**
+     * 封面图片URL
+     */
+    private String coverUrl;
+
+    /**
+     * 可借数量
+     */
+    private Integer availableStock;
+
+    /**
+     * 状态：0-下架，1-上架
+     */
+    private Integer status;
+
+    /**
+     * 不存在的图书
+     */
+    public static BookBrief notFound(Long id) {
+        return BookBrief.builder().id(id).found(false).build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.library.book.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 图书导入进度DTO
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookImportProgress {
+
+    /**
+     * 导入任务ID
+     */
+    private String importId;
+
+    /**
+     * 文件格式：CSV、NDJSON
+     */
+    private String format;
+
+    /**
+     * 任务状态：PENDING-排队中，RUNNING-导入中，COMPLETED-已完成，FAILED-异常终止
+     */
+    private String status;
+
+    /**
+     * 已处理的数据行数
+     */
+    private Long processedRows;
+
+    /**
+     * 导入成功的行数
+     */
+    private Long successRows;
+
+    /**
+     * 导入失败的行数（含格式错误、校验失败、分类不存在、ISBN重复）
+     */
+    private Long failedRows;
+
+    /**
+     * 任务异常终止的原因
+     */
+    private String message;
+
+    /**
+     * 失败行明细（最多记录 library.book.import.max-reported-errors 条）
+     */
+    private List<RowError> errors;
+
+    /**
+     * 提交时间
+     */
+    private LocalDateTime submitTime;
+
+    /**
+     * 完成时间
+     */
+    private LocalDateTime finishTime;
+
+    /**
+     * 失败行
+     *
+     * @param line    行号（文件中的物理行号，CSV 表头为第 1 行）
+     * @param isbn    ISBN，无法解析时为 null
+     * @param message 失败原因
+     */
+    public record RowError(long line, String isbn, String message) {
+    }
+}
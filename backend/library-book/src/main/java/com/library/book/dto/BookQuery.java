@@ -27,6 +27,11 @@ public class BookQuery {
      */
     private Long categoryId;
 
+    /**
+     * 按分类查询时是否包含全部子孙分类下的图书（默认只查该分类）
+     */
+    private Boolean includeDescendants;
+
     /**
      * 作者
      */
@@ -47,6 +52,21 @@ public class BookQuery {
      */
     private Boolean hasStock;
 
+    /**
+     * 返回的字段集：summary（默认，不含封面URL和简介）、detail（全部字段）
+     */
+    private String fields;
+
+    /**
+     * 游标（游标分页模式）：传入上一页返回的 nextCursor，传空字符串请求第一页；为 null 时使用页码分页
+     */
+    private String cursor;
+
+    /**
+     * 游标分页模式下是否统计总数（默认不统计）
+     */
+    private Boolean withTotal;
+
     /**
      * 当前页码（从1开始）
      */
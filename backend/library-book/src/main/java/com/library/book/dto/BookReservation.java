@@ -0,0 +1,54 @@
+package com.library.book.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 借书库存预留结果DTO（供借阅服务生成借阅记录）
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookReservation {
+
+    /**
+     * 图书ID
+     */
+    private Long bookId;
+
+    /**
+     * ISBN
+     */
+    private String isbn;
+
+    /**
+     * 书名
+     */
+    private String title;
+
+    /**
+     * 预留数量
+     */
+    private Integer quantity;
+
+    /**
+     * 预留后的可借数量（未预留时为当前可借数量，图书不存在时为 null）
+     */
+    private Integer availableStock;
+
+    /**
+     * 是否预留成功（批量预留时逐本返回）
+     */
+    private Boolean reserved;
+
+    /**
+     * 未预留的原因
+     */
+    private String message;
+}
@@ -70,6 +70,11 @@ public class CategoryResponse {
      */
     private Integer bookCount;
 
+    /**
+     * 该分类及全部子分类下的图书数量（仅分类树中返回）
+     */
+    private Integer totalBookCount;
+
     /**
      * 子分类列表
      */
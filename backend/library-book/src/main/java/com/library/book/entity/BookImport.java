@@ -0,0 +1,79 @@
+package com.library.book.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 图书导入任务实体类
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("t_book_import")
+public class BookImport implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 导入任务ID
+     */
+    @TableId(value = "import_id", type = IdType.INPUT)
+    private String importId;
+
+    /**
+     * 文件格式：CSV、NDJSON
+     */
+    private String format;
+
+    /**
+     * 任务状态：PENDING-排队中，RUNNING-导入中，COMPLETED-已完成，FAILED-异常终止
+     */
+    private String status;
+
+    /**
+     * 已处理的数据行数
+     */
+    private Long processedRows;
+
+    /**
+     * 导入成功的行数
+     */
+    private Long successRows;
+
+    /**
+     * 导入失败的行数
+     */
+    private Long failedRows;
+
+    /**
+     * 任务异常终止的原因
+     */
+    private String message;
+
+    /**
+     * 失败行明细（JSON数组）
+     */
+    private String errors;
+
+    /**
+     * 提交时间
+     */
+    private LocalDateTime submitTime;
+
+    /**
+     * 完成时间
+     */
+    private LocalDateTime finishTime;
+}
@@ -0,0 +1,86 @@
+package com.library.book.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 图书发件箱事件实体类
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("t_book_outbox")
+public class BookOutbox implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 书名变更事件类型
+     */
+    public static final String TITLE_CHANGED = "TITLE_CHANGED";
+
+    /**
+     * 事件ID（投递顺序）
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 事件类型
+     */
+    private String eventType;
+
+    /**
+     * 图书ID
+     */
+    private Long bookId;
+
+    /**
+     * 事件内容（书名变更为新书名）
+     */
+    private String payload;
+
+    /**
+     * 失败投递次数
+     */
+    private Integer attempts;
+
+    /**
+     * 正在投递的中继实例
+     */
+    private String lockedBy;
+
+    /**
+     * 投递租约或重试等待截止时间
+     */
+    private LocalDateTime lockedUntil;
+
+    /**
+     * 最近一次投递失败原因
+     */
+    private String lastError;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createTime;
+
+    /**
+     * 书名变更事件
+     */
+    public static BookOutbox titleChanged(Long bookId, String title) {
+        return BookOutbox.builder().eventType(TITLE_CHANGED).bookId(bookId).payload(title).build();
+    }
+}
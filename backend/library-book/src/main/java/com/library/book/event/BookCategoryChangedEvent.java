@@ -0,0 +1,35 @@
+package com.library.book.event;
+
+/**
+ * 图书所属分类变更事件（新增、删除、改分类）
+ *
+ * <p>在事务内发布，事务提交后由分类树快照按增量调整各分类的图书数量
+ *
+ * @param fromCategoryId 原分类ID，新增图书时为 null
+ * @param toCategoryId   新分类ID，删除图书时为 null
+ * @author Library System
+ * @since 1.0.0
+ */
+public record BookCategoryChangedEvent(Long fromCategoryId, Long toCategoryId) {
+
+    /**
+     * 新增图书
+     */
+    public static BookCategoryChangedEvent added(Long categoryId) {
+        return new BookCategoryChangedEvent(null, categoryId);
+    }
+
+    /**
+     * 删除图书
+     */
+    public static BookCategoryChangedEvent removed(Long categoryId) {
+        return new BookCategoryChangedEvent(categoryId, null);
+    }
+
+    /**
+     * 图书移动到其他分类
+     */
+    public static BookCategoryChangedEvent moved(Long fromCategoryId, Long toCategoryId) {
+        return new BookCategoryChangedEvent(fromCategoryId, toCategoryId);
+    }
+}
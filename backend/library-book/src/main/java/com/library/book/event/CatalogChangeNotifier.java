@@ -0,0 +1,126 @@
+package com.library.book.event;
+
+import com.library.book.config.CatalogNotifyProperties;
+import com.library.book.config.SystemIdentity;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 目录变更通知器
+ *
+ * <p>事务提交后，异步通知注册中心中的每个网关实例清除图书目录响应缓存。
+ * 请求携带签名的系统身份头（{@link SystemIdentity}）；通知失败只记录日志，
+ * 网关侧缓存 TTL 兜底
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class CatalogChangeNotifier {
+
+    private static final String PURGE_PATH = "/internal/cache/purge";
+
+    private final CatalogNotifyProperties properties;
+    private final SystemIdentity systemIdentity;
+    private final DiscoveryClient discoveryClient;
+    private final RestClient restClient;
+
+    /**
+     * 单线程通知队列，队列满时丢弃最早的通知
+     */
+    private final ExecutorService executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(1000),
+            r -> {
+                Thread thread = new Thread(r, "catalog-notify");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardOldestPolicy());
+
+    public CatalogChangeNotifier(CatalogNotifyProperties properties,
+                                 SystemIdentity systemIdentity,
+                                 DiscoveryClient discoveryClient) {
+        this.properties = properties;
+        this.systemIdentity = systemIdentity;
+        this.discoveryClient = discoveryClient;
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.getTimeoutMillis());
+        requestFactory.setReadTimeout(properties.getTimeoutMillis());
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+    }
+
+    /**
+     * 事务提交后通知网关（无事务时立即通知）
+     *
+     * @param event 目录变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (properties.isEnabled()) {
+            executor.execute(() -> broadcast(event));
+        }
+    }
+
+    /**
+     * 通知所有网关实例
+     */
+    private void broadcast(CatalogChangedEvent event) {
+        List<ServiceInstance> instances;
+        try {
+            instances = discoveryClient.getInstances(properties.getGatewayServiceId());
+        } catch (Exception e) {
+            log.warn("获取网关实例失败，跳过缓存清除通知: {}", e.getMessage());
+            return;
+        }
+
+        Map<String, String> identityHeaders = systemIdentity.signedHeaders();
+
+        for (ServiceInstance instance : instances) {
+            try {
+                restClient.post()
+                        .uri(purgeUri(instance, event))
+                        .headers(headers -> identityHeaders.forEach(headers::set))
+                        .retrieve()
+                        .toBodilessEntity();
+                log.debug("已通知网关 {} 清除缓存, type={}, id={}", instance.getUri(), event.type(), event.id());
+            } catch (Exception e) {
+                log.warn("通知网关 {} 清除缓存失败: {}", instance.getUri(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 清除地址：整个目录变更时不带ID，网关清除全部缓存；只有库存变化时网关保留分类缓存
+     */
+    private static String purgeUri(ServiceInstance instance, CatalogChangedEvent event) {
+        StringBuilder uri = new StringBuilder().append(instance.getUri()).append(PURGE_PATH)
+                .append("?type=").append(event.type());
+        if (event.id() != null) {
+            uri.append("&id=").append(event.id());
+        }
+        if (event.stockOnly()) {
+            uri.append("&stockOnly=true");
+        }
+        return uri.toString();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
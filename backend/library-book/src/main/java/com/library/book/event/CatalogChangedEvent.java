@@ -0,0 +1,79 @@
+package com.library.book.event;
+
+/**
+ * 图书目录变更事件
+ *
+ * <p>图书或分类数据变更时在事务内发布，事务提交后由 {@link CatalogChangeNotifier} 通知网关清除响应缓存
+ *
+ * @param type           变更类型
+ * @param id             变更的图书或分类ID，整个目录变更时为 null
+ * @param stockOnly      是否只有库存发生变化（图书详情缓存只刷新库存，不整条失效）
+ * @param totalStock     库存变更后的总库存，总库存未变化或非库存事件时为 null
+ * @param availableStock 库存变更后的可借库存，非库存事件时为 null
+ * @param availableDelta 直接在数据库上发生的可借库存变化量，由热点库存引擎在提交后同步到内存计数；
+ *                       热点库存自身落库、非热点借书或非库存事件时为 0
+ * @author Library System
+ * @since 1.0.0
+ */
+public record CatalogChangedEvent(Type type, Long id, boolean stockOnly,
+                                  Integer totalStock, Integer availableStock, int availableDelta) {
+
+    /**
+     * 图书变更事件
+     */
+    public static CatalogChangedEvent book(Long bookId) {
+        return new CatalogChangedEvent(Type.BOOK, bookId, false, null, null, 0);
+    }
+
+    /**
+     * 借出落库后的库存变更事件（热点库存落库或非热点图书借出，内存计数无需调整），携带变更后的可借库存，监听方无需回表
+     */
+    public static CatalogChangedEvent stock(Long bookId, Integer availableStock) {
+        return new CatalogChangedEvent(Type.BOOK, bookId, true, null, availableStock, 0);
+    }
+
+    /**
+     * 直接在数据库上发生的库存变更事件（还书、入库、减库存、批量预留）
+     *
+     * @param bookId         图书ID
+     * @param totalStock     变更后的总库存，未变化时为 null
+     * @param availableStock 变更后的可借库存
+     * @param availableDelta 可借库存变化量，提交后同步到热点库存的内存计数
+     */
+    public static CatalogChangedEvent stock(Long bookId, Integer totalStock, Integer availableStock,
+                                            int availableDelta) {
+        return new CatalogChangedEvent(Type.BOOK, bookId, true, totalStock, availableStock, availableDelta);
+    }
+
+    /**
+     * 分类变更事件
+     */
+    public static CatalogChangedEvent category(Long categoryId) {
+        return new CatalogChangedEvent(Type.CATEGORY, categoryId, false, null, null, 0);
+    }
+
+    /**
+     * 整个目录变更事件（如批量导入），不针对单本图书或单个分类
+     */
+    public static CatalogChangedEvent catalog() {
+        return new CatalogChangedEvent(Type.CATALOG, null, false, null, null, 0);
+    }
+
+    /**
+     * 变更类型
+     */
+    public enum Type {
+        /**
+         * 图书
+         */
+        BOOK,
+        /**
+         * 分类
+         */
+        CATEGORY,
+        /**
+         * 整个目录（网关清除全部目录缓存）
+         */
+        CATALOG
+    }
+}
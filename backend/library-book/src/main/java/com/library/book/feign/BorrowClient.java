@@ -2,9 +2,12 @@ package com.library.book.feign;
 
 import com.library.common.result.Result;
 import org.springframework.cloud.openfeign.FeignClient;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.PutMapping;
-import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * 借阅服务 Feign 客户端
@@ -16,12 +19,22 @@ import org.springframework.web.bind.annotation.RequestParam;
 public interface BorrowClient {
 
     /**
-     * 更新借阅记录中的图书书名
+     * 批量更新借阅记录中的图书书名（由发件箱中继调用）
      *
-     * @param bookId 图书ID
-     * @param title  新书名
+     * @param identityHeaders 系统身份头
+     * @param changes         书名变更，每本图书最多一条
      * @return 更新的记录数
      */
-    @PutMapping("/internal/borrow/book/{bookId}/title")
-    Result<Integer> updateBookTitle(@PathVariable("bookId") Long bookId, @RequestParam("title") String title);
+    @PostMapping("/internal/borrow/book/titles")
+    Result<Integer> updateBookTitles(@RequestHeader Map<String, String> identityHeaders,
+                                     @RequestBody List<BookTitleChange> changes);
+
+    /**
+     * 书名变更
+     */
+    record BookTitleChange(
+            Long bookId,
+            String title
+    ) {
+    }
 }
@@ -6,6 +6,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.openfeign.FallbackFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * 借阅服务 Feign 客户端降级工厂
  *
@@ -22,10 +25,10 @@ public class BorrowClientFallbackFactory implements FallbackFactory<BorrowClient
 
         return new BorrowClient() {
             @Override
-            public Result<Integer> updateBookTitle(Long bookId, String title) {
-                log.error("借阅服务不可用，更新图书书名失败: {}", cause.getMessage());
-                // 降级时返回0，表示未更新任何记录，但不影响图书本身的更新
-                return Result.success(0);
+            public Result<Integer> updateBookTitles(Map<String, String> identityHeaders, List<BookTitleChange> changes) {
+                log.error("借阅服务不可用，批量更新图书书名失败: {}", cause.getMessage());
+                // 返回失败，发件箱事件保留并稍后重试
+                return Result.fail(ResultCode.SERVICE_UNAVAILABLE, "借阅服务暂不可用");
             }
         };
     }
@@ -0,0 +1,135 @@
+package com.library.book.importer;
+
+import com.library.book.dto.BookImportProgress;
+import com.library.book.transfer.BookFileFormat;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 图书导入任务
+ *
+ * <p>导入线程更新计数，并在每批提交后把进度快照写入导入任务表
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+public class BookImportJob {
+
+    private final String importId;
+    private final BookFileFormat format;
+    private final Path file;
+    private final int maxReportedErrors;
+    private final LocalDateTime submitTime = LocalDateTime.now();
+
+    private final AtomicLong processedRows = new AtomicLong();
+    private final AtomicLong successRows = new AtomicLong();
+    private final AtomicLong failedRows = new AtomicLong();
+
+    private final List<BookImportProgress.RowError> errors = new ArrayList<>();
+
+    private volatile Status status = Status.PENDING;
+    private volatile String message;
+    private volatile LocalDateTime finishTime;
+
+    public BookImportJob(String importId, BookFileFormat format, Path file, int maxReportedErrors) {
+        this.importId = importId;
+        this.format = format;
+        this.file = file;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public String importId() {
+        return importId;
+    }
+
+    public BookFileFormat format() {
+        return format;
+    }
+
+    /**
+     * 暂存的上传文件
+     */
+    public Path file() {
+        return file;
+    }
+
+    public void start() {
+        status = Status.RUNNING;
+    }
+
+    /**
+     * 读到一行数据
+     */
+    public void rowRead() {
+        processedRows.incrementAndGet();
+    }
+
+    /**
+     * 一批数据行已提交
+     */
+    public void rowsSucceeded(int count) {
+        successRows.addAndGet(count);
+    }
+
+    /**
+     * 数据行导入失败
+     */
+    public void rowFailed(long line, String isbn, String reason) {
+        failedRows.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new BookImportProgress.RowError(line, isbn, reason));
+            }
+        }
+    }
+
+    public void complete() {
+        finish(Status.COMPLETED, null);
+    }
+
+    /**
+     * 任务异常终止，已提交的批次保留
+     */
+    public void abort(String reason) {
+        finish(Status.FAILED, reason);
+    }
+
+    public BookImportProgress toProgress() {
+        List<BookImportProgress.RowError> errorSnapshot;
+        synchronized (errors) {
+            errorSnapshot = new ArrayList<>(errors);
+        }
+        return BookImportProgress.builder()
+                .importId(importId)
+                .format(format.name())
+                .status(status.name())
+                .processedRows(processedRows.get())
+                .successRows(successRows.get())
+                .failedRows(failedRows.get())
+                .message(message)
+                .errors(errorSnapshot)
+                .submitTime(submitTime)
+                .finishTime(finishTime)
+                .build();
+    }
+
+    private void finish(Status finalStatus, String reason) {
+        message = reason;
+        finishTime = LocalDateTime.now();
+        status = finalStatus;
+    }
+
+    /**
+     * 任务状态
+     */
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
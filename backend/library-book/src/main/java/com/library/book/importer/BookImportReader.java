@@ -0,0 +1,264 @@
+package com.library.book.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.library.book.dto.BookRequest;
+import com.library.book.transfer.BookFileFormat;
+import com.library.common.exception.BusinessException;
+import com.library.common.result.ResultCode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 图书导入文件逐行读取器
+ *
+ * <p>每次只解析一行（CSV 引号内换行的记录除外），内存占用与文件大小无关。
+ * 单行格式错误只作为该行的错误返回，不中断读取
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+public abstract class BookImportReader {
+
+    protected final BufferedReader reader;
+    protected final ObjectMapper objectMapper;
+
+    /**
+     * 已读取的物理行数
+     */
+    protected long lineNumber;
+
+    protected BookImportReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 创建读取器
+     *
+     * @param format       文件格式
+     * @param reader       文件内容
+     * @param objectMapper 字段转换使用的 ObjectMapper
+     * @return 读取器
+     */
+    public static BookImportReader open(BookFileFormat format, BufferedReader reader, ObjectMapper objectMapper) {
+        return format == BookFileFormat.NDJSON
+                ? new NdjsonReader(reader, objectMapper)
+                : new CsvReader(reader, objectMapper);
+    }
+
+    /**
+     * 读取下一行
+     *
+     * @return 数据行，文件结束时为 null
+     * @throws IOException 读取失败
+     */
+    public abstract Row next() throws IOException;
+
+    /**
+     * 字段转换失败时的简短说明
+     */
+    protected static String describe(JsonProcessingException e) {
+        if (e instanceof JsonMappingException mapping && !mapping.getPath().isEmpty()) {
+            String field = mapping.getPath().get(mapping.getPath().size() - 1).getFieldName();
+            if (field != null) {
+                return "字段 " + field + " 格式不正确";
+            }
+        }
+        return "数据格式不正确";
+    }
+
+    /**
+     * 数据行
+     *
+     * @param line    行号（记录起始的物理行号）
+     * @param request 解析出的图书信息，解析失败时为 null
+     * @param error   解析失败的原因
+     */
+    public record Row(long line, BookRequest request, String error) {
+    }
+
+    /**
+     * NDJSON：每行一个 JSON 对象，空行跳过
+     */
+    private static final class NdjsonReader extends BookImportReader {
+
+        /**
+         * 忽略未知字段，导出的 NDJSON（含 id、categoryName 等）可以直接导入
+         */
+        private final ObjectReader requestReader;
+
+        private NdjsonReader(BufferedReader reader, ObjectMapper objectMapper) {
+            super(reader, objectMapper);
+            this.requestReader = objectMapper.readerFor(BookRequest.class)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                lineNumber++;
+            } while (line.isBlank());
+            try {
+                return new Row(lineNumber, requestReader.readValue(line), null);
+            } catch (JsonProcessingException e) {
+                return new Row(lineNumber, null, describe(e));
+            }
+        }
+    }
+
+    /**
+     * CSV（RFC 4180）：首行为表头，列名与新增图书请求的字段对应（不区分大小写，可使用下划线命名），
+     * 未识别的列忽略，空值视为未填写
+     */
+    private static final class CsvReader extends BookImportReader {
+
+        private static final List<String> FIELDS = List.of("isbn", "title", "author", "publisher", "publishDate",
+                "categoryId", "price", "totalStock", "coverUrl", "description", "status");
+
+        private static final List<String> REQUIRED_FIELDS = List.of("isbn", "title", "author", "categoryId",
+                "price", "totalStock");
+
+        /**
+         * 各列对应的字段名，未识别的列为 null
+         */
+        private String[] columns;
+
+        private final StringBuilder field = new StringBuilder();
+
+        private CsvReader(BufferedReader reader, ObjectMapper objectMapper) {
+            super(reader, objectMapper);
+        }
+
+        @Override
+        public Row next() throws IOException {
+            if (columns == null) {
+                readHeader();
+            }
+            List<String> values;
+            long start;
+            do {
+                start = lineNumber + 1;
+                values = readRecord();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.get(0).isEmpty());
+
+            if (values.size() > columns.length) {
+                return new Row(start, null, "列数多于表头");
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < values.size(); i++) {
+                String value = values.get(i).trim();
+                if (columns[i] != null && !value.isEmpty()) {
+                    fields.put(columns[i], value);
+                }
+            }
+            try {
+                return new Row(start, objectMapper.convertValue(fields, BookRequest.class), null);
+            } catch (IllegalArgumentException e) {
+                return new Row(start, null, e.getCause() instanceof JsonProcessingException cause
+                        ? describe(cause) : "数据格式不正确");
+            }
+        }
+
+        private void readHeader() throws IOException {
+            List<String> header = readRecord();
+            if (header == null) {
+                columns = new String[0];
+                return;
+            }
+            Map<String, String> byNormalizedName = new HashMap<>();
+            FIELDS.forEach(name -> byNormalizedName.put(normalize(name), name));
+
+            columns = new String[header.size()];
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i);
+                if (i == 0 && !name.isEmpty() && name.charAt(0) == '\uFEFF') {
+                    name = name.substring(1);
+                }
+                columns[i] = byNormalizedName.get(normalize(name));
+            }
+            List<String> missing = new ArrayList<>(REQUIRED_FIELDS);
+            missing.removeAll(Arrays.asList(columns));
+            if (!missing.isEmpty()) {
+                throw new BusinessException(ResultCode.BAD_REQUEST, "CSV表头缺少列: " + String.join(", ", missing));
+            }
+        }
+
+        private static String normalize(String name) {
+            return name.trim().replace("_", "").replace("-", "").toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * 读取一条记录（引号内允许逗号、换行和成对的双引号）
+         *
+         * @return 字段列表，文件结束时为 null
+         */
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            lineNumber++;
+            List<String> values = new ArrayList<>();
+            field.setLength(0);
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        break;
+                    }
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            lineNumber++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    break;
+                } else if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+            values.add(field.toString());
+            return values;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.library.book.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.library.book.entity.BookImport;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * 图书导入任务 Mapper
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Mapper
+public interface BookImportMapper extends BaseMapper<BookImport> {
+
+    /**
+     * 删除结束时间早于指定时间的导入任务
+     *
+     * @param time 截止时间
+     * @return 影响行数
+     */
+    @Delete("DELETE FROM t_book_import WHERE finish_time < #{time}")
+    int deleteFinishedBefore(@Param("time") LocalDateTime time);
+}
@@ -1,15 +1,24 @@
 package com.library.book.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
-import com.baomidou.mybatisplus.core.metadata.IPage;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.library.book.category.CategoryBookCount;
+import com.library.book.dto.BookBrief;
 import com.library.book.dto.BookQuery;
 import com.library.book.dto.BookResponse;
 import com.library.book.entity.Book;
+import com.library.common.result.PageCursor;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 图书 Mapper
@@ -21,21 +30,82 @@ import org.apache.ibatis.annotations.Update;
 public interface BookMapper extends BaseMapper<Book> {
 
     /**
-     * 分页查询图书（带分类名称）
+     * 分页查询图书（带分类名称），按创建时间、ID倒序
+     *
+     * @param query       查询条件
+     * @param categoryIds 分类ID（已按需展开子孙分类），null 表示不限
+     * @param offset      跳过的记录数
+     * @param limit       返回的记录数
+     * @param detail      是否返回封面URL和简介
+     * @return 图书列表
+     */
+    List<BookResponse> selectBookPage(@Param("query") BookQuery query,
+                                      @Param("categoryIds") Collection<Long> categoryIds,
+                                      @Param("offset") long offset, @Param("limit") int limit,
+                                      @Param("detail") boolean detail);
+
+    /**
+     * 游标分页查询图书（带分类名称），按创建时间、ID倒序
      *
-     * @param page  分页参数
-     * @param query 查询条件
-     * @return 分页结果
+     * @param query       查询条件
+     * @param categoryIds 分类ID（已按需展开子孙分类），null 表示不限
+     * @param cursor      上一页最后一条记录，第一页为 null
+     * @param limit       返回的记录数
+     * @param detail      是否返回封面URL和简介
+     * @return 图书列表
      */
-    IPage<BookResponse> selectBookPage(Page<BookResponse> page, @Param("query") BookQuery query);
+    List<BookResponse> selectBookCursorPage(@Param("query") BookQuery query,
+                                            @Param("categoryIds") Collection<Long> categoryIds,
+                                            @Param("cursor") PageCursor cursor, @Param("limit") int limit,
+                                            @Param("detail") boolean detail);
 
     /**
      * 查询图书总数
      *
-     * @param query 查询条件
+     * @param query       查询条件
+     * @param categoryIds 分类ID（已按需展开子孙分类），null 表示不限
      * @return 总数
      */
-    Long countBooks(@Param("query") BookQuery query);
+    Long countBooks(@Param("query") BookQuery query, @Param("categoryIds") Collection<Long> categoryIds);
+
+    /**
+     * 按ID批量查询图书（带分类名称），不保证返回顺序
+     *
+     * @param ids    图书ID列表
+     * @param detail 是否返回封面URL和简介
+     * @return 图书列表
+     */
+    List<BookResponse> selectBookResponsesByIds(@Param("ids") Collection<Long> ids,
+                                                @Param("detail") boolean detail);
+
+    /**
+     * 流式查询符合条件的全部图书（按主键顺序，需在事务内遍历）
+     *
+     * @param query       查询条件（忽略分页参数）
+     * @param categoryIds 分类ID列表，为 null 时不按分类过滤
+     * @return 图书游标
+     */
+    Cursor<BookResponse> selectBookExportCursor(@Param("query") BookQuery query,
+                                                @Param("categoryIds") Collection<Long> categoryIds);
+
+    /**
+     * 按ID批量查询图书简要信息，不保证返回顺序
+     *
+     * @param ids 图书ID列表
+     * @return 图书简要信息列表
+     */
+    List<BookBrief> selectBriefsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 按主键顺序分批读取图书（用于构建搜索索引）
+     *
+     * @param lastId 上一批最后一条的ID
+     * @param limit  每批数量
+     * @return 图书列表
+     */
+    @Select("SELECT id, isbn, title, author, publisher, category_id, available_stock, status, create_time " +
+            "FROM t_book WHERE id > #{lastId} AND deleted = 0 ORDER BY id LIMIT #{limit}")
+    List<Book> selectIndexBatch(@Param("lastId") long lastId, @Param("limit") int limit);
 
     /**
      * 查询图书详情（带分类名称）
@@ -45,6 +115,40 @@ public interface BookMapper extends BaseMapper<Book> {
      */
     BookResponse selectBookDetail(@Param("id") Long id);
 
+    /**
+     * 查询图书库存（图书详情缓存刷新库存时调用）
+     *
+     * @param id 图书ID
+     * @return 只包含ID、总库存和可借库存的图书，不存在或已删除时为 null
+     */
+    @Select("SELECT id, total_stock, available_stock FROM t_book WHERE id = #{id} AND deleted = 0")
+    Book selectStockById(@Param("id") Long id);
+
+    /**
+     * 查询图书上架状态和可借库存（借书预留失败时判断原因）
+     *
+     * @param id 图书ID
+     * @return 只包含ID、状态和可借库存的图书，不存在或已删除时为 null
+     */
+    @Select("SELECT id, status, available_stock FROM t_book WHERE id = #{id} AND deleted = 0")
+    Book selectShelfStockById(@Param("id") Long id);
+
+    /**
+     * 按主键顺序锁定图书并读取上架状态和可借库存（批量借书预留时调用，需在事务内执行）
+     *
+     * @param ids 图书ID列表
+     * @return 只包含ID、ISBN、书名、状态和可借库存的图书，不存在或已删除的图书不返回
+     */
+    List<Book> selectShelfStockForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 批量减少可借库存（一条语句，调用方须已通过 {@link #selectShelfStockForUpdate} 锁定并校验库存）
+     *
+     * @param quantities 图书ID到扣减数量的映射
+     * @return 影响行数
+     */
+    int decreaseStockBatch(@Param("quantities") Map<Long, Integer> quantities);
+
     /**
      * 根据ISBN查询图书
      *
@@ -54,6 +158,15 @@ public interface BookMapper extends BaseMapper<Book> {
     @Select("SELECT * FROM t_book WHERE isbn = #{isbn} AND deleted = 0")
     Book selectByIsbn(@Param("isbn") String isbn);
 
+    /**
+     * 流式读取全部ISBN（含已逻辑删除的图书，与唯一索引 uk_isbn 的范围一致）
+     *
+     * @param handler 逐行处理
+     */
+    @Select("SELECT isbn FROM t_book")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    void selectAllIsbns(ResultHandler<String> handler);
+
     /**
      * 减少可借库存（借书时调用）
      *
@@ -66,6 +179,18 @@ public interface BookMapper extends BaseMapper<Book> {
             "WHERE id = #{bookId} AND available_stock >= #{quantity} AND deleted = 0")
     int decreaseAvailableStock(@Param("bookId") Long bookId, @Param("quantity") Integer quantity);
 
+    /**
+     * 减少已上架图书的可借库存（借书预留时调用，状态和库存在同一条语句中校验）
+     *
+     * @param bookId   图书ID
+     * @param quantity 数量
+     * @return 影响行数
+     */
+    @Update("UPDATE t_book SET available_stock = available_stock - #{quantity}, " +
+            "update_time = NOW() " +
+            "WHERE id = #{bookId} AND status = 1 AND available_stock >= #{quantity} AND deleted = 0")
+    int decreaseShelvedStock(@Param("bookId") Long bookId, @Param("quantity") Integer quantity);
+
     /**
      * 增加可借库存（还书时调用）
      *
@@ -112,4 +237,12 @@ public interface BookMapper extends BaseMapper<Book> {
      */
     @Select("SELECT COUNT(*) FROM t_book WHERE category_id = #{categoryId} AND deleted = 0")
     int countByCategoryId(@Param("categoryId") Long categoryId);
+
+    /**
+     * 按分类分组统计图书数量
+     *
+     * @return 各分类的图书数量
+     */
+    @Select("SELECT category_id, COUNT(*) AS book_count FROM t_book WHERE deleted = 0 GROUP BY category_id")
+    List<CategoryBookCount> countGroupByCategory();
 }
\ No newline at end of file
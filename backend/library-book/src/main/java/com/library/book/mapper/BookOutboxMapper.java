@@ -0,0 +1,92 @@
+package com.library.book.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.library.book.entity.BookOutbox;
+import com.library.book.outbox.OutboxBacklog;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 图书发件箱 Mapper
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Mapper
+public interface BookOutboxMapper extends BaseMapper<BookOutbox> {
+
+    /**
+     * 按ID顺序领取一批到期事件（单条语句加租约，多个实例领取的事件互不重叠）。
+     * 同一图书仍有事件处于租约或重试等待中时不领取该图书的后续事件，保证同一图书按顺序投递
+     *
+     * @param owner       中继实例标识
+     * @param leaseMillis 租约时长（毫秒），按数据库时间计算截止时间
+     * @param limit       最多领取的事件数
+     * @return 领取的事件数
+     */
+    @Update("UPDATE t_book_outbox o " +
+            "JOIN (SELECT id FROM t_book_outbox " +
+            "      WHERE locked_until < NOW(3) " +
+            "        AND book_id NOT IN (SELECT book_id FROM t_book_outbox WHERE locked_until >= NOW(3)) " +
+            "      ORDER BY id LIMIT #{limit}) due ON due.id = o.id " +
+            "SET o.locked_by = #{owner}, o.locked_until = NOW(3) + INTERVAL (#{leaseMillis} * 1000) MICROSECOND " +
+            "WHERE o.locked_until < NOW(3)")
+    int claim(@Param("owner") String owner, @Param("leaseMillis") long leaseMillis, @Param("limit") int limit);
+
+    /**
+     * 查询本实例领取的事件，按ID顺序
+     *
+     * @param owner 中继实例标识
+     * @return 事件列表
+     */
+    @Select("SELECT id, event_type, book_id, payload, attempts, create_time FROM t_book_outbox " +
+            "WHERE locked_by = #{owner} ORDER BY id")
+    List<BookOutbox> selectClaimed(@Param("owner") String owner);
+
+    /**
+     * 删除已投递的事件
+     *
+     * @param ids   事件ID
+     * @param owner 中继实例标识（租约已被其他实例接管的事件不删除）
+     * @return 影响行数
+     */
+    @Delete("<script>" +
+            "DELETE FROM t_book_outbox WHERE locked_by = #{owner} AND id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int deleteDelivered(@Param("ids") Collection<Long> ids, @Param("owner") String owner);
+
+    /**
+     * 投递失败：释放租约并设置下次重试时间
+     *
+     * @param ids         事件ID
+     * @param owner       中继实例标识
+     * @param delayMillis 距下次重试的毫秒数，按数据库时间计算
+     * @param error       失败原因
+     * @return 影响行数
+     */
+    @Update("<script>" +
+            "UPDATE t_book_outbox SET attempts = attempts + 1, locked_by = NULL, " +
+            "locked_until = NOW(3) + INTERVAL (#{delayMillis} * 1000) MICROSECOND, last_error = #{error} " +
+            "WHERE locked_by = #{owner} AND id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int releaseForRetry(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+                        @Param("delayMillis") long delayMillis, @Param("error") String error);
+
+    /**
+     * 统计积压：未投递的事件数和最早事件已等待的时长
+     *
+     * @return 积压统计
+     */
+    @Select("SELECT COUNT(*) AS pending, " +
+            "COALESCE(TIMESTAMPDIFF(MICROSECOND, MIN(create_time), NOW(3)) DIV 1000, 0) AS lag_millis " +
+            "FROM t_book_outbox")
+    OutboxBacklog selectBacklog();
+}
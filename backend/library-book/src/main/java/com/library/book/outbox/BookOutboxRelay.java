@@ -0,0 +1,211 @@
+package com.library.book.outbox;
+
+import com.library.book.config.BookOutboxProperties;
+import com.library.book.config.SystemIdentity;
+import com.library.book.entity.BookOutbox;
+import com.library.book.event.CatalogChangedEvent;
+import com.library.book.feign.BorrowClient;
+import com.library.book.mapper.BookOutboxMapper;
+import com.library.common.result.Result;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 图书发件箱中继
+ *
+ * <p>图书变更与发件箱事件在同一事务中提交，本中继在后台把事件同步到借阅服务：
+ * <ul>
+ *     <li>单条语句按ID顺序领取一批到期事件并加租约，多个实例领取的事件互不重叠，实例崩溃后租约到期可被重新领取</li>
+ *     <li>同一本书的多次书名变更只投递最后一次，整批通过借阅服务的批量接口一次调用完成</li>
+ *     <li>投递失败时释放租约并按指数退避设置重试时间，事件不会被丢弃；退避期间同一本书的后续事件也不会被领取，保证按顺序生效</li>
+ *     <li>图书变更提交后立即唤醒，空闲时按固定间隔轮询</li>
+ *     <li>积压事件数、最早事件的等待时长、投递数和失败批次数通过 /actuator/metrics/book.outbox.* 暴露</li>
+ * </ul>
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class BookOutboxRelay {
+
+    /**
+     * 失败原因最大长度（与 last_error 列一致）
+     */
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final BookOutboxProperties properties;
+    private final BookOutboxMapper outboxMapper;
+    private final BorrowClient borrowClient;
+    private final SystemIdentity systemIdentity;
+
+    /**
+     * 本实例的租约标识
+     */
+    private final String owner = UUID.randomUUID().toString();
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private final Counter delivered;
+    private final Counter failures;
+
+    private volatile boolean running;
+    private volatile Thread relay;
+
+    public BookOutboxRelay(BookOutboxProperties properties, BookOutboxMapper outboxMapper,
+                           BorrowClient borrowClient, SystemIdentity systemIdentity, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.outboxMapper = outboxMapper;
+        this.borrowClient = borrowClient;
+        this.systemIdentity = systemIdentity;
+        this.delivered = Counter.builder("book.outbox.delivered")
+                .description("已投递的发件箱事件数（含合并掉的重复书名变更）")
+                .register(meterRegistry);
+        this.failures = Counter.builder("book.outbox.failures")
+                .description("投递失败的批次数")
+                .register(meterRegistry);
+        Gauge.builder("book.outbox.pending", pending, AtomicLong::get)
+                .description("未投递的发件箱事件数")
+                .register(meterRegistry);
+        Gauge.builder("book.outbox.lag", lagMillis, value -> value.get() / 1000.0)
+                .description("最早未投递事件已等待的时长")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 应用就绪后启动中继线程
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::run, "book-outbox-relay");
+        thread.setDaemon(true);
+        thread.start();
+        relay = thread;
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread thread = relay;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * 图书变更提交后唤醒中继，书名变更无需等到下一次轮询
+     *
+     * @param event 目录变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        Thread thread = relay;
+        if (thread != null && event.type() == CatalogChangedEvent.Type.BOOK && !event.stockOnly()) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            boolean more = false;
+            try {
+                more = relayBatch();
+                OutboxBacklog backlog = outboxMapper.selectBacklog();
+                pending.set(backlog.pending());
+                lagMillis.set(backlog.lagMillis());
+            } catch (Exception e) {
+                log.error("发件箱中继异常", e);
+            }
+            if (!more) {
+                LockSupport.parkNanos(properties.getPollInterval().toNanos());
+            }
+        }
+    }
+
+    /**
+     * 领取并投递一批事件
+     *
+     * @return 领取满一批，可能还有更多到期事件
+     */
+    private boolean relayBatch() {
+        int claimed = outboxMapper.claim(owner, properties.getLease().toMillis(), properties.getBatchSize());
+        if (claimed == 0) {
+            return false;
+        }
+        List<BookOutbox> events = outboxMapper.selectClaimed(owner);
+        if (!events.isEmpty()) {
+            deliver(events);
+        }
+        return claimed >= properties.getBatchSize();
+    }
+
+    private void deliver(List<BookOutbox> events) {
+        // 按ID顺序覆盖，同一本书只保留最后一次书名
+        Map<Long, String> latestTitles = new LinkedHashMap<>();
+        for (BookOutbox event : events) {
+            latestTitles.put(event.getBookId(), event.getPayload());
+        }
+        List<BorrowClient.BookTitleChange> changes = latestTitles.entrySet().stream()
+                .map(entry -> new BorrowClient.BookTitleChange(entry.getKey(), entry.getValue()))
+                .toList();
+        List<Long> ids = events.stream().map(BookOutbox::getId).toList();
+
+        String error;
+        try {
+            Result<Integer> result = borrowClient.updateBookTitles(systemIdentity.signedHeaders(), changes);
+            if (result != null && result.isSuccess()) {
+                outboxMapper.deleteDelivered(ids, owner);
+                delivered.increment(events.size());
+                log.info("同步书名到借阅服务完成，图书数: {}，事件数: {}，更新借阅记录: {}",
+                        changes.size(), events.size(), result.getData());
+                return;
+            }
+            error = result != null ? result.getMessage() : "借阅服务无响应";
+        } catch (Exception e) {
+            error = e.getMessage();
+        }
+
+        int attempts = events.stream().mapToInt(BookOutbox::getAttempts).max().orElse(0);
+        long delayMillis = retryDelayMillis(attempts);
+        outboxMapper.releaseForRetry(ids, owner, delayMillis, truncate(error));
+        failures.increment();
+        log.warn("同步书名到借阅服务失败，{} 个事件将在 {} ms 后重试（已失败 {} 次）: {}",
+                events.size(), delayMillis, attempts + 1, error);
+    }
+
+    /**
+     * 指数退避：首次失败等待 retryBackoff，之后每次加倍，不超过 maxRetryBackoff
+     */
+    private long retryDelayMillis(int attempts) {
+        long base = properties.getRetryBackoff().toMillis();
+        long max = properties.getMaxRetryBackoff().toMillis();
+        return Math.min(max, base << Math.min(attempts, 30));
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
@@ -0,0 +1,12 @@
+package com.library.book.outbox;
+
+/**
+ * 发件箱积压统计
+ *
+ * @param pending   未投递的事件数
+ * @param lagMillis 最早未投递事件已等待的毫秒数，没有积压时为 0
+ * @author Library System
+ * @since 1.0.0
+ */
+public record OutboxBacklog(Long pending, Long lagMillis) {
+}
@@ -0,0 +1,42 @@
+package com.library.book.search;
+
+import com.library.book.entity.Book;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 图书搜索索引中的文档
+ *
+ * @param id         图书ID
+ * @param title      书名
+ * @param author     作者
+ * @param publisher  出版社
+ * @param isbn       ISBN
+ * @param categoryId 分类ID
+ * @param status     状态
+ * @param inStock    是否有可借库存
+ * @param createdAt  创建时间（用于排序，秒）
+ * @author Library System
+ * @since 1.0.0
+ */
+public record BookDocument(long id, String title, String author, String publisher, String isbn,
+                           Long categoryId, Integer status, boolean inStock, long createdAt) {
+
+    /**
+     * 从图书实体构建
+     */
+    public static BookDocument from(Book book) {
+        return new BookDocument(book.getId(), book.getTitle(), book.getAuthor(), book.getPublisher(),
+                book.getIsbn(), book.getCategoryId(), book.getStatus(),
+                book.getAvailableStock() != null && book.getAvailableStock() > 0,
+                sortKey(book.getCreateTime()));
+    }
+
+    /**
+     * 创建时间转换为排序键（秒）
+     */
+    public static long sortKey(LocalDateTime createTime) {
+        return createTime != null ? createTime.toEpochSecond(ZoneOffset.UTC) : 0L;
+    }
+}
@@ -0,0 +1,24 @@
+package com.library.book.search;
+
+import com.library.common.result.PageCursor;
+
+import java.util.Collection;
+
+/**
+ * 图书搜索条件
+ *
+ * @param keyword     关键词（匹配书名、作者、ISBN），可为 null
+ * @param author      作者，可为 null
+ * @param publisher   出版社，可为 null
+ * @param categoryIds 分类ID集合（任一匹配），null 表示不限
+ * @param status      状态，null 表示不限
+ * @param hasStock    是否只查有库存的图书
+ * @param offset      跳过的记录数
+ * @param limit       返回的记录数
+ * @param after       游标分页时上一页最后一条记录，只返回排在其后的记录；为 null 时不限
+ * @author Library System
+ * @since 1.0.0
+ */
+public record BookSearchCriteria(String keyword, String author, String publisher, Collection<Long> categoryIds,
+                                 Integer status, boolean hasStock, long offset, int limit, PageCursor after) {
+}
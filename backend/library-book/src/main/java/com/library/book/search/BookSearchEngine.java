@@ -0,0 +1,190 @@
+package com.library.book.search;
+
+import com.library.book.config.BookSearchProperties;
+import com.library.book.entity.Book;
+import com.library.book.event.CatalogChangedEvent;
+import com.library.book.mapper.BookMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 图书搜索引擎
+ *
+ * <p>管理 {@link BookSearchIndex} 的生命周期：
+ * <ul>
+ *     <li>应用启动后在后台线程按主键分批读取全部图书构建索引，构建完成前查询走数据库</li>
+ *     <li>图书新增、修改、删除、上下架、库存变化提交后，按图书ID重新读取并更新索引；
+ *     构建期间到达的变更先记录，构建完成后补做</li>
+ * </ul>
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class BookSearchEngine {
+
+    private final BookSearchProperties properties;
+    private final BookMapper bookMapper;
+
+    private final Object stateLock = new Object();
+
+    /**
+     * 可用的索引，构建完成前为 null
+     */
+    private volatile BookSearchIndex index;
+
+    private boolean building;
+
+    /**
+     * 构建期间发生变更的图书ID
+     */
+    private final List<Long> pendingIds = new ArrayList<>();
+
+    public BookSearchEngine(BookSearchProperties properties, BookMapper bookMapper) {
+        this.properties = properties;
+        this.bookMapper = bookMapper;
+    }
+
+    /**
+     * 应用就绪后开始构建索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        synchronized (stateLock) {
+            building = true;
+        }
+        Thread thread = new Thread(this::build, "book-search-build");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 图书变更提交后更新索引
+     *
+     * @param event 目录变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.type() != CatalogChangedEvent.Type.BOOK || event.id() == null) {
+            return;
+        }
+        BookSearchIndex current;
+        synchronized (stateLock) {
+            current = index;
+            if (current == null) {
+                if (building) {
+                    pendingIds.add(event.id());
+                }
+                return;
+            }
+        }
+        if (event.stockOnly() && event.availableStock() != null) {
+            // 库存变更只影响有库存位图，直接按事件携带的可借库存更新，不回表
+            current.updateStock(event.id(), event.availableStock() > 0);
+        } else {
+            refresh(current, event.id());
+        }
+    }
+
+    /**
+     * 批量写入新增的图书（批量导入提交后调用，图书已包含创建时间，不再逐本回表）
+     *
+     * @param books 已提交的图书
+     */
+    public void index(Collection<Book> books) {
+        BookSearchIndex current;
+        synchronized (stateLock) {
+            current = index;
+            if (current == null) {
+                if (building) {
+                    books.forEach(book -> pendingIds.add(book.getId()));
+                }
+                return;
+            }
+        }
+        books.forEach(book -> current.upsert(BookDocument.from(book)));
+    }
+
+    /**
+     * 搜索图书
+     *
+     * @param criteria 搜索条件
+     * @return 搜索结果；索引未启用、未就绪或条件无法由索引处理时为空，调用方应回退到数据库查询
+     */
+    public Optional<BookSearchResult> search(BookSearchCriteria criteria) {
+        BookSearchIndex current = index;
+        if (current == null
+                || !searchable(criteria.keyword())
+                || !searchable(criteria.author())
+                || !searchable(criteria.publisher())) {
+            return Optional.empty();
+        }
+        return Optional.of(current.search(criteria));
+    }
+
+    /**
+     * 不含任何字母数字的查询词无法切分出词元，交给数据库处理
+     */
+    private static boolean searchable(String value) {
+        return value == null || value.isEmpty() || !BookTokenizer.queryTokens(value).isEmpty();
+    }
+
+    private void build() {
+        long start = System.currentTimeMillis();
+        BookSearchIndex built = new BookSearchIndex();
+        try {
+            long lastId = 0;
+            List<Book> batch;
+            do {
+                batch = bookMapper.selectIndexBatch(lastId, properties.getBatchSize());
+                for (Book book : batch) {
+                    built.upsert(BookDocument.from(book));
+                    lastId = book.getId();
+                }
+            } while (batch.size() == properties.getBatchSize());
+            built.compact();
+        } catch (Exception e) {
+            log.error("图书搜索索引构建失败，图书列表查询将继续使用数据库", e);
+            synchronized (stateLock) {
+                building = false;
+                pendingIds.clear();
+            }
+            return;
+        }
+
+        List<Long> pending;
+        synchronized (stateLock) {
+            index = built;
+            building = false;
+            pending = new ArrayList<>(pendingIds);
+            pendingIds.clear();
+        }
+        pending.forEach(id -> refresh(built, id));
+        log.info("图书搜索索引构建完成，图书数: {}，耗时: {}ms", built.size(), System.currentTimeMillis() - start);
+    }
+
+    private void refresh(BookSearchIndex target, Long bookId) {
+        try {
+            Book book = bookMapper.selectById(bookId);
+            if (book == null) {
+                target.remove(bookId);
+            } else {
+                target.upsert(BookDocument.from(book));
+            }
+        } catch (Exception e) {
+            log.warn("更新图书搜索索引失败, bookId={}: {}", bookId, e.getMessage());
+        }
+    }
+}
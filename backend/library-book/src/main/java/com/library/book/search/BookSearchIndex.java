@@ -0,0 +1,391 @@
+package com.library.book.search;
+
+import com.library.common.result.PageCursor;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 图书内存倒排索引
+ *
+ * <p>以图书ID作为文档号，所有集合均为 RoaringBitmap：
+ * <ul>
+ *     <li>倒排表：字段 + 词元（单字 / 二元组，见 {@link BookTokenizer}）-> 图书ID位图</li>
+ *     <li>过滤位图：分类、状态、有库存，与关键词候选集直接按位求交</li>
+ *     <li>正排数据：规范化后的字段原文、创建时间、分类、状态，按图书ID下标存放在数组中，
+ *     用于候选集的原文校验（二元组交集可能有误命中）、排序和更新时撤销旧词元</li>
+ * </ul>
+ * 读写通过读写锁隔离，更新只锁住单个文档的变更过程
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+public class BookSearchIndex {
+
+    private static final int TITLE = 0;
+    private static final int AUTHOR = 1;
+    private static final int PUBLISHER = 2;
+    private static final int ISBN = 3;
+
+    private static final char[] FIELD_PREFIX = {'t', 'a', 'p', 'i'};
+
+    /**
+     * 关键词匹配的字段（与原 SQL 的 title / author / isbn 保持一致）
+     */
+    private static final int[] KEYWORD_FIELDS = {TITLE, AUTHOR, ISBN};
+
+    /**
+     * 正排数据中字段之间的分隔符
+     */
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, RoaringBitmap> postings = new HashMap<>();
+    private final Map<Long, RoaringBitmap> byCategory = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> byStatus = new HashMap<>();
+    private final RoaringBitmap inStock = new RoaringBitmap();
+    private final RoaringBitmap all = new RoaringBitmap();
+
+    private String[] texts = new String[1024];
+    private long[] createdAt = new long[1024];
+    private long[] categories = new long[1024];
+    private int[] statuses = new int[1024];
+
+    /**
+     * 新增或更新文档
+     *
+     * @param doc 文档
+     */
+    public void upsert(BookDocument doc) {
+        int id = toDocId(doc.id());
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            ensureCapacity(id);
+
+            String[] fields = {doc.title(), doc.author(), doc.publisher(), doc.isbn()};
+            StringBuilder text = new StringBuilder();
+            for (int field = 0; field < fields.length; field++) {
+                if (field > 0) {
+                    text.append(FIELD_SEPARATOR);
+                }
+                if (fields[field] != null) {
+                    text.append(BookTokenizer.normalize(fields[field]));
+                }
+                for (String token : BookTokenizer.tokenize(fields[field])) {
+                    postings.computeIfAbsent(FIELD_PREFIX[field] + token, k -> new RoaringBitmap()).add(id);
+                }
+            }
+            texts[id] = text.toString();
+            createdAt[id] = doc.createdAt();
+
+            long categoryId = doc.categoryId() != null ? doc.categoryId() : 0L;
+            int status = doc.status() != null ? doc.status() : -1;
+            categories[id] = categoryId;
+            statuses[id] = status;
+            byCategory.computeIfAbsent(categoryId, k -> new RoaringBitmap()).add(id);
+            byStatus.computeIfAbsent(status, k -> new RoaringBitmap()).add(id);
+            if (doc.inStock()) {
+                inStock.add(id);
+            }
+            all.add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除文档
+     *
+     * @param bookId 图书ID
+     */
+    public void remove(long bookId) {
+        int id = toDocId(bookId);
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 只更新文档的有库存标记，文档不在索引中时忽略
+     *
+     * @param bookId  图书ID
+     * @param inStock 是否有可借库存
+     */
+    public void updateStock(long bookId, boolean inStock) {
+        int id = toDocId(bookId);
+        lock.writeLock().lock();
+        try {
+            if (id >= texts.length || texts[id] == null) {
+                return;
+            }
+            if (inStock) {
+                this.inStock.add(id);
+            } else {
+                this.inStock.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 初始构建完成后压缩位图（连续区间转为游程编码）
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            postings.values().forEach(RoaringBitmap::runOptimize);
+            byCategory.values().forEach(RoaringBitmap::runOptimize);
+            byStatus.values().forEach(RoaringBitmap::runOptimize);
+            inStock.runOptimize();
+            all.runOptimize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 搜索
+     *
+     * @param criteria 搜索条件
+     * @return 命中总数和当前页图书ID
+     */
+    public BookSearchResult search(BookSearchCriteria criteria) {
+        String keyword = normalizeOrNull(criteria.keyword());
+        String author = normalizeOrNull(criteria.author());
+        String publisher = normalizeOrNull(criteria.publisher());
+
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> filters = new ArrayList<>();
+            filters.add(all);
+            if (criteria.categoryIds() != null) {
+                filters.add(categoryBitmap(criteria.categoryIds()));
+            }
+            if (criteria.status() != null) {
+                filters.add(byStatus.getOrDefault(criteria.status(), new RoaringBitmap()));
+            }
+            if (criteria.hasStock()) {
+                filters.add(inStock);
+            }
+            if (keyword != null) {
+                RoaringBitmap[] perField = new RoaringBitmap[KEYWORD_FIELDS.length];
+                for (int i = 0; i < KEYWORD_FIELDS.length; i++) {
+                    perField[i] = termBitmap(KEYWORD_FIELDS[i], criteria.keyword());
+                }
+                filters.add(FastAggregation.or(perField));
+            }
+            if (author != null) {
+                filters.add(termBitmap(AUTHOR, criteria.author()));
+            }
+            if (publisher != null) {
+                filters.add(termBitmap(PUBLISHER, criteria.publisher()));
+            }
+            // 从最小的集合开始求交
+            filters.sort((a, b) -> Integer.compare(a.getCardinality(), b.getCardinality()));
+            RoaringBitmap candidates = FastAggregation.and(filters.iterator());
+
+            return collect(candidates, keyword, author, publisher, criteria.after(),
+                    criteria.offset(), criteria.limit());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 已索引的文档数
+     *
+     * @return 文档数
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return all.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 原文校验、计数并按创建时间倒序取出当前页（游标分页时只取游标之后的记录，总数仍为全部命中数）
+     */
+    private BookSearchResult collect(RoaringBitmap candidates, String keyword, String author, String publisher,
+                                     PageCursor after, long offset, int limit) {
+        long wanted = offset + limit;
+        // 小顶堆：堆顶为当前保留的记录中排序最靠后的
+        PriorityQueue<Integer> top = new PriorityQueue<>((a, b) -> compareRank(b, a));
+        long total = 0;
+        boolean verify = keyword != null || author != null || publisher != null;
+
+        IntIterator it = candidates.getIntIterator();
+        while (it.hasNext()) {
+            int id = it.next();
+            if (verify && !matches(texts[id], keyword, author, publisher)) {
+                continue;
+            }
+            total++;
+            if (after != null && !isAfter(id, after)) {
+                continue;
+            }
+            if (top.size() < wanted) {
+                top.add(id);
+            } else if (wanted > 0 && compareRank(id, top.peek()) < 0) {
+                top.poll();
+                top.add(id);
+            }
+        }
+
+        List<Long> page = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            page.add((long) top.poll());
+        }
+        Collections.reverse(page);
+        if (offset >= page.size()) {
+            return new BookSearchResult(total, List.of());
+        }
+        return new BookSearchResult(total, page.subList((int) offset, page.size()));
+    }
+
+    /**
+     * 排序：创建时间倒序，相同时ID倒序；返回负数表示 a 排在前面
+     */
+    private int compareRank(int a, int b) {
+        int cmp = Long.compare(createdAt[b], createdAt[a]);
+        return cmp != 0 ? cmp : Integer.compare(b, a);
+    }
+
+    /**
+     * 文档是否排在游标之后
+     */
+    private boolean isAfter(int id, PageCursor cursor) {
+        long cursorKey = BookDocument.sortKey(cursor.createTime());
+        return createdAt[id] < cursorKey || (createdAt[id] == cursorKey && id < cursor.id());
+    }
+
+    private static boolean matches(String text, String keyword, String author, String publisher) {
+        if (keyword != null && !(field(text, TITLE).contains(keyword)
+                || field(text, AUTHOR).contains(keyword)
+                || field(text, ISBN).contains(keyword))) {
+            return false;
+        }
+        if (author != null && !field(text, AUTHOR).contains(author)) {
+            return false;
+        }
+        return publisher == null || field(text, PUBLISHER).contains(publisher);
+    }
+
+    /**
+     * 从正排数据中取出字段原文
+     */
+    private static String field(String text, int field) {
+        int start = 0;
+        for (int i = 0; i < field; i++) {
+            start = text.indexOf(FIELD_SEPARATOR, start) + 1;
+        }
+        int end = text.indexOf(FIELD_SEPARATOR, start);
+        return text.substring(start, end < 0 ? text.length() : end);
+    }
+
+    /**
+     * 某字段中同时包含查询词全部词元的文档
+     */
+    private RoaringBitmap termBitmap(int field, String value) {
+        Set<String> tokens = BookTokenizer.queryTokens(value);
+        List<RoaringBitmap> bitmaps = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            RoaringBitmap bitmap = postings.get(FIELD_PREFIX[field] + token);
+            if (bitmap == null) {
+                return new RoaringBitmap();
+            }
+            bitmaps.add(bitmap);
+        }
+        if (bitmaps.isEmpty()) {
+            return new RoaringBitmap();
+        }
+        return FastAggregation.and(bitmaps.iterator());
+    }
+
+    private RoaringBitmap categoryBitmap(Collection<Long> categoryIds) {
+        List<RoaringBitmap> bitmaps = new ArrayList<>(categoryIds.size());
+        for (Long categoryId : categoryIds) {
+            RoaringBitmap bitmap = byCategory.get(categoryId);
+            if (bitmap != null) {
+                bitmaps.add(bitmap);
+            }
+        }
+        return bitmaps.isEmpty() ? new RoaringBitmap() : FastAggregation.or(bitmaps.iterator());
+    }
+
+    private void removeInternal(int id) {
+        if (id >= texts.length || texts[id] == null) {
+            return;
+        }
+        String text = texts[id];
+        for (int field = 0; field < FIELD_PREFIX.length; field++) {
+            for (String token : BookTokenizer.tokenize(field(text, field))) {
+                String key = FIELD_PREFIX[field] + token;
+                RoaringBitmap bitmap = postings.get(key);
+                if (bitmap != null) {
+                    bitmap.remove(id);
+                    if (bitmap.isEmpty()) {
+                        postings.remove(key);
+                    }
+                }
+            }
+        }
+        removeFrom(byCategory, categories[id], id);
+        removeFrom(byStatus, statuses[id], id);
+        inStock.remove(id);
+        all.remove(id);
+        texts[id] = null;
+    }
+
+    private static <K> void removeFrom(Map<K, RoaringBitmap> index, K key, int id) {
+        RoaringBitmap bitmap = index.get(key);
+        if (bitmap != null) {
+            bitmap.remove(id);
+            if (bitmap.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < texts.length) {
+            return;
+        }
+        int capacity = Math.max(id + 1, texts.length + (texts.length >> 1));
+        texts = Arrays.copyOf(texts, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+    }
+
+    private static int toDocId(long bookId) {
+        if (bookId < 0 || bookId > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("图书ID超出索引范围: " + bookId);
+        }
+        return (int) bookId;
+    }
+
+    private static String normalizeOrNull(String value) {
+        return value == null || value.isEmpty() ? null : BookTokenizer.normalize(value);
+    }
+}
@@ -0,0 +1,14 @@
+package com.library.book.search;
+
+import java.util.List;
+
+/**
+ * 图书搜索结果
+ *
+ * @param total 命中总数
+ * @param ids   当前页的图书ID（按创建时间倒序）
+ * @author Library System
+ * @since 1.0.0
+ */
+public record BookSearchResult(long total, List<Long> ids) {
+}
@@ -0,0 +1,95 @@
+package com.library.book.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 图书搜索分词器
+ *
+ * <p>文本转为小写后按非字母数字字符切分为连续片段，每个片段产出全部单字和相邻二元组（bigram）。
+ * 中文书名没有空格分词，二元组可以在不依赖词典的情况下支持任意子串查询；
+ * 查询词按同样规则切分后取所有词元的交集得到候选集，再由调用方按原文校验
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+public final class BookTokenizer {
+
+    private BookTokenizer() {
+    }
+
+    /**
+     * 切分文本（用于建索引），结果去重
+     *
+     * @param text 原文，可为 null
+     * @return 词元集合
+     */
+    public static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String run : runs(text)) {
+            for (int i = 0; i < run.length(); i++) {
+                tokens.add(run.substring(i, i + 1));
+                if (i + 1 < run.length()) {
+                    tokens.add(run.substring(i, i + 2));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 切分查询词：长度不小于 2 的片段只取二元组，单字片段取单字
+     *
+     * @param keyword 查询词
+     * @return 词元集合，查询词不含任何字母数字时为空
+     */
+    public static Set<String> queryTokens(String keyword) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String run : runs(keyword)) {
+            if (run.length() == 1) {
+                tokens.add(run);
+                continue;
+            }
+            for (int i = 0; i + 1 < run.length(); i++) {
+                tokens.add(run.substring(i, i + 2));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 统一大小写，供建索引、查询和原文校验共用
+     *
+     * @param text 原文
+     * @return 规范化文本
+     */
+    public static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 按非字母数字字符切分出的连续片段（已规范化）
+     */
+    private static List<String> runs(String text) {
+        List<String> runs = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return runs;
+        }
+        String normalized = normalize(text);
+        int length = normalized.length();
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean tokenChar = i < length && Character.isLetterOrDigit(normalized.charAt(i));
+            if (tokenChar && runStart < 0) {
+                runStart = i;
+            } else if (!tokenChar && runStart >= 0) {
+                runs.add(normalized.substring(runStart, i));
+                runStart = -1;
+            }
+        }
+        return runs;
+    }
+}
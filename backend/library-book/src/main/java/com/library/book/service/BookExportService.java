@@ -0,0 +1,24 @@
+package com.library.book.service;
+
+import com.library.book.dto.BookQuery;
+import com.library.book.transfer.BookExportTarget;
+import com.library.book.transfer.BookFileFormat;
+
+/**
+ * 图书导出服务接口
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+public interface BookExportService {
+
+    /**
+     * 流式导出符合条件的全部图书（忽略分页参数），内存占用与导出行数无关
+     *
+     * @param query  查询条件
+     * @param format 文件格式
+     * @param target 输出目标，查询开始执行后才打开
+     * @return 导出的图书数
+     */
+    long exportBooks(BookQuery query, BookFileFormat format, BookExportTarget target);
+}
@@ -0,0 +1,32 @@
+package com.library.book.service;
+
+import com.library.book.dto.BookImportProgress;
+
+import java.io.InputStream;
+
+/**
+ * 图书批量导入服务接口
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+public interface BookImportService {
+
+    /**
+     * 提交导入任务：请求体流式暂存到临时文件后立即返回，后台逐行解析并分批插入
+     *
+     * @param body        请求体（CSV 或 NDJSON）
+     * @param format      文件格式，为空时按 Content-Type 判断
+     * @param contentType 请求的 Content-Type
+     * @return 导入进度（含导入任务ID）
+     */
+    BookImportProgress submitImport(InputStream body, String format, String contentType);
+
+    /**
+     * 查询导入进度
+     *
+     * @param importId 导入任务ID
+     * @return 导入进度
+     */
+    BookImportProgress getImportProgress(String importId);
+}
@@ -3,6 +3,8 @@ package com.library.book.service;
 import com.library.book.dto.*;
 import com.library.common.result.PageResult;
 
+import java.util.List;
+
 /**
  * 图书服务接口
  *
@@ -66,6 +68,14 @@ public interface BookService {
      */
     void updateBookStatus(Long id, Integer status);
 
+    /**
+     * 按ID批量查询图书简要信息
+     *
+     * @param ids 图书ID列表
+     * @return 与请求顺序一致的图书简要信息，不存在的图书 found 为 false
+     */
+    List<BookBrief> getBooksByIds(List<Long> ids);
+
     /**
      * 库存操作
      *
@@ -74,6 +84,32 @@ public interface BookService {
      */
     Integer operateStock(StockRequest request);
 
+    /**
+     * 借书扣减库存（供借阅服务调用，热点图书走内存预留并批量落库）
+     *
+     * @param bookId   图书ID
+     * @param quantity 数量
+     * @return 操作后的可用库存
+     */
+    Integer borrowStock(Long bookId, Integer quantity);
+
+    /**
+     * 借书预留库存：校验上架状态并扣减可借库存，返回借阅记录需要的图书快照
+     *
+     * @param bookId   图书ID
+     * @param quantity 数量
+     * @return 图书快照及预留后的可借库存
+     */
+    BookReservation reserveForBorrow(Long bookId, Integer quantity);
+
+    /**
+     * 批量借书预留库存：在一个事务内锁定全部图书、逐本校验并用一条语句扣减
+     *
+     * @param request 预留明细及预留模式
+     * @return 与请求顺序一致的逐本预留结果
+     */
+    List<BookReservation> reserveForBorrowBatch(BatchReservationRequest request);
+
     /**
      * 检查库存是否充足
      *
@@ -0,0 +1,102 @@
+package com.library.book.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.book.category.CategoryTreeCache;
+import com.library.book.config.BookExportProperties;
+import com.library.book.dto.BookQuery;
+import com.library.book.dto.BookResponse;
+import com.library.book.mapper.BookMapper;
+import com.library.book.service.BookExportService;
+import com.library.book.transfer.BookExportTarget;
+import com.library.book.transfer.BookExportWriter;
+import com.library.book.transfer.BookFileFormat;
+import com.library.common.exception.BusinessException;
+import com.library.common.result.ResultCode;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 图书导出服务实现类
+ *
+ * <p>通过 MyBatis {@link Cursor} 逐行读取（MySQL 流式结果集），每读一行立即写入响应流，
+ * 不做 OFFSET 翻页、不统计总数、不构建结果列表。游标需要在只读事务内消费，
+ * 传输期间占用一个数据库连接，因此用信号量限制同时进行的导出数
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class BookExportServiceImpl implements BookExportService {
+
+    private final BookMapper bookMapper;
+    private final CategoryTreeCache categoryTreeCache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore permits;
+
+    public BookExportServiceImpl(BookMapper bookMapper,
+                                 CategoryTreeCache categoryTreeCache,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 BookExportProperties properties) {
+        this.bookMapper = bookMapper;
+        this.categoryTreeCache = categoryTreeCache;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.permits = new Semaphore(properties.getMaxConcurrent());
+    }
+
+    @Override
+    public long exportBooks(BookQuery query, BookFileFormat format, BookExportTarget target) {
+        if (!permits.tryAcquire()) {
+            throw new BusinessException(ResultCode.SERVICE_UNAVAILABLE, "导出任务过多，请稍后重试");
+        }
+        long start = System.currentTimeMillis();
+        try {
+            List<Long> categoryIds = resolveCategoryIds(query);
+            Long count = readOnlyTransaction.execute(status -> {
+                try (Cursor<BookResponse> cursor = bookMapper.selectBookExportCursor(query, categoryIds);
+                     BookExportWriter writer = BookExportWriter.open(format, target.open(), objectMapper)) {
+                    long written = 0;
+                    for (BookResponse book : cursor) {
+                        if (book.getStatus() != null) {
+                            book.setStatusDesc(book.getStatus() == 1 ? "上架" : "下架");
+                        }
+                        writer.write(book);
+                        written++;
+                    }
+                    return written;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            log.info("图书导出完成，格式: {}, 数量: {}, 耗时: {}ms", format, count, System.currentTimeMillis() - start);
+            return count != null ? count : 0L;
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * 展开分类条件（与列表查询一致）
+     */
+    private List<Long> resolveCategoryIds(BookQuery query) {
+        if (query.getCategoryId() == null) {
+            return null;
+        }
+        if (Boolean.TRUE.equals(query.getIncludeDescendants())) {
+            return categoryTreeCache.get().subtreeIds(query.getCategoryId());
+        }
+        return List.of(query.getCategoryId());
+    }
+}
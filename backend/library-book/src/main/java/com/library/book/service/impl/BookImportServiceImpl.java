@@ -0,0 +1,425 @@
+package com.library.book.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.book.config.BookImportProperties;
+import com.library.book.dto.BookImportProgress;
+import com.library.book.dto.BookRequest;
+import com.library.book.entity.Book;
+import com.library.book.entity.BookImport;
+import com.library.book.entity.Category;
+import com.library.book.event.BookCategoryChangedEvent;
+import com.library.book.event.CatalogChangedEvent;
+import com.library.book.importer.BookImportJob;
+import com.library.book.importer.BookImportReader;
+import com.library.book.mapper.BookImportMapper;
+import com.library.book.mapper.BookMapper;
+import com.library.book.mapper.CategoryMapper;
+import com.library.book.search.BookSearchEngine;
+import com.library.book.service.BookImportService;
+import com.library.book.transfer.BookFileFormat;
+import com.library.common.exception.BusinessException;
+import com.library.common.result.ResultCode;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 图书批量导入服务实现类
+ *
+ * <p>导入流程：
+ * <ul>
+ *     <li>请求体流式写入临时文件，立即返回导入任务ID，后台单线程逐个执行导入任务</li>
+ *     <li>开始前一次性加载分类ID和全部ISBN（含已删除图书，与唯一索引一致），逐行校验不再查库；
+ *     文件内重复的ISBN同样按已存在处理</li>
+ *     <li>校验通过的行按 batch-size 攒批，用 MyBatis 批量执行器在一个事务内插入，
+ *     配合 rewriteBatchedStatements 由驱动改写为多值 INSERT</li>
+ *     <li>整批失败（如并发新增了相同ISBN）时回滚该批并逐行重试，只有出错的行记为失败</li>
+ * </ul>
+ * 每批单独提交，任务中途失败时已提交的批次保留。任务进度保存在 t_book_import 表中，每提交一批更新一次，
+ * 多实例部署时任一实例都可以按导入任务ID查询
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class BookImportServiceImpl implements BookImportService {
+
+    private static final TypeReference<List<BookImportProgress.RowError>> ROW_ERRORS_TYPE = new TypeReference<>() {
+    };
+
+    private final BookImportProperties properties;
+    private final BookMapper bookMapper;
+    private final BookImportMapper bookImportMapper;
+    private final CategoryMapper categoryMapper;
+    private final BookSearchEngine bookSearchEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 批量执行器，在事务内攒批、flushStatements 时统一发送
+     */
+    private final SqlSessionTemplate batchSqlSession;
+
+    private final ThreadPoolExecutor executor;
+
+    public BookImportServiceImpl(BookImportProperties properties,
+                                 BookMapper bookMapper,
+                                 BookImportMapper bookImportMapper,
+                                 CategoryMapper categoryMapper,
+                                 BookSearchEngine bookSearchEngine,
+                                 ApplicationEventPublisher eventPublisher,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 TransactionTemplate transactionTemplate,
+                                 SqlSessionFactory sqlSessionFactory) {
+        this.properties = properties;
+        this.bookMapper = bookMapper;
+        this.bookImportMapper = bookImportMapper;
+        this.categoryMapper = categoryMapper;
+        this.bookSearchEngine = bookSearchEngine;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(properties.getMaxPendingJobs()),
+                r -> {
+                    Thread thread = new Thread(r, "book-import");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public BookImportProgress submitImport(InputStream body, String format, String contentType) {
+        BookFileFormat importFormat = BookFileFormat.resolve(format, contentType);
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw new BusinessException(ResultCode.SERVICE_UNAVAILABLE, "导入任务过多，请稍后重试");
+        }
+        purgeExpiredJobs();
+
+        Path file;
+        try {
+            file = Files.createTempFile("book-import-", "." + importFormat.name().toLowerCase(Locale.ROOT));
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("暂存导入文件失败", e);
+            throw new BusinessException(ResultCode.INTERNAL_ERROR, "读取导入文件失败");
+        }
+        if (isEmpty(file)) {
+            deleteQuietly(file);
+            throw new BusinessException(ResultCode.BAD_REQUEST, "导入文件为空");
+        }
+
+        String importId = UUID.randomUUID().toString().replace("-", "");
+        BookImportJob job = new BookImportJob(importId, importFormat, file, properties.getMaxReportedErrors());
+        bookImportMapper.insert(toEntity(job.toProgress()));
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            bookImportMapper.deleteById(importId);
+            deleteQuietly(file);
+            throw new BusinessException(ResultCode.SERVICE_UNAVAILABLE, "导入任务过多，请稍后重试");
+        }
+        log.info("已提交图书导入任务，ID: {}, 格式: {}", importId, importFormat);
+        return job.toProgress();
+    }
+
+    @Override
+    public BookImportProgress getImportProgress(String importId) {
+        BookImport entity = bookImportMapper.selectById(importId);
+        if (entity == null) {
+            throw new BusinessException(ResultCode.NOT_FOUND, "导入任务不存在或已过期");
+        }
+        return toProgress(entity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 执行导入任务
+     */
+    private void run(BookImportJob job) {
+        job.start();
+        saveProgress(job);
+        long start = System.currentTimeMillis();
+        Long lastInsertedId = null;
+        try (BufferedReader reader = Files.newBufferedReader(job.file(), StandardCharsets.UTF_8)) {
+            Set<Long> categoryIds = categoryMapper.selectList(null).stream()
+                    .map(Category::getId)
+                    .collect(Collectors.toSet());
+            Set<String> isbns = loadIsbns();
+
+            BookImportReader rows = BookImportReader.open(job.format(), reader, objectMapper);
+            List<PendingBook> batch = new ArrayList<>(properties.getBatchSize());
+            BookImportReader.Row row;
+            while ((row = rows.next()) != null) {
+                job.rowRead();
+                BookRequest request = row.request();
+                String isbn = request != null ? trimToNull(request.getIsbn()) : null;
+                String error = row.error() != null ? row.error() : validate(request, isbn, categoryIds, isbns);
+                if (error != null) {
+                    job.rowFailed(row.line(), isbn, error);
+                    continue;
+                }
+                isbns.add(isbnKey(isbn));
+                batch.add(new PendingBook(row.line(), toBook(request, isbn)));
+                if (batch.size() >= properties.getBatchSize()) {
+                    lastInsertedId = insertBatch(job, batch, lastInsertedId);
+                    batch.clear();
+                    saveProgress(job);
+                }
+            }
+            lastInsertedId = insertBatch(job, batch, lastInsertedId);
+            job.complete();
+        } catch (BusinessException e) {
+            job.abort(e.getMessage());
+        } catch (Exception e) {
+            log.error("图书导入任务异常终止，ID: {}", job.importId(), e);
+            job.abort("导入异常终止: " + e.getMessage());
+        } finally {
+            deleteQuietly(job.file());
+            if (lastInsertedId != null) {
+                // 通知网关清除目录缓存（整个任务一次）
+                eventPublisher.publishEvent(CatalogChangedEvent.catalog());
+            }
+        }
+
+        saveProgress(job);
+        BookImportProgress progress = job.toProgress();
+        log.info("图书导入任务结束，ID: {}, 状态: {}, 成功: {}, 失败: {}, 耗时: {}ms", job.importId(),
+                progress.getStatus(), progress.getSuccessRows(), progress.getFailedRows(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 插入一批图书；整批失败时逐行重试
+     *
+     * @return 最后插入的图书ID
+     */
+    private Long insertBatch(BookImportJob job, List<PendingBook> batch, Long lastInsertedId) {
+        if (batch.isEmpty()) {
+            return lastInsertedId;
+        }
+        List<Book> inserted = new ArrayList<>(batch.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                BookMapper batchMapper = batchSqlSession.getMapper(BookMapper.class);
+                batch.forEach(pending -> batchMapper.insert(pending.book()));
+                batchSqlSession.flushStatements();
+            });
+            batch.forEach(pending -> inserted.add(pending.book()));
+        } catch (RuntimeException e) {
+            log.warn("图书导入批量插入失败，逐行重试，ID: {}: {}", job.importId(), e.getMessage());
+            for (PendingBook pending : batch) {
+                Book book = pending.book();
+                book.setId(null);
+                try {
+                    bookMapper.insert(book);
+                    inserted.add(book);
+                } catch (DuplicateKeyException duplicate) {
+                    job.rowFailed(pending.line(), book.getIsbn(), "ISBN已存在");
+                } catch (RuntimeException rowError) {
+                    job.rowFailed(pending.line(), book.getIsbn(), "写入失败: " + rowError.getMessage());
+                }
+            }
+        }
+        if (inserted.isEmpty()) {
+            return lastInsertedId;
+        }
+
+        job.rowsSucceeded(inserted.size());
+        bookSearchEngine.index(inserted);
+        inserted.forEach(book -> eventPublisher.publishEvent(BookCategoryChangedEvent.added(book.getCategoryId())));
+        return inserted.get(inserted.size() - 1).getId();
+    }
+
+    /**
+     * 校验一行数据
+     *
+     * @return 失败原因，校验通过时为 null
+     */
+    private String validate(BookRequest request, String isbn, Set<Long> categoryIds, Set<String> isbns) {
+        Set<ConstraintViolation<BookRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (request.getStatus() != null && request.getStatus() != 0 && request.getStatus() != 1) {
+            return "状态值无效";
+        }
+        if (!categoryIds.contains(request.getCategoryId())) {
+            return "分类不存在";
+        }
+        if (isbns.contains(isbnKey(isbn))) {
+            return "ISBN已存在";
+        }
+        return null;
+    }
+
+    /**
+     * 流式读取现有ISBN构建去重集合
+     */
+    private Set<String> loadIsbns() {
+        Set<String> isbns = new HashSet<>();
+        bookMapper.selectAllIsbns(context -> {
+            if (context.getResultObject() != null) {
+                isbns.add(isbnKey(context.getResultObject()));
+            }
+        });
+        return isbns;
+    }
+
+    private static Book toBook(BookRequest request, String isbn) {
+        // 导入后直接用内存中的对象建立搜索索引：创建时间截断到秒，与 DATETIME 列存储的值一致，
+        // 否则数据库按四舍五入存储，索引排序键与游标（取自数据库行）可能相差一秒
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        return Book.builder()
+                .isbn(isbn)
+                .title(request.getTitle())
+                .author(request.getAuthor())
+                .publisher(request.getPublisher())
+                .publishDate(request.getPublishDate())
+                .categoryId(request.getCategoryId())
+                .price(request.getPrice())
+                .totalStock(request.getTotalStock())
+                .availableStock(request.getTotalStock())
+                .coverUrl(request.getCoverUrl())
+                .description(request.getDescription())
+                .status(request.getStatus() != null ? request.getStatus() : 1)
+                .deleted(0)
+                .createTime(now)
+                .updateTime(now)
+                .build();
+    }
+
+    /**
+     * ISBN去重键（唯一索引按不区分大小写的排序规则比较）
+     */
+    private static String isbnKey(String isbn) {
+        return isbn.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private void purgeExpiredJobs() {
+        bookImportMapper.deleteFinishedBefore(LocalDateTime.now().minus(properties.getRetention()));
+    }
+
+    /**
+     * 将任务进度写入导入任务表；写入失败只影响进度查询，不中断导入
+     */
+    private void saveProgress(BookImportJob job) {
+        try {
+            bookImportMapper.updateById(toEntity(job.toProgress()));
+        } catch (RuntimeException e) {
+            log.warn("保存图书导入进度失败，ID: {}: {}", job.importId(), e.getMessage());
+        }
+    }
+
+    private BookImport toEntity(BookImportProgress progress) {
+        try {
+            return BookImport.builder()
+                    .importId(progress.getImportId())
+                    .format(progress.getFormat())
+                    .status(progress.getStatus())
+                    .processedRows(progress.getProcessedRows())
+                    .successRows(progress.getSuccessRows())
+                    .failedRows(progress.getFailedRows())
+                    .message(progress.getMessage())
+                    .errors(objectMapper.writeValueAsString(progress.getErrors()))
+                    .submitTime(progress.getSubmitTime())
+                    .finishTime(progress.getFinishTime())
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("序列化导入失败行明细失败", e);
+        }
+    }
+
+    private BookImportProgress toProgress(BookImport entity) {
+        List<BookImportProgress.RowError> errors;
+        try {
+            errors = entity.getErrors() == null ? List.of()
+                    : objectMapper.readValue(entity.getErrors(), ROW_ERRORS_TYPE);
+        } catch (JsonProcessingException e) {
+            log.warn("解析导入失败行明细失败，ID: {}: {}", entity.getImportId(), e.getMessage());
+            errors = List.of();
+        }
+        return BookImportProgress.builder()
+                .importId(entity.getImportId())
+                .format(entity.getFormat())
+                .status(entity.getStatus())
+                .processedRows(entity.getProcessedRows())
+                .successRows(entity.getSuccessRows())
+                .failedRows(entity.getFailedRows())
+                .message(entity.getMessage())
+                .errors(errors)
+                .submitTime(entity.getSubmitTime())
+                .finishTime(entity.getFinishTime())
+                .build();
+    }
+
+    private static boolean isEmpty(Path file) {
+        try {
+            return Files.size(file) == 0;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除导入临时文件失败: {}", file);
+        }
+    }
+
+    /**
+     * 待插入的图书及其在文件中的行号
+     */
+    private record PendingBook(long line, Book book) {
+    }
+}
@@ -1,23 +1,42 @@
 package com.library.book.service.impl;
 
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.library.book.cache.BookDetailCache;
+import com.library.book.category.CategoryTreeCache;
 import com.library.book.dto.*;
 import com.library.book.entity.Book;
+import com.library.book.entity.BookOutbox;
 import com.library.book.entity.Category;
-import com.library.book.feign.BorrowClient;
+import com.library.book.event.BookCategoryChangedEvent;
+import com.library.book.event.CatalogChangedEvent;
 import com.library.book.mapper.BookMapper;
+import com.library.book.mapper.BookOutboxMapper;
 import com.library.book.mapper.CategoryMapper;
+import com.library.book.search.BookSearchCriteria;
+import com.library.book.search.BookSearchEngine;
+import com.library.book.search.BookSearchResult;
 import com.library.book.service.BookService;
+import com.library.book.stock.HotStockEngine;
 import com.library.common.exception.BusinessException;
+import com.library.common.result.PageCursor;
 import com.library.common.result.PageResult;
-import com.library.common.result.Result;
 import com.library.common.result.ResultCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 图书服务实现类
@@ -30,37 +49,81 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class BookServiceImpl implements BookService {
 
+    /**
+     * 批量查询单次最多的图书数
+     */
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final BookMapper bookMapper;
     private final CategoryMapper categoryMapper;
-    private final BorrowClient borrowClient;
+    private final BookOutboxMapper bookOutboxMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookSearchEngine bookSearchEngine;
+    private final CategoryTreeCache categoryTreeCache;
+    private final BookDetailCache bookDetailCache;
+    private final HotStockEngine hotStockEngine;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public PageResult<BookResponse> listBooks(BookQuery query) {
-        Page<BookResponse> page = new Page<>(query.getPageNum(), query.getPageSize());
-        var result = bookMapper.selectBookPage(page, query);
+        if (query.getCursor() != null) {
+            return listBooksByCursor(query);
+        }
+
+        List<Long> categoryIds = resolveCategoryIds(query);
+        boolean detail = isDetailFields(query);
+
+        // 优先使用内存倒排索引，未启用或未就绪时走数据库
+        Optional<BookSearchResult> searchResult =
+                bookSearchEngine.search(toSearchCriteria(query, categoryIds, 0, null));
+        if (searchResult.isPresent()) {
+            List<BookResponse> records = loadInOrder(searchResult.get().ids(), detail);
+            return PageResult.of(records, searchResult.get().total(), query.getPageNum(), query.getPageSize());
+        }
+
+        // 本服务未注册分页插件，在 SQL 中直接按页码取当前页
+        long offset = Math.max((long) (query.getPageNum() - 1) * query.getPageSize(), 0);
+        List<BookResponse> records = bookMapper.selectBookPage(query, categoryIds, offset, query.getPageSize(), detail);
 
         // 设置状态描述
-        result.getRecords().forEach(this::setStatusDesc);
+        records.forEach(this::setStatusDesc);
 
-        // 手动查询总数（因为分页插件可能未正确配置）
-        Long total = bookMapper.countBooks(query);
+        Long total = bookMapper.countBooks(query, categoryIds);
         if (total == null) {
             total = 0L;
         }
 
-        return PageResult.of(result.getRecords(), total, query.getPageNum(), query.getPageSize());
+        return PageResult.of(records, total, query.getPageNum(), query.getPageSize());
     }
 
     @Override
     public BookResponse getBookById(Long id) {
-        BookResponse book = bookMapper.selectBookDetail(id);
+        BookResponse book = bookDetailCache.get(id, this::loadBookDetail);
         if (book == null) {
             throw new BusinessException(ResultCode.NOT_FOUND, "图书不存在");
         }
-        setStatusDesc(book);
         return book;
     }
 
+    @Override
+    public List<BookBrief> getBooksByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "图书ID不能为空");
+        }
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "单次最多查询" + MAX_BATCH_SIZE + "本图书");
+        }
+
+        Map<Long, BookBrief> byId = bookMapper.selectBriefsByIds(new LinkedHashSet<>(ids)).stream()
+                .collect(Collectors.toMap(BookBrief::getId, Function.identity()));
+        List<BookBrief> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            BookBrief brief = byId.get(id);
+            result.add(brief != null ? brief : BookBrief.notFound(id));
+        }
+        return result;
+    }
+
     @Override
     public BookResponse getBookByIsbn(String isbn) {
         Book book = bookMapper.selectByIsbn(isbn);
@@ -104,6 +167,8 @@ public class BookServiceImpl implements BookService {
 
         bookMapper.insert(book);
         log.info("新增图书成功，ID: {}, 书名: {}", book.getId(), book.getTitle());
+        eventPublisher.publishEvent(CatalogChangedEvent.book(book.getId()));
+        eventPublisher.publishEvent(BookCategoryChangedEvent.added(book.getCategoryId()));
 
         return book.getId();
     }
@@ -155,17 +220,15 @@ public class BookServiceImpl implements BookService {
 
         bookMapper.updateById(book);
         log.info("更新图书成功，ID: {}", id);
+        eventPublisher.publishEvent(CatalogChangedEvent.book(id));
+        if (!Objects.equals(existBook.getCategoryId(), request.getCategoryId())) {
+            eventPublisher.publishEvent(BookCategoryChangedEvent.moved(existBook.getCategoryId(),
+                    request.getCategoryId()));
+        }
 
-        // 如果书名发生变化，同步更新借阅记录中的书名
+        // 如果书名发生变化，在同一事务中写入发件箱，由 BookOutboxRelay 异步同步借阅记录中的书名
         if (!existBook.getTitle().equals(request.getTitle())) {
-            try {
-                Result<Integer> result = borrowClient.updateBookTitle(id, request.getTitle());
-                if (result != null && result.getData() != null) {
-                    log.info("同步更新了 {} 条借阅记录的书名", result.getData());
-                }
-            } catch (Exception e) {
-                log.error("同步更新借阅记录书名失败，但图书更新已成功: {}", e.getMessage());
-            }
+            bookOutboxMapper.insert(BookOutbox.titleChanged(id, request.getTitle()));
         }
     }
 
@@ -185,6 +248,8 @@ public class BookServiceImpl implements BookService {
         // 逻辑删除
         bookMapper.deleteById(id);
         log.info("删除图书成功，ID: {}", id);
+        eventPublisher.publishEvent(CatalogChangedEvent.book(id));
+        eventPublisher.publishEvent(BookCategoryChangedEvent.removed(book.getCategoryId()));
     }
 
     @Override
@@ -205,6 +270,7 @@ public class BookServiceImpl implements BookService {
                 .build();
         bookMapper.updateById(updateBook);
         log.info("更新图书状态成功，ID: {}, 状态: {}", id, status == 1 ? "上架" : "下架");
+        eventPublisher.publishEvent(CatalogChangedEvent.book(id));
     }
 
     @Override
@@ -220,9 +286,11 @@ public class BookServiceImpl implements BookService {
         }
 
         int affectedRows;
+        int availableDelta;
         switch (request.getOperationType()) {
             case BORROW -> {
                 // 借出：减少可借库存
+                availableDelta = -quantity;
                 affectedRows = bookMapper.decreaseAvailableStock(bookId, quantity);
                 if (affectedRows == 0) {
                     throw new BusinessException(ResultCode.BAD_REQUEST, "库存不足");
@@ -231,6 +299,7 @@ public class BookServiceImpl implements BookService {
             }
             case RETURN -> {
                 // 归还：增加可借库存
+                availableDelta = quantity;
                 affectedRows = bookMapper.increaseAvailableStock(bookId, quantity);
                 if (affectedRows == 0) {
                     throw new BusinessException(ResultCode.BAD_REQUEST, "归还数量超过已借数量");
@@ -239,6 +308,7 @@ public class BookServiceImpl implements BookService {
             }
             case ADD -> {
                 // 入库：同时增加总库存和可借库存
+                availableDelta = quantity;
                 affectedRows = bookMapper.addStock(bookId, quantity);
                 if (affectedRows == 0) {
                     throw new BusinessException(ResultCode.BAD_REQUEST, "入库失败");
@@ -247,6 +317,7 @@ public class BookServiceImpl implements BookService {
             }
             case REDUCE -> {
                 // 减库存：同时减少总库存和可借库存
+                availableDelta = -quantity;
                 affectedRows = bookMapper.reduceStock(bookId, quantity);
                 if (affectedRows == 0) {
                     throw new BusinessException(ResultCode.BAD_REQUEST, "库存不足，无法减少");
@@ -256,11 +327,166 @@ public class BookServiceImpl implements BookService {
             default -> throw new BusinessException(ResultCode.BAD_REQUEST, "未知的操作类型");
         }
 
-        // 返回操作后的可用库存
-        Book updatedBook = bookMapper.selectById(bookId);
+        // 返回操作后的可用库存，随事件带给缓存和搜索索引，监听方不再回表
+        Book updatedBook = bookMapper.selectStockById(bookId);
+        // 热点库存的内存计数随事件在提交后调整，事务回滚时不受影响
+        eventPublisher.publishEvent(CatalogChangedEvent.stock(bookId,
+                updatedBook.getTotalStock(), updatedBook.getAvailableStock(), availableDelta));
         return updatedBook.getAvailableStock();
     }
 
+    @Override
+    public Integer borrowStock(Long bookId, Integer quantity) {
+        // 不在事务中执行：热点图书的请求在内存中预留后等待批量落库，不应占用数据库连接
+        return hotStockEngine.borrow(bookId, quantity, () -> decreaseStockInDb(bookId, quantity));
+    }
+
+    /**
+     * 非热点图书直接在数据库上扣减（单条带条件的更新语句，无需事务）
+     */
+    private int decreaseStockInDb(Long bookId, Integer quantity) {
+        Book book = bookMapper.selectStockById(bookId);
+        if (book == null) {
+            throw new BusinessException(ResultCode.NOT_FOUND, "图书不存在");
+        }
+        if (bookMapper.decreaseAvailableStock(bookId, quantity) == 0) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "库存不足");
+        }
+        log.info("图书借出成功，ID: {}, 数量: {}", bookId, quantity);
+        int availableStock = bookMapper.selectStockById(bookId).getAvailableStock();
+        eventPublisher.publishEvent(CatalogChangedEvent.stock(bookId, availableStock));
+        return availableStock;
+    }
+
+    @Override
+    public BookReservation reserveForBorrow(Long bookId, Integer quantity) {
+        if (quantity == null || quantity < 1) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "借阅数量必须大于0");
+        }
+        // 书名、ISBN 和上架状态取自图书详情缓存，热点图书的预留全程不访问数据库
+        BookResponse book = getBookById(bookId);
+        if (book.getStatus() == null || book.getStatus() != 1) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "图书已下架，无法借阅");
+        }
+        Integer availableStock = hotStockEngine.borrow(bookId, quantity, () -> reserveInDb(bookId, quantity));
+        return BookReservation.builder()
+                .bookId(bookId)
+                .isbn(book.getIsbn())
+                .title(book.getTitle())
+                .quantity(quantity)
+                .availableStock(availableStock)
+                .reserved(true)
+                .build();
+    }
+
+    /**
+     * 非热点图书在一个事务内扣减：扣减语句同时校验上架状态和库存，成功后读取剩余库存
+     */
+    private int reserveInDb(Long bookId, Integer quantity) {
+        Integer availableStock = transactionTemplate.execute(status -> {
+            if (bookMapper.decreaseShelvedStock(bookId, quantity) == 0) {
+                Book book = bookMapper.selectShelfStockById(bookId);
+                if (book == null) {
+                    throw new BusinessException(ResultCode.NOT_FOUND, "图书不存在");
+                }
+                if (book.getStatus() != 1) {
+                    throw new BusinessException(ResultCode.BAD_REQUEST, "图书已下架，无法借阅");
+                }
+                throw new BusinessException(ResultCode.BAD_REQUEST, "库存不足");
+            }
+            log.info("图书借出成功，ID: {}, 数量: {}", bookId, quantity);
+            Integer remaining = bookMapper.selectStockById(bookId).getAvailableStock();
+            eventPublisher.publishEvent(CatalogChangedEvent.stock(bookId, remaining));
+            return remaining;
+        });
+        return Objects.requireNonNull(availableStock);
+    }
+
+    @Override
+    public List<BookReservation> reserveForBorrowBatch(BatchReservationRequest request) {
+        List<BatchReservationRequest.Item> items = request.getItems();
+        if (items == null || items.isEmpty()) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "预留明细不能为空");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "单次最多预留" + MAX_BATCH_SIZE + "本图书");
+        }
+        // 按图书ID排序，加锁顺序固定
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (BatchReservationRequest.Item item : items) {
+            if (item.getQuantity() == null || item.getQuantity() < 1) {
+                throw new BusinessException(ResultCode.BAD_REQUEST, "借阅数量必须大于0");
+            }
+            if (quantities.put(item.getBookId(), item.getQuantity()) != null) {
+                throw new BusinessException(ResultCode.BAD_REQUEST, "同一本图书不能重复预留");
+            }
+        }
+        boolean allOrNothing = !Boolean.FALSE.equals(request.getAllOrNothing());
+
+        Map<Long, BookReservation> reservations = transactionTemplate.execute(
+                status -> reserveBatchInDb(quantities, allOrNothing));
+        return items.stream()
+                .map(item -> Objects.requireNonNull(reservations).get(item.getBookId()))
+                .toList();
+    }
+
+    /**
+     * 批量预留固定两条语句：锁定读取全部图书，在内存中逐本校验，再用一条语句扣减通过校验的图书。
+     * 热点图书同样直接扣减数据库，提交后随库存事件调整内存计数，与管理员减库存相同，落库线程批量扣减失败时会按数据库重新对齐
+     */
+    private Map<Long, BookReservation> reserveBatchInDb(Map<Long, Integer> quantities, boolean allOrNothing) {
+        Map<Long, Book> books = bookMapper.selectShelfStockForUpdate(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        Map<Long, BookReservation> reservations = new HashMap<>();
+        Map<Long, Integer> accepted = new TreeMap<>();
+        quantities.forEach((bookId, quantity) -> {
+            Book book = books.get(bookId);
+            BookReservation reservation = BookReservation.builder()
+                    .bookId(bookId)
+                    .quantity(quantity)
+                    .reserved(false)
+                    .build();
+            if (book == null) {
+                reservation.setMessage("图书不存在");
+            } else {
+                reservation.setIsbn(book.getIsbn());
+                reservation.setTitle(book.getTitle());
+                reservation.setAvailableStock(book.getAvailableStock());
+                if (book.getStatus() != 1) {
+                    reservation.setMessage("图书已下架，无法借阅");
+                } else if (book.getAvailableStock() < quantity) {
+                    reservation.setMessage("库存不足");
+                } else {
+                    accepted.put(bookId, quantity);
+                }
+            }
+            reservations.put(bookId, reservation);
+        });
+
+        // 整单模式下任意一本失败则全部不扣减，其余图书标明原因
+        if (allOrNothing && accepted.size() < quantities.size()) {
+            accepted.keySet().forEach(bookId -> reservations.get(bookId).setMessage("同批其他图书无法借阅，未预留"));
+            return reservations;
+        }
+        if (accepted.isEmpty()) {
+            return reservations;
+        }
+
+        if (bookMapper.decreaseStockBatch(accepted) != accepted.size()) {
+            throw new BusinessException(ResultCode.INTERNAL_ERROR, "批量扣减库存失败");
+        }
+        accepted.forEach((bookId, quantity) -> {
+            BookReservation reservation = reservations.get(bookId);
+            reservation.setReserved(true);
+            reservation.setAvailableStock(reservation.getAvailableStock() - quantity);
+            eventPublisher.publishEvent(
+                    CatalogChangedEvent.stock(bookId, null, reservation.getAvailableStock(), -quantity));
+        });
+        log.info("批量借书预留成功，图书: {}", accepted);
+        return reservations;
+    }
+
     @Override
     public boolean checkStock(Long bookId, Integer quantity) {
         Book book = bookMapper.selectById(bookId);
@@ -270,6 +496,103 @@ public class BookServiceImpl implements BookService {
         return book.getAvailableStock() >= quantity;
     }
 
+    /**
+     * 游标分页查询图书列表：多读一条判断是否还有下一页，深翻页不再需要 OFFSET 扫描
+     */
+    private PageResult<BookResponse> listBooksByCursor(BookQuery query) {
+        PageCursor cursor = PageCursor.decode(query.getCursor());
+        List<Long> categoryIds = resolveCategoryIds(query);
+        boolean detail = isDetailFields(query);
+        int limit = query.getPageSize() + 1;
+
+        Optional<BookSearchResult> searchResult =
+                bookSearchEngine.search(toSearchCriteria(query, categoryIds, limit, cursor));
+        if (searchResult.isPresent()) {
+            List<BookResponse> records = loadInOrder(searchResult.get().ids(), detail);
+            return PageResult.ofCursor(records, query.getPageSize(), searchResult.get().total(), this::toCursor);
+        }
+
+        List<BookResponse> records = bookMapper.selectBookCursorPage(query, categoryIds, cursor, limit, detail);
+        records.forEach(this::setStatusDesc);
+        Long total = Boolean.TRUE.equals(query.getWithTotal()) ? bookMapper.countBooks(query, categoryIds) : null;
+        return PageResult.ofCursor(records, query.getPageSize(), total, this::toCursor);
+    }
+
+    private PageCursor toCursor(BookResponse book) {
+        return new PageCursor(book.getCreateTime(), book.getId());
+    }
+
+    /**
+     * 列表返回的字段集：summary（默认，不含封面URL和简介）或 detail（全部字段）
+     */
+    private static boolean isDetailFields(BookQuery query) {
+        String fields = query.getFields();
+        if (fields == null || fields.isBlank() || "summary".equalsIgnoreCase(fields.trim())) {
+            return false;
+        }
+        if ("detail".equalsIgnoreCase(fields.trim())) {
+            return true;
+        }
+        throw new BusinessException(ResultCode.BAD_REQUEST, "不支持的字段集: " + fields);
+    }
+
+    /**
+     * 展开分类条件：需要包含子孙分类时从分类树快照取出整棵子树
+     *
+     * @return 分类ID列表，未按分类查询时为 null
+     */
+    private List<Long> resolveCategoryIds(BookQuery query) {
+        if (query.getCategoryId() == null) {
+            return null;
+        }
+        if (Boolean.TRUE.equals(query.getIncludeDescendants())) {
+            return categoryTreeCache.get().subtreeIds(query.getCategoryId());
+        }
+        return List.of(query.getCategoryId());
+    }
+
+    /**
+     * 将列表查询条件转换为索引搜索条件
+     *
+     * @param limit 游标分页时的读取条数，页码分页时传 0 按页码计算
+     */
+    private BookSearchCriteria toSearchCriteria(BookQuery query, List<Long> categoryIds, int limit,
+                                                PageCursor after) {
+        long offset = limit > 0 ? 0 : (long) (query.getPageNum() - 1) * query.getPageSize();
+        return new BookSearchCriteria(query.getKeyword(), query.getAuthor(), query.getPublisher(),
+                categoryIds, query.getStatus(), Boolean.TRUE.equals(query.getHasStock()),
+                Math.max(offset, 0), limit > 0 ? limit : query.getPageSize(), after);
+    }
+
+    /**
+     * 从数据库加载图书详情（图书详情缓存未命中时调用）
+     */
+    private BookResponse loadBookDetail(Long id) {
+        BookResponse book = bookMapper.selectBookDetail(id);
+        setStatusDesc(book);
+        return book;
+    }
+
+    /**
+     * 按给定ID顺序加载图书
+     */
+    private List<BookResponse> loadInOrder(List<Long> ids, boolean detail) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, BookResponse> byId = bookMapper.selectBookResponsesByIds(ids, detail).stream()
+                .collect(Collectors.toMap(BookResponse::getId, Function.identity()));
+        List<BookResponse> records = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            BookResponse book = byId.get(id);
+            if (book != null) {
+                setStatusDesc(book);
+                records.add(book);
+            }
+        }
+        return records;
+    }
+
     /**
      * 设置状态描述
      */
@@ -1,9 +1,10 @@
 package com.library.book.service.impl;
 
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.library.book.category.CategoryTreeCache;
 import com.library.book.dto.CategoryRequest;
 import com.library.book.dto.CategoryResponse;
 import com.library.book.entity.Category;
+import com.library.book.event.CatalogChangedEvent;
 import com.library.book.mapper.BookMapper;
 import com.library.book.mapper.CategoryMapper;
 import com.library.book.service.CategoryService;
@@ -11,14 +12,12 @@ import com.library.common.exception.BusinessException;
 import com.library.common.result.ResultCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * 分类服务实现类
@@ -33,29 +32,18 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryMapper categoryMapper;
     private final BookMapper bookMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CategoryTreeCache categoryTreeCache;
 
     @Override
     public List<CategoryResponse> listCategoryTree() {
-        // 查询所有分类
-        LambdaQueryWrapper<Category> wrapper = new LambdaQueryWrapper<>();
-        wrapper.orderByAsc(Category::getSortOrder);
-        List<Category> categories = categoryMapper.selectList(wrapper);
-
-        // 转换为响应对象
-        List<CategoryResponse> allCategories = categories.stream()
-                .map(this::convertToResponse)
-                .toList();
-
-        // 构建树形结构
-        return buildTree(allCategories, 0L);
+        // 从分类树快照构建，不逐个分类查询图书数量和父分类
+        return categoryTreeCache.get().tree();
     }
 
     @Override
     public List<CategoryResponse> listAllCategories() {
-        List<Category> categories = categoryMapper.selectAllEnabled();
-        return categories.stream()
-                .map(this::convertToResponse)
-                .toList();
+        return categoryTreeCache.get().list(true);
     }
 
     @Override
@@ -97,6 +85,7 @@ public class CategoryServiceImpl implements CategoryService {
 
         categoryMapper.insert(category);
         log.info("新增分类成功，ID: {}, 名称: {}", category.getId(), category.getName());
+        eventPublisher.publishEvent(CatalogChangedEvent.category(category.getId()));
 
         return category.getId();
     }
@@ -121,6 +110,9 @@ public class CategoryServiceImpl implements CategoryService {
             if (Objects.equals(request.getParentId(), id)) {
                 throw new BusinessException(ResultCode.BAD_REQUEST, "父分类不能是自己");
             }
+            if (categoryTreeCache.get().inSubtree(id, request.getParentId())) {
+                throw new BusinessException(ResultCode.BAD_REQUEST, "父分类不能是自己的子分类");
+            }
             Category parent = categoryMapper.selectById(request.getParentId());
             if (parent == null || parent.getDeleted() == 1) {
                 throw new BusinessException(ResultCode.BAD_REQUEST, "父分类不存在");
@@ -140,6 +132,7 @@ public class CategoryServiceImpl implements CategoryService {
 
         categoryMapper.updateById(category);
         log.info("更新分类成功，ID: {}", id);
+        eventPublisher.publishEvent(CatalogChangedEvent.category(id));
     }
 
     @Override
@@ -165,6 +158,7 @@ public class CategoryServiceImpl implements CategoryService {
         // 逻辑删除
         categoryMapper.deleteById(id);
         log.info("删除分类成功，ID: {}", id);
+        eventPublisher.publishEvent(CatalogChangedEvent.category(id));
     }
 
     @Override
@@ -185,6 +179,7 @@ public class CategoryServiceImpl implements CategoryService {
                 .build();
         categoryMapper.updateById(updateCategory);
         log.info("更新分类状态成功，ID: {}, 状态: {}", id, status == 1 ? "启用" : "禁用");
+        eventPublisher.publishEvent(CatalogChangedEvent.category(id));
     }
 
     /**
@@ -218,24 +213,4 @@ public class CategoryServiceImpl implements CategoryService {
                 .updateTime(category.getUpdateTime())
                 .build();
     }
-
-    /**
-     * 构建树形结构
-     */
-    private List<CategoryResponse> buildTree(List<CategoryResponse> categories, Long parentId) {
-        // 按父ID分组
-        Map<Long, List<CategoryResponse>> parentMap = categories.stream()
-                .collect(Collectors.groupingBy(CategoryResponse::getParentId));
-
-        // 递归构建树
-        List<CategoryResponse> tree = new ArrayList<>();
-        List<CategoryResponse> children = parentMap.get(parentId);
-        if (children != null) {
-            for (CategoryResponse child : children) {
-                child.setChildren(buildTree(categories, child.getId()));
-                tree.add(child);
-            }
-        }
-        return tree;
-    }
-}
\ No newline at end of file
+}
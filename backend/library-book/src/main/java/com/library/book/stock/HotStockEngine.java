@@ -0,0 +1,431 @@
+package com.library.book.stock;
+
+import com.library.book.config.HotStockProperties;
+import com.library.book.entity.Book;
+import com.library.book.event.CatalogChangedEvent;
+import com.library.book.mapper.BookMapper;
+import com.library.common.exception.BusinessException;
+import com.library.common.result.ResultCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntSupplier;
+
+/**
+ * 热点图书库存预留引擎
+ *
+ * <p>同一本书被集中借阅时，逐个请求执行带条件的扣减语句会在同一行上排队等待行锁。本引擎：
+ * <ul>
+ *     <li>统计每本书同时在数据库上扣减库存的请求数，达到阈值后将其判定为热点图书</li>
+ *     <li>热点图书的可借数量保存在内存计数器中，借书请求通过 CAS 无锁预留，数量不足时直接拒绝，不访问数据库</li>
+ *     <li>预留进入队列，由单独的落库线程按固定间隔把同一本书的多个预留合并为一条带条件的扣减语句</li>
+ *     <li>借书请求在所属批次写入数据库后才返回成功，进程崩溃时未落库的预留都没有返回成功，
+ *     数据库中的库存始终是准确的；内存计数器只是准入闸门，定期和批量扣减失败时按数据库重新对齐</li>
+ *     <li>数据库扣减失败（其他实例或管理员减少了库存）时按到达顺序尽量满足，其余请求返回库存不足</li>
+ *     <li>一段时间没有借书请求后退出热点模式</li>
+ * </ul>
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class HotStockEngine {
+
+    private final HotStockProperties properties;
+    private final BookMapper bookMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 非热点图书正在数据库上扣减库存的请求数
+     */
+    private final Map<Long, AtomicInteger> dbConcurrency = new ConcurrentHashMap<>();
+
+    private final Map<Long, HotBook> hotBooks = new ConcurrentHashMap<>();
+
+    private final Counter granted;
+    private final Counter rejected;
+    private final Counter cancelled;
+    private final Counter flushes;
+
+    private volatile boolean running;
+    private volatile Thread flusher;
+
+    public HotStockEngine(HotStockProperties properties, BookMapper bookMapper,
+                          ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bookMapper = bookMapper;
+        this.eventPublisher = eventPublisher;
+        this.granted = reservationCounter(meterRegistry, "granted");
+        this.rejected = reservationCounter(meterRegistry, "rejected");
+        this.cancelled = reservationCounter(meterRegistry, "cancelled");
+        this.flushes = Counter.builder("book.hotstock.flushes")
+                .description("热点图书批量扣减的落库次数")
+                .register(meterRegistry);
+        Gauge.builder("book.hotstock.books", hotBooks, Map::size)
+                .description("当前处于热点模式的图书数")
+                .register(meterRegistry);
+    }
+
+    private static Counter reservationCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("book.hotstock.reservations")
+                .description("热点图书库存预留数")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 应用就绪后启动落库线程
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::runFlusher, "hot-stock-flusher");
+        thread.setDaemon(true);
+        thread.start();
+        flusher = thread;
+    }
+
+    /**
+     * 停止时写入队列中剩余的预留
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread thread = flusher;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(properties.getWaitTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        hotBooks.values().forEach(this::demote);
+    }
+
+    /**
+     * 借书扣减库存
+     *
+     * @param bookId   图书ID
+     * @param quantity 数量
+     * @param dbBorrow 非热点图书直接在数据库上扣减的方法，返回扣减后的可借库存
+     * @return 扣减后的可借库存
+     * @throws BusinessException 库存不足、图书不存在或系统繁忙
+     */
+    public Integer borrow(Long bookId, int quantity, IntSupplier dbBorrow) {
+        if (!running) {
+            return dbBorrow.getAsInt();
+        }
+        HotBook hot = hotBooks.get(bookId);
+        if (hot != null) {
+            return reserve(hot, quantity, dbBorrow);
+        }
+
+        AtomicInteger concurrency = dbConcurrency.computeIfAbsent(bookId, k -> new AtomicInteger());
+        try {
+            if (concurrency.incrementAndGet() >= properties.getPromoteConcurrency()) {
+                hot = promote(bookId);
+                if (hot != null) {
+                    return reserve(hot, quantity, dbBorrow);
+                }
+            }
+            return dbBorrow.getAsInt();
+        } finally {
+            if (concurrency.decrementAndGet() == 0) {
+                dbConcurrency.remove(bookId, concurrency);
+            }
+        }
+    }
+
+    /**
+     * 库存在数据库上直接发生变化（还书、入库、减库存、批量预留）的事务提交后同步调整内存计数，
+     * 事务回滚时不发生调整，避免内存计数与数据库偏离
+     *
+     * @param event 目录变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!event.stockOnly() || event.availableDelta() == 0) {
+            return;
+        }
+        HotBook hot = hotBooks.get(event.id());
+        if (hot != null) {
+            hot.available.addAndGet(event.availableDelta());
+        }
+    }
+
+    private HotBook promote(Long bookId) {
+        return hotBooks.computeIfAbsent(bookId, id -> {
+            Book stock = bookMapper.selectStockById(id);
+            if (stock == null) {
+                return null;
+            }
+            log.info("图书进入热点库存模式, bookId={}, 可借库存={}", id, stock.getAvailableStock());
+            return new HotBook(id, stock.getAvailableStock());
+        });
+    }
+
+    private Integer reserve(HotBook hot, int quantity, IntSupplier dbBorrow) {
+        hot.lastUsedNanos = System.nanoTime();
+        if (!hot.tryAcquire(quantity)) {
+            // 内存计数不足，交给落库线程按数据库重新对齐（还书可能已经补回库存）
+            hot.resyncRequested = true;
+            rejected.increment();
+            throw new BusinessException(ResultCode.BAD_REQUEST, "库存不足");
+        }
+
+        Reservation reservation = new Reservation(quantity);
+        hot.queuedUnits.addAndGet(quantity);
+        hot.queue.add(reservation);
+        if (!hot.active && reservation.cancel()) {
+            // 入队时恰好退出热点模式，改走数据库
+            hot.queuedUnits.addAndGet(-quantity);
+            return dbBorrow.getAsInt();
+        }
+        return await(hot, reservation);
+    }
+
+    private Integer await(HotBook hot, Reservation reservation) {
+        try {
+            try {
+                return reservation.result.get(properties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (reservation.cancel()) {
+                    hot.queuedUnits.addAndGet(-reservation.quantity);
+                    hot.available.addAndGet(reservation.quantity);
+                    cancelled.increment();
+                    throw new BusinessException(ResultCode.SERVICE_UNAVAILABLE, "系统繁忙，请稍后重试");
+                }
+                // 已被落库线程取走，等待这一批的结果
+                return reservation.result.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BusinessException businessException) {
+                throw businessException;
+            }
+            throw new BusinessException(ResultCode.INTERNAL_ERROR, "扣减库存失败");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ResultCode.SERVICE_UNAVAILABLE, "系统繁忙，请稍后重试");
+        }
+    }
+
+    private void runFlusher() {
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        long idleTimeoutNanos = properties.getIdleTimeout().toNanos();
+        while (running) {
+            long now = System.nanoTime();
+            for (HotBook hot : hotBooks.values()) {
+                try {
+                    flush(hot);
+                    if (hot.resyncRequested) {
+                        resync(hot);
+                    }
+                    if (now - hot.lastUsedNanos > idleTimeoutNanos && hot.queue.isEmpty()) {
+                        demote(hot);
+                    }
+                } catch (Exception e) {
+                    log.error("热点图书库存落库异常, bookId={}", hot.bookId, e);
+                }
+            }
+            LockSupport.parkNanos(flushIntervalNanos);
+        }
+    }
+
+    /**
+     * 取出一批预留，合并为一条扣减语句写入数据库
+     */
+    private void flush(HotBook hot) {
+        List<Reservation> batch = new ArrayList<>();
+        int units = 0;
+        Reservation reservation;
+        while (batch.size() < properties.getMaxBatchSize() && (reservation = hot.queue.poll()) != null) {
+            if (reservation.claim()) {
+                batch.add(reservation);
+                units += reservation.quantity;
+                hot.queuedUnits.addAndGet(-reservation.quantity);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            persist(hot, batch, units);
+        } catch (RuntimeException e) {
+            log.warn("热点图书批量扣减库存失败, bookId={}, 预留数={}: {}", hot.bookId, batch.size(), e.getMessage());
+            BusinessException failure = new BusinessException(ResultCode.INTERNAL_ERROR, "扣减库存失败");
+            batch.forEach(r -> r.result.completeExceptionally(failure));
+            hot.resyncRequested = true;
+        }
+    }
+
+    private void persist(HotBook hot, List<Reservation> batch, int units) {
+        flushes.increment();
+        if (bookMapper.decreaseAvailableStock(hot.bookId, units) == 1) {
+            complete(hot, batch, currentAvailable(hot.bookId));
+            return;
+        }
+
+        // 数据库可借库存少于内存计数（其他实例借出或管理员减少了库存），按到达顺序尽量满足
+        Book stock = bookMapper.selectStockById(hot.bookId);
+        if (stock == null) {
+            BusinessException notFound = new BusinessException(ResultCode.NOT_FOUND, "图书不存在");
+            batch.forEach(r -> r.result.completeExceptionally(notFound));
+            hot.resyncRequested = true;
+            return;
+        }
+        int available = stock.getAvailableStock();
+        List<Reservation> accepted = new ArrayList<>();
+        int acceptedUnits = 0;
+        BusinessException insufficient = new BusinessException(ResultCode.BAD_REQUEST, "库存不足");
+        for (Reservation r : batch) {
+            if (acceptedUnits + r.quantity <= available) {
+                accepted.add(r);
+                acceptedUnits += r.quantity;
+            } else {
+                r.result.completeExceptionally(insufficient);
+                rejected.increment();
+            }
+        }
+        if (!accepted.isEmpty() && bookMapper.decreaseAvailableStock(hot.bookId, acceptedUnits) == 1) {
+            complete(hot, accepted, currentAvailable(hot.bookId));
+        } else {
+            accepted.forEach(r -> r.result.completeExceptionally(insufficient));
+            rejected.increment(accepted.size());
+        }
+        hot.resyncRequested = true;
+    }
+
+    private void complete(HotBook hot, List<Reservation> batch, int available) {
+        batch.forEach(r -> r.result.complete(available));
+        granted.increment(batch.size());
+        eventPublisher.publishEvent(CatalogChangedEvent.stock(hot.bookId, available));
+    }
+
+    private int currentAvailable(Long bookId) {
+        Book stock = bookMapper.selectStockById(bookId);
+        return stock != null ? stock.getAvailableStock() : 0;
+    }
+
+    /**
+     * 按数据库重新对齐内存计数：数据库可借库存减去已预留但尚未落库的数量
+     */
+    private void resync(HotBook hot) {
+        hot.resyncRequested = false;
+        Book stock = bookMapper.selectStockById(hot.bookId);
+        if (stock == null) {
+            demote(hot);
+            return;
+        }
+        hot.available.set(stock.getAvailableStock() - hot.queuedUnits.get());
+    }
+
+    /**
+     * 退出热点模式：先标记，再写入队列中剩余的预留；标记之后入队的请求会自行撤销并改走数据库
+     */
+    private void demote(HotBook hot) {
+        hot.active = false;
+        flush(hot);
+        hotBooks.remove(hot.bookId, hot);
+        log.info("图书退出热点库存模式, bookId={}", hot.bookId);
+    }
+
+    /**
+     * 热点图书
+     */
+    private static final class HotBook {
+
+        private final Long bookId;
+
+        /**
+         * 内存中可预留的数量
+         */
+        private final AtomicInteger available;
+
+        /**
+         * 已预留、尚未被落库线程取走的数量
+         */
+        private final AtomicInteger queuedUnits = new AtomicInteger();
+
+        private final Queue<Reservation> queue = new ConcurrentLinkedQueue<>();
+
+        private volatile boolean active = true;
+        private volatile boolean resyncRequested;
+        private volatile long lastUsedNanos = System.nanoTime();
+
+        private HotBook(Long bookId, int available) {
+            this.bookId = bookId;
+            this.available = new AtomicInteger(available);
+        }
+
+        private boolean tryAcquire(int quantity) {
+            while (true) {
+                int current = available.get();
+                if (current < quantity) {
+                    return false;
+                }
+                if (available.compareAndSet(current, current - quantity)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * 一次库存预留
+     */
+    private static final class Reservation {
+
+        private static final int PENDING = 0;
+        private static final int CLAIMED = 1;
+        private static final int CANCELLED = 2;
+
+        private final int quantity;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        private Reservation(int quantity) {
+            this.quantity = quantity;
+        }
+
+        /**
+         * 落库线程取走
+         */
+        private boolean claim() {
+            return state.compareAndSet(PENDING, CLAIMED);
+        }
+
+        /**
+         * 请求方撤销（等待超时或已退出热点模式）
+         */
+        private boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED);
+        }
+    }
+}
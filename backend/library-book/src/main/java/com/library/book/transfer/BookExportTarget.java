@@ -0,0 +1,24 @@
+package com.library.book.transfer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 图书导出的输出目标
+ *
+ * <p>导出前的检查（并发上限、查询执行）都通过后才打开，打开前失败仍可返回普通的错误响应
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface BookExportTarget {
+
+    /**
+     * 打开输出流（设置响应头并返回响应体输出流）
+     *
+     * @return 输出流
+     * @throws IOException 打开失败
+     */
+    OutputStream open() throws IOException;
+}
@@ -0,0 +1,153 @@
+package com.library.book.transfer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.library.book.dto.BookResponse;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 图书导出逐行写入器
+ *
+ * <p>每行直接写入缓冲的输出流，不在内存中累积结果；缓冲区写满时才发送到客户端
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+public abstract class BookExportWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    protected final Writer writer;
+
+    protected BookExportWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * 创建写入器
+     *
+     * @param format       文件格式
+     * @param out          输出流，关闭写入器时一并关闭
+     * @param objectMapper NDJSON 序列化使用的 ObjectMapper
+     * @return 写入器
+     * @throws IOException 写入失败
+     */
+    public static BookExportWriter open(BookFileFormat format, OutputStream out, ObjectMapper objectMapper)
+            throws IOException {
+        return format == BookFileFormat.NDJSON ? new NdjsonWriter(out, objectMapper) : new CsvWriter(out);
+    }
+
+    /**
+     * 写入一本图书
+     *
+     * @param book 图书
+     * @throws IOException 写入失败（通常是客户端断开）
+     */
+    public abstract void write(BookResponse book) throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * CSV：UTF-8 BOM + 表头，列名与导入一致，导出文件可直接再导入
+     */
+    private static final class CsvWriter extends BookExportWriter {
+
+        private static final String HEADER = "id,isbn,title,author,publisher,publishDate,categoryId,categoryName,"
+                + "price,totalStock,availableStock,coverUrl,description,status,createTime";
+
+        private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+        private CsvWriter(OutputStream out) throws IOException {
+            super(out);
+            writer.write('\uFEFF');
+            writer.write(HEADER);
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(BookResponse book) throws IOException {
+            field(book.getId());
+            field(book.getIsbn());
+            field(book.getTitle());
+            field(book.getAuthor());
+            field(book.getPublisher());
+            field(book.getPublishDate());
+            field(book.getCategoryId());
+            field(book.getCategoryName());
+            field(book.getPrice() != null ? book.getPrice().toPlainString() : null);
+            field(book.getTotalStock());
+            field(book.getAvailableStock());
+            field(book.getCoverUrl());
+            field(book.getDescription());
+            field(book.getStatus());
+            writer.write(book.getCreateTime() != null ? DATE_TIME.format(book.getCreateTime()) : "");
+            writer.write("\r\n");
+        }
+
+        private void field(Object value) throws IOException {
+            if (value != null) {
+                String text = value.toString();
+                if (needsQuote(text)) {
+                    writer.write('"');
+                    writer.write(text.replace("\"", "\"\""));
+                    writer.write('"');
+                } else {
+                    writer.write(text);
+                }
+            }
+            writer.write(',');
+        }
+
+        private static boolean needsQuote(String text) {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * NDJSON：每行一个图书详情 JSON 对象
+     */
+    private static final class NdjsonWriter extends BookExportWriter {
+
+        private final JsonGenerator generator;
+        private final ObjectWriter objectWriter;
+
+        private NdjsonWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            super(out);
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.setRootValueSeparator(null);
+            // 逐行刷新会让每本图书单独发送一个分块，由缓冲区统一刷新
+            this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        public void write(BookResponse book) throws IOException {
+            objectWriter.writeValue(generator, book);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+            super.close();
+        }
+    }
+}
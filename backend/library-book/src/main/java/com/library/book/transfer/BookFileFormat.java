@@ -0,0 +1,46 @@
+package com.library.book.transfer;
+
+import com.library.common.exception.BusinessException;
+import com.library.common.result.ResultCode;
+
+import java.util.Locale;
+
+/**
+ * 图书导入导出文件格式
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+public enum BookFileFormat {
+
+    /**
+     * 逗号分隔，首行为表头，字段可用双引号包裹（RFC 4180）
+     */
+    CSV,
+
+    /**
+     * 每行一个 JSON 对象（导入时字段与新增图书请求一致）
+     */
+    NDJSON;
+
+    /**
+     * 解析文件格式：优先使用 format 参数，未指定时按请求的 Content-Type 判断，默认 CSV
+     *
+     * @param format      format 参数
+     * @param contentType 请求的 Content-Type，没有请求体时传 null
+     * @return 文件格式
+     */
+    public static BookFileFormat resolve(String format, String contentType) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException(ResultCode.BAD_REQUEST, "不支持的文件格式: " + format);
+            }
+        }
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).contains("json")) {
+            return NDJSON;
+        }
+        return CSV;
+    }
+}
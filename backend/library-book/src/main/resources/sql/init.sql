@@ -57,11 +57,52 @@ CREATE TABLE `t_book` (
     KEY `idx_author` (`author`),
     KEY `idx_category_id` (`category_id`),
     KEY `idx_status` (`status`),
-    KEY `idx_create_time` (`create_time`)
+    KEY `idx_create_time` (`create_time`),
+    KEY `idx_deleted_create_time` (`deleted`, `create_time`),
+    KEY `idx_deleted_status_create_time` (`deleted`, `status`, `create_time`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='图书表';
 
 -- =====================================================
--- 3. 初始化分类数据
+-- 3. 图书发件箱表（与图书变更同一事务写入，由后台中继批量同步到借阅服务）
+-- =====================================================
+DROP TABLE IF EXISTS `t_book_outbox`;
+CREATE TABLE `t_book_outbox` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '事件ID（投递顺序）',
+    `event_type` VARCHAR(32) NOT NULL COMMENT '事件类型：TITLE_CHANGED-书名变更',
+    `book_id` BIGINT NOT NULL COMMENT '图书ID',
+    `payload` VARCHAR(200) NOT NULL COMMENT '事件内容（书名变更为新书名）',
+    `attempts` INT NOT NULL DEFAULT 0 COMMENT '失败投递次数',
+    `locked_by` VARCHAR(64) DEFAULT NULL COMMENT '正在投递的中继实例',
+    `locked_until` DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '投递租约或重试等待截止时间，之前不可被领取',
+    `last_error` VARCHAR(500) DEFAULT NULL COMMENT '最近一次投递失败原因',
+    `create_time` DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '创建时间',
+    PRIMARY KEY (`id`),
+    KEY `idx_locked_until_book_id` (`locked_until`, `book_id`),
+    KEY `idx_locked_by` (`locked_by`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='图书发件箱表';
+
+-- =====================================================
+-- 4. 图书导入任务表（导入线程每提交一批更新一次进度，任一实例都可查询）
+-- =====================================================
+DROP TABLE IF EXISTS `t_book_import`;
+CREATE TABLE `t_book_import` (
+    `import_id` VARCHAR(32) NOT NULL COMMENT '导入任务ID',
+    `format` VARCHAR(16) NOT NULL COMMENT '文件格式：CSV、NDJSON',
+    `status` VARCHAR(16) NOT NULL COMMENT '任务状态：PENDING-排队中，RUNNING-导入中，COMPLETED-已完成，FAILED-异常终止',
+    `processed_rows` BIGINT NOT NULL DEFAULT 0 COMMENT '已处理的数据行数',
+    `success_rows` BIGINT NOT NULL DEFAULT 0 COMMENT '导入成功的行数',
+    `failed_rows` BIGINT NOT NULL DEFAULT 0 COMMENT '导入失败的行数',
+    `message` VARCHAR(500) DEFAULT NULL COMMENT '任务异常终止的原因',
+    `errors` MEDIUMTEXT DEFAULT NULL COMMENT '失败行明细（JSON数组）',
+    `submit_time` DATETIME NOT NULL COMMENT '提交时间',
+    `finish_time` DATETIME DEFAULT NULL COMMENT '完成时间',
+    `update_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (`import_id`),
+    KEY `idx_finish_time` (`finish_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='图书导入任务表';
+
+-- =====================================================
+-- 5. 初始化分类数据
 -- =====================================================
 INSERT INTO `t_category` (`name`, `code`, `parent_id`, `sort_order`, `description`, `status`) VALUES
 -- 一级分类
@@ -96,7 +137,7 @@ INSERT INTO `t_category` (`name`, `code`, `parent_id`, `sort_order`, `descriptio
 ('人工智能', 'AI', 13, 4, '人工智能类图书', 1);
 
 -- =====================================================
--- 4. 初始化图书数据（示例）
+-- 6. 初始化图书数据（示例）
 -- =====================================================
 INSERT INTO `t_book` (`isbn`, `title`, `author`, `publisher`, `publish_date`, `category_id`, `price`, `total_stock`, `available_stock`, `description`, `status`) VALUES
 -- 编程语言类
@@ -127,7 +168,7 @@ INSERT INTO `t_book` (`isbn`, `title`, `author`, `publisher`, `publish_date`, `c
 ('978-7-5086-5008-6', '创新者的窘境', 'Clayton M. Christensen', '中信出版社', '2014-01-01', 6, 48.00, 6, 6, '管理学经典著作，讲述创新与管理的关系。', 1);
 
 -- =====================================================
--- 5. 创建索引优化查询
+-- 7. 创建索引优化查询
 -- =====================================================
 
 -- 图书表复合索引
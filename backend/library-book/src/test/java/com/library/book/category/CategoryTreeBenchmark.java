@@ -0,0 +1,128 @@
+package com.library.book.category;
+
+import com.library.book.entity.Category;
+import com.library.book.search.BookDocument;
+import com.library.book.search.BookSearchCriteria;
+import com.library.book.search.BookSearchIndex;
+import com.library.book.search.BookSearchResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 分类子树筛选基准（手动运行，不参与单元测试）
+ *
+ * <p>构造 5 层分类树（每层子节点数 6 / 6 / 6 / 3 / 3，共 2,850 个节点）和按分类随机分布的图书索引，
+ * 测量分类树快照构建、顶层子树展开以及索引按子树查询首页的耗时。
+ * 在 library-book 目录下执行 {@code mvn test-compile} 后运行：
+ * <pre>
+ * java -cp target/classes:target/test-classes:$(依赖类路径) com.library.book.category.CategoryTreeBenchmark [图书数]
+ * </pre>
+ * 图书数默认 200,000
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+public class CategoryTreeBenchmark {
+
+    /**
+     * 每层的子节点数
+     */
+    private static final int[] FAN_OUT = {6, 6, 6, 3, 3};
+
+    private static final int WARMUP_ROUNDS = 3;
+
+    public static void main(String[] args) {
+        int bookCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        List<Category> categories = buildTaxonomy();
+        List<CategoryBookCount> counts = new ArrayList<>(categories.size());
+        for (Category category : categories) {
+            counts.add(new CategoryBookCount(category.getId(), 100L));
+        }
+        System.out.printf("分类节点数: %d, 层数: %d%n", categories.size(), FAN_OUT.length);
+
+        CategoryTreeSnapshot snapshot = null;
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < 100; i++) {
+                snapshot = CategoryTreeSnapshot.build(categories, counts);
+            }
+            report(round, "快照构建", (System.nanoTime() - start) / 100);
+        }
+
+        List<Long> subtree = snapshot.subtreeIds(1L);
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            long start = System.nanoTime();
+            int total = 0;
+            for (int i = 0; i < 10_000; i++) {
+                total += snapshot.subtreeIds(1L).size();
+            }
+            report(round, "顶层子树展开(" + subtree.size() + " 个分类)", (System.nanoTime() - start) / 10_000);
+            if (total != subtree.size() * 10_000) {
+                throw new IllegalStateException("子树大小不一致");
+            }
+        }
+
+        BookSearchIndex index = buildIndex(bookCount, categories.size());
+        BookSearchCriteria criteria = new BookSearchCriteria(null, null, null, subtree, 1, false, 0, 20, null);
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            long start = System.nanoTime();
+            BookSearchResult result = null;
+            for (int i = 0; i < 50; i++) {
+                result = index.search(criteria);
+            }
+            report(round, "索引子树查询首页(命中 " + result.total() + ")", (System.nanoTime() - start) / 50);
+        }
+    }
+
+    /**
+     * 按 {@link #FAN_OUT} 逐层生成分类，ID 从 1 开始按层分配
+     */
+    private static List<Category> buildTaxonomy() {
+        List<Category> categories = new ArrayList<>();
+        List<Long> level = List.of(0L);
+        long nextId = 1;
+        for (int fanOut : FAN_OUT) {
+            List<Long> children = new ArrayList<>();
+            for (Long parentId : level) {
+                for (int k = 0; k < fanOut; k++) {
+                    Category category = new Category();
+                    category.setId(nextId);
+                    category.setParentId(parentId);
+                    category.setName("分类" + nextId);
+                    category.setSortOrder(k);
+                    category.setStatus(1);
+                    categories.add(category);
+                    children.add(nextId++);
+                }
+            }
+            level = children;
+        }
+        return categories;
+    }
+
+    /**
+     * 图书随机分布到各分类（固定随机种子，结果可复现）
+     */
+    private static BookSearchIndex buildIndex(int bookCount, int categoryCount) {
+        long start = System.nanoTime();
+        BookSearchIndex index = new BookSearchIndex();
+        Random random = new Random(1);
+        for (int id = 1; id <= bookCount; id++) {
+            long categoryId = 1 + random.nextInt(categoryCount);
+            index.upsert(new BookDocument(id, "书名" + id, "作者", "出版社", "isbn" + id, categoryId, 1, true, id));
+        }
+        index.compact();
+        System.out.printf("索引图书数: %d, 构建耗时: %dms%n", index.size(), (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+
+    private static void report(int round, String name, long nanos) {
+        if (round < WARMUP_ROUNDS) {
+            return;
+        }
+        System.out.printf("%s: %.1fus%n", name, nanos / 1000.0);
+    }
+}
@@ -0,0 +1,117 @@
+package com.library.book.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.common.result.PageResult;
+import com.library.common.result.Result;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * 图书列表字段集基准（手动运行，不参与单元测试）
+ *
+ * <p>按 application.yml 中的 Jackson 配置（non_null、日期格式、时区）序列化 20 条记录的列表页，
+ * 比较 fields=summary（不含封面URL和简介）与 fields=detail 在简介长度为 300 / 1000 / 2000 字时的
+ * 响应体大小和序列化耗时。
+ * 只测量服务端序列化与网络传输量，不包含数据库查询耗时（两种字段集的 SQL 差异在于是否读取
+ * TEXT 类型的 description 列，需要在真实 MySQL 上用 EXPLAIN ANALYZE 另行测量）。
+ * 在 library-book 目录下执行 {@code mvn test-compile} 后运行：
+ * <pre>
+ * java -cp target/classes:target/test-classes:$(依赖类路径) com.library.book.dto.BookListPayloadBenchmark
+ * </pre>
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+public class BookListPayloadBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int[] DESCRIPTION_LENGTHS = {300, 1000, 2000};
+
+    private static final int WARMUP_ROUNDS = 3;
+
+    private static final int ITERATIONS = 20_000;
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .dateFormat(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss"))
+                .timeZone(TimeZone.getTimeZone("Asia/Shanghai"))
+                .build();
+
+        for (int length : DESCRIPTION_LENGTHS) {
+            Result<PageResult<BookResponse>> detail = page(length, true);
+            Result<PageResult<BookResponse>> summary = page(length, false);
+            int detailBytes = objectMapper.writeValueAsBytes(detail).length;
+            int summaryBytes = objectMapper.writeValueAsBytes(summary).length;
+
+            double detailMicros = 0;
+            double summaryMicros = 0;
+            long sink = 0;
+            for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    sink += objectMapper.writeValueAsBytes(detail).length;
+                }
+                long middle = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    sink += objectMapper.writeValueAsBytes(summary).length;
+                }
+                detailMicros = (middle - start) / 1000.0 / ITERATIONS;
+                summaryMicros = (System.nanoTime() - middle) / 1000.0 / ITERATIONS;
+            }
+            System.out.printf("简介 %4d 字: detail %6.1fKB %6.1fus  summary %5.1fKB %5.1fus  (体积 -%.0f%%, sink=%d)%n",
+                    length, detailBytes / 1024.0, detailMicros, summaryBytes / 1024.0, summaryMicros,
+                    100.0 * (detailBytes - summaryBytes) / detailBytes, sink);
+        }
+    }
+
+    /**
+     * 构造一页列表响应；summary 不填充封面URL和简介，与 BookSummaryColumns 查询结果一致
+     */
+    private static Result<PageResult<BookResponse>> page(int descriptionLength, boolean detail) {
+        List<BookResponse> records = new ArrayList<>(PAGE_SIZE);
+        LocalDateTime createTime = LocalDateTime.of(2024, 1, 1, 8, 0, 0);
+        for (int i = 1; i <= PAGE_SIZE; i++) {
+            BookResponse.BookResponseBuilder builder = BookResponse.builder()
+                    .id((long) i)
+                    .isbn("97871115" + String.format("%05d", i))
+                    .title("深入理解Java虚拟机（第" + i + "版）")
+                    .author("周志明")
+                    .publisher("机械工业出版社")
+                    .publishDate(LocalDate.of(2019, 12, 1))
+                    .categoryId(3L)
+                    .categoryName("计算机科学")
+                    .price(new BigDecimal("129.00"))
+                    .totalStock(10)
+                    .availableStock(7)
+                    .status(1)
+                    .statusDesc("上架")
+                    .createTime(createTime.plusMinutes(i))
+                    .updateTime(createTime.plusMinutes(i));
+            if (detail) {
+                builder.coverUrl("https://static.library.example.com/covers/" + i + ".jpg")
+                        .description(description(descriptionLength, i));
+            }
+            records.add(builder.build());
+        }
+        return Result.success(PageResult.of(records, 1000L, 1, PAGE_SIZE));
+    }
+
+    private static String description(int length, int seed) {
+        String text = "本书从Java虚拟机的内存管理、执行子系统、程序编译与优化、高效并发等方面展开讲解。";
+        StringBuilder description = new StringBuilder(length);
+        while (description.length() < length) {
+            description.append(text).append(seed);
+        }
+        return description.substring(0, length);
+    }
+}
@@ -1,7 +1,10 @@
 package com.library.borrow.config;
 
 import com.library.borrow.feign.AuthClient;
+import com.library.common.config.IdentityProperties;
+import com.library.common.dto.UserInfo;
 import com.library.common.exception.BusinessException;
+import com.library.common.interceptor.UserContextHolder;
 import com.library.common.result.Result;
 import com.library.common.result.ResultCode;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,6 +27,7 @@ import org.springframework.web.servlet.HandlerInterceptor;
 public class AuthInterceptor implements HandlerInterceptor {
 
     private final AuthClient authClient;
+    private final IdentityProperties identityProperties;
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
@@ -35,6 +39,15 @@ public class AuthInterceptor implements HandlerInterceptor {
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 优先使用网关签名身份（由 TrustedIdentityInterceptor 本地验签）
+        UserInfo trustedUser = UserContextHolder.getUser();
+        if (trustedUser != null && !identityProperties.isRevocationCheck()) {
+            CURRENT_USER.set(new AuthClient.AuthUserInfo(
+                    trustedUser.getUserId(), trustedUser.getUsername(), trustedUser.getRole()));
+            log.debug("用户 {} 签名身份验证通过，角色: {}", trustedUser.getUsername(), trustedUser.getRole());
+            return true;
+        }
+
         // 获取 Token
         String token = extractToken(request);
 
@@ -12,6 +12,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * 借阅管理 Controller
  *
@@ -40,6 +42,22 @@ public class BorrowController {
         return Result.success("借书成功", borrowId);
     }
 
+    /**
+     * 批量借书（一次借阅多本书，每本借一册）
+     *
+     * @param request 批量借阅请求
+     * @return 逐本借阅结果
+     */
+    @PostMapping("/borrow/batch")
+    public Result<List<BatchBorrowResult>> borrowBooks(@Valid @RequestBody BatchBorrowRequest request) {
+        Long userId = AuthInterceptor.getCurrentUserId();
+        String username = AuthInterceptor.getCurrentUsername();
+
+        List<BatchBorrowResult> results = borrowService.borrowBooks(userId, username, request);
+        long borrowed = results.stream().filter(BatchBorrowResult::getSuccess).count();
+        return Result.success(String.format("成功借阅%d本，共%d本", borrowed, results.size()), results);
+    }
+
     /**
      * 还书
      *
@@ -54,6 +72,23 @@ public class BorrowController {
         return Result.success("还书成功");
     }
 
+    /**
+     * 批量还书（管理员处理还书箱）
+     *
+     * @param request 批量还书请求
+     * @return 逐条归还结果
+     */
+    @PostMapping("/return/batch")
+    public Result<List<BatchReturnResult>> returnBooks(@Valid @RequestBody BatchReturnRequest request) {
+        if (!AuthInterceptor.isAdmin()) {
+            throw new BusinessException(ResultCode.FORBIDDEN, "需要管理员权限");
+        }
+
+        List<BatchReturnResult> results = borrowService.returnBooks(request);
+        long returned = results.stream().filter(BatchReturnResult::getSuccess).count();
+        return Result.success(String.format("成功归还%d条，共%d条", returned, results.size()), results);
+    }
+
     /**
      * 续借
      *
@@ -204,7 +239,7 @@ public class BorrowController {
     }
 
     /**
-     * 更新借阅记录中的图书信息（内部接口，由图书服务调用）
+     * 更新借阅记录中的图书信息（内部接口，图书服务已改用批量接口，保留供滚动升级期间的旧实例调用）
      *
      * @param bookId 图书ID
      * @param title 新书名
@@ -218,4 +253,16 @@ public class BorrowController {
         log.info("更新图书ID: {} 的借阅记录书名，共 {} 条记录", bookId, count);
         return Result.success(count);
     }
-}
\ No newline at end of file
+
+    /**
+     * 批量更新借阅记录中的图书书名（内部接口，由图书服务发件箱中继调用）
+     *
+     * @param changes 书名变更，每本图书最多一条
+     * @return 更新的记录数
+     */
+    @PostMapping("/internal/borrow/book/titles")
+    public Result<Integer> updateBookTitles(@RequestBody List<BookTitleChange> changes) {
+        int count = borrowService.updateBookTitles(changes);
+        return Result.success(count);
+    }
+}
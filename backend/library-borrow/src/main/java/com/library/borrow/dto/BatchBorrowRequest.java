@@ -0,0 +1,48 @@
+package com.library.borrow.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量借书请求DTO（一次借阅多本书，每本借一册）
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBorrowRequest {
+
+    /**
+     * 图书ID列表（重复的ID只借一次）
+     */
+    @NotEmpty(message = "图书ID列表不能为空")
+    @Size(max = 20, message = "单次最多借阅20本图书")
+    private List<@NotNull(message = "图书ID不能为空") Long> bookIds;
+
+    /**
+     * 是否整单借阅：true-任意一本无法借阅则全部不借（默认），false-能借的先借，逐本返回结果
+     */
+    @Builder.Default
+    private Boolean allOrNothing = true;
+
+    /**
+     * 借阅天数（默认30天）
+     */
+    @Builder.Default
+    private Integer borrowDays = 30;
+
+    /**
+     * 备注
+     */
+    private String remark;
+}
@@ -0,0 +1,44 @@
+package com.library.borrow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量借书逐本结果DTO
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBorrowResult {
+
+    /**
+     * 图书ID
+     */
+    private Long bookId;
+
+    /**
+     * 书名（图书不存在时为 null）
+     */
+    private String bookTitle;
+
+    /**
+     * 是否借阅成功
+     */
+    private Boolean success;
+
+    /**
+     * 借阅记录ID（借阅成功时返回）
+     */
+    private Long borrowId;
+
+    /**
+     * 借阅失败的原因
+     */
+    private String message;
+}
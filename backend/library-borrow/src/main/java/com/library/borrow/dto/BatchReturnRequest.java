@@ -0,0 +1,36 @@
+package com.library.borrow.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量还书请求DTO（管理员处理还书箱）
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchReturnRequest {
+
+    /**
+     * 借阅记录ID列表（重复的ID只处理一次）
+     */
+    @NotEmpty(message = "借阅记录ID列表不能为空")
+    @Size(max = 500, message = "单次最多归还500条借阅记录")
+    private List<@NotNull(message = "借阅记录ID不能为空") Long> borrowIds;
+
+    /**
+     * 备注（为空时保留原备注）
+     */
+    private String remark;
+}
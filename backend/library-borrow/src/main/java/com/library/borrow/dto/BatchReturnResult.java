@@ -0,0 +1,49 @@
+package com.library.borrow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量还书逐条结果DTO
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchReturnResult {
+
+    /**
+     * 借阅记录ID
+     */
+    private Long borrowId;
+
+    /**
+     * 图书ID（借阅记录不存在时为 null）
+     */
+    private Long bookId;
+
+    /**
+     * 书名
+     */
+    private String bookTitle;
+
+    /**
+     * 借阅用户名
+     */
+    private String username;
+
+    /**
+     * 是否归还成功
+     */
+    private Boolean success;
+
+    /**
+     * 归还失败的原因
+     */
+    private String message;
+}
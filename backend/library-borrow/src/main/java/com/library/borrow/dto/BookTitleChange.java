@@ -0,0 +1,33 @@
+package com.library.borrow.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 书名变更DTO（图书服务发件箱批量同步）
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookTitleChange {
+
+    /**
+     * 图书ID
+     */
+    @NotNull(message = "图书ID不能为空")
+    private Long bookId;
+
+    /**
+     * 新书名
+     */
+    @NotBlank(message = "书名不能为空")
+    private String title;
+}
@@ -54,6 +54,16 @@ public class BorrowQuery {
      */
     private Boolean overdueOnly;
 
+    /**
+     * 游标（游标分页模式）：传入上一页返回的 nextCursor，传空字符串请求第一页；为 null 时使用页码分页
+     */
+    private String cursor;
+
+    /**
+     * 游标分页模式下是否统计总数（默认不统计）
+     */
+    private Boolean withTotal;
+
     /**
      * 当前页码（从1开始）
      */
@@ -6,10 +6,13 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 图书服务 Feign 客户端（带熔断保护）
@@ -31,26 +34,36 @@ public interface BookClient {
     Result<BookInfo> getBookById(@PathVariable("id") Long id);
 
     /**
-     * 检查库存是否充足
+     * 按ID批量查询图书简要信息及可借库存
      *
-     * @param bookId   图书ID
-     * @param quantity 需要的数量
-     * @return true-充足，false-不足
+     * @param ids 图书ID列表，单次最多100个
+     * @return 与请求顺序一致的图书简要信息，不存在的图书 found 为 false
      */
-    @GetMapping("/books/{bookId}/stock/check")
-    @CircuitBreaker(name = "bookService", fallbackMethod = "checkStockFallback")
-    Result<Boolean> checkStock(@PathVariable("bookId") Long bookId, @RequestParam("quantity") Integer quantity);
+    @GetMapping("/books/batch")
+    @CircuitBreaker(name = "bookService", fallbackMethod = "getBooksByIdsFallback")
+    Result<List<BookBrief>> getBooksByIds(@RequestParam("ids") Collection<Long> ids);
 
     /**
-     * 借书时减少库存
+     * 借书预留库存：在图书服务的一个事务内校验上架状态、扣减可借库存并返回图书快照
      *
      * @param bookId   图书ID
      * @param quantity 数量
-     * @return 操作后的可用库存
+     * @return 图书快照及预留后的可借库存
      */
-    @PostMapping("/books/{bookId}/stock/borrow")
-    @CircuitBreaker(name = "bookService", fallbackMethod = "borrowStockFallback")
-    Result<Integer> borrowStock(@PathVariable("bookId") Long bookId, @RequestParam("quantity") Integer quantity);
+    @PostMapping("/books/{bookId}/reservations")
+    @CircuitBreaker(name = "bookService", fallbackMethod = "reserveForBorrowFallback")
+    Result<BookReservation> reserveForBorrow(@PathVariable("bookId") Long bookId,
+                                             @RequestParam("quantity") Integer quantity);
+
+    /**
+     * 批量借书预留库存：在图书服务的一个事务内锁定、校验并扣减全部图书
+     *
+     * @param request 预留明细及预留模式
+     * @return 与请求顺序一致的逐本预留结果
+     */
+    @PostMapping("/books/reservations")
+    @CircuitBreaker(name = "bookService", fallbackMethod = "reserveForBorrowBatchFallback")
+    Result<List<BookReservation>> reserveForBorrowBatch(@RequestBody BatchReservation request);
 
     /**
      * 还书时增加库存
@@ -84,4 +97,51 @@ public interface BookClient {
             String statusDesc
     ) {
     }
+
+    /**
+     * 图书简要信息
+     */
+    record BookBrief(
+            Long id,
+            Boolean found,
+            String isbn,
+            String title,
+            String author,
+            String coverUrl,
+            Integer availableStock,
+            Integer status
+    ) {
+    }
+
+    /**
+     * 借书库存预留结果
+     */
+    record BookReservation(
+            Long bookId,
+            String isbn,
+            String title,
+            Integer quantity,
+            Integer availableStock,
+            Boolean reserved,
+            String message
+    ) {
+    }
+
+    /**
+     * 批量借书预留请求
+     */
+    record BatchReservation(
+            List<ReservationItem> items,
+            Boolean allOrNothing
+    ) {
+    }
+
+    /**
+     * 批量借书预留明细
+     */
+    record ReservationItem(
+            Long bookId,
+            Integer quantity
+    ) {
+    }
 }
\ No newline at end of file
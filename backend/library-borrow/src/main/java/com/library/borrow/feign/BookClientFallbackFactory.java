@@ -6,6 +6,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.openfeign.FallbackFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * 图书服务 Feign 客户端降级工厂（Resilience4j 熔断保护）
  *
@@ -28,14 +31,20 @@ public class BookClientFallbackFactory implements FallbackFactory<BookClient> {
             }
 
             @Override
-            public Result<Boolean> checkStock(Long bookId, Integer quantity) {
-                log.error("检查库存失败，图书ID: {}, 原因: {}", bookId, cause.getMessage());
-                return Result.fail(ResultCode.SERVICE_UNAVAILABLE, "图书服务暂不可用，无法检查库存");
+            public Result<List<BookBrief>> getBooksByIds(Collection<Long> ids) {
+                log.error("批量获取图书信息失败，图书ID: {}, 原因: {}", ids, cause.getMessage());
+                return Result.fail(ResultCode.SERVICE_UNAVAILABLE, "图书服务暂不可用，请稍后重试");
+            }
+
+            @Override
+            public Result<BookReservation> reserveForBorrow(Long bookId, Integer quantity) {
+                log.error("借书预留库存失败，图书ID: {}, 原因: {}", bookId, cause.getMessage());
+                return Result.fail(ResultCode.SERVICE_UNAVAILABLE, "图书服务暂不可用，借书操作失败");
             }
 
             @Override
-            public Result<Integer> borrowStock(Long bookId, Integer quantity) {
-                log.error("借书减库存失败，图书ID: {}, 原因: {}", bookId, cause.getMessage());
+            public Result<List<BookReservation>> reserveForBorrowBatch(BatchReservation request) {
+                log.error("批量借书预留库存失败，图书数: {}, 原因: {}", request.items().size(), cause.getMessage());
                 return Result.fail(ResultCode.SERVICE_UNAVAILABLE, "图书服务暂不可用，借书操作失败");
             }
 
@@ -3,14 +3,20 @@ package com.library.borrow.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.library.borrow.dto.BookTitleChange;
 import com.library.borrow.dto.BorrowQuery;
 import com.library.borrow.dto.BorrowRecordResponse;
 import com.library.borrow.entity.BorrowRecord;
+import com.library.common.result.PageCursor;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -31,6 +37,26 @@ public interface BorrowRecordMapper extends BaseMapper<BorrowRecord> {
      */
     IPage<BorrowRecordResponse> selectBorrowPage(Page<BorrowRecordResponse> page, @Param("query") BorrowQuery query);
 
+    /**
+     * 游标分页查询借阅记录，按创建时间、ID倒序
+     *
+     * @param query  查询条件
+     * @param cursor 上一页最后一条记录，第一页为 null
+     * @param limit  返回的记录数
+     * @return 借阅记录列表
+     */
+    List<BorrowRecordResponse> selectBorrowCursorPage(@Param("query") BorrowQuery query,
+                                                      @Param("cursor") PageCursor cursor,
+                                                      @Param("limit") int limit);
+
+    /**
+     * 查询借阅记录总数
+     *
+     * @param query 查询条件
+     * @return 总数
+     */
+    Long countBorrowRecords(@Param("query") BorrowQuery query);
+
     /**
      * 查询用户正在借阅的某本书的记录
      *
@@ -42,6 +68,20 @@ public interface BorrowRecordMapper extends BaseMapper<BorrowRecord> {
             "AND status IN (0, 2, 3) AND deleted = 0")
     List<BorrowRecord> selectBorrowingByUserAndBook(@Param("userId") Long userId, @Param("bookId") Long bookId);
 
+    /**
+     * 查询用户在给定图书中借阅中的图书ID（批量借书时一次检查重复借阅）
+     *
+     * @param userId  用户ID
+     * @param bookIds 图书ID列表
+     * @return 借阅中的图书ID
+     */
+    @Select("<script>" +
+            "SELECT DISTINCT book_id FROM t_borrow_record WHERE user_id = #{userId} AND book_id IN " +
+            "<foreach collection='bookIds' item='bookId' open='(' separator=',' close=')'>#{bookId}</foreach> " +
+            "AND status IN (0, 2, 3) AND deleted = 0" +
+            "</script>")
+    List<Long> selectBorrowingBookIds(@Param("userId") Long userId, @Param("bookIds") Collection<Long> bookIds);
+
     /**
      * 查询用户所有借阅中的记录数量
      *
@@ -52,6 +92,98 @@ public interface BorrowRecordMapper extends BaseMapper<BorrowRecord> {
             "AND status IN (0, 2, 3) AND deleted = 0")
     int countBorrowingByUser(@Param("userId") Long userId);
 
+    /**
+     * 批量写入借阅记录（一条多行插入语句，自增ID回填到每条记录）
+     *
+     * @param records 借阅记录
+     * @return 影响行数
+     */
+    @Insert("<script>" +
+            "INSERT INTO t_borrow_record (user_id, username, book_id, book_isbn, book_title, quantity, " +
+            "borrow_time, due_time, status, renew_count, remark, deleted) VALUES " +
+            "<foreach collection='records' item='r' separator=','>" +
+            "(#{r.userId}, #{r.username}, #{r.bookId}, #{r.bookIsbn}, #{r.bookTitle}, #{r.quantity}, " +
+            "#{r.borrowTime}, #{r.dueTime}, #{r.status}, #{r.renewCount}, #{r.remark}, #{r.deleted})" +
+            "</foreach>" +
+            "</script>")
+    @Options(useGeneratedKeys = true, keyProperty = "id")
+    int insertBatch(@Param("records") List<BorrowRecord> records);
+
+    /**
+     * 标记为已归还（仅未归还的记录生效，并发重复还书时只有一个请求成功）
+     *
+     * @param id         借阅记录ID
+     * @param returnTime 归还时间
+     * @param remark     备注，为 null 时保留原备注
+     * @return 影响行数
+     */
+    @Update("<script>" +
+            "UPDATE t_borrow_record SET status = 1, return_time = #{returnTime}, " +
+            "<if test='remark != null'>remark = #{remark}, </if>" +
+            "update_time = NOW() " +
+            "WHERE id = #{id} AND status IN (0, 2, 3) AND deleted = 0" +
+            "</script>")
+    int markReturned(@Param("id") Long id, @Param("returnTime") LocalDateTime returnTime,
+                     @Param("remark") String remark);
+
+    /**
+     * 按主键顺序锁定并读取借阅记录（批量还书时调用，需在事务内执行）
+     *
+     * @param ids 借阅记录ID列表
+     * @return 借阅记录，不存在或已删除的记录不返回
+     */
+    @Select("<script>" +
+            "SELECT * FROM t_borrow_record WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach> " +
+            "AND deleted = 0 ORDER BY id FOR UPDATE" +
+            "</script>")
+    List<BorrowRecord> selectByIdsForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 批量标记为已归还（一条语句，仅未归还的记录生效）
+     *
+     * @param ids        借阅记录ID列表
+     * @param returnTime 归还时间
+     * @param remark     备注，为 null 时保留原备注
+     * @return 影响行数
+     */
+    @Update("<script>" +
+            "UPDATE t_borrow_record SET status = 1, return_time = #{returnTime}, " +
+            "<if test='remark != null'>remark = #{remark}, </if>" +
+            "update_time = NOW() " +
+            "WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach> " +
+            "AND status IN (0, 2, 3) AND deleted = 0" +
+            "</script>")
+    int markReturnedBatch(@Param("ids") Collection<Long> ids, @Param("returnTime") LocalDateTime returnTime,
+                          @Param("remark") String remark);
+
+    /**
+     * 撤销归还（归还库存失败时补偿），恢复归还前的状态和备注
+     *
+     * @param id     借阅记录ID
+     * @param status 归还前的状态
+     * @param remark 归还前的备注
+     * @return 影响行数
+     */
+    @Update("UPDATE t_borrow_record SET status = #{status}, return_time = NULL, remark = #{remark}, " +
+            "update_time = NOW() " +
+            "WHERE id = #{id} AND status = 1 AND deleted = 0")
+    int revertReturned(@Param("id") Long id, @Param("status") Integer status, @Param("remark") String remark);
+
+    /**
+     * 续借（续借次数未被并发修改且未归还时生效）
+     *
+     * @param id         借阅记录ID
+     * @param dueTime    新的到期时间
+     * @param renewCount 读取时的续借次数
+     * @return 影响行数
+     */
+    @Update("UPDATE t_borrow_record SET due_time = #{dueTime}, status = 0, renew_count = renew_count + 1, " +
+            "update_time = NOW() " +
+            "WHERE id = #{id} AND renew_count = #{renewCount} AND status <> 1 AND deleted = 0")
+    int renew(@Param("id") Long id, @Param("dueTime") LocalDateTime dueTime, @Param("renewCount") Integer renewCount);
+
     /**
      * 查询所有逾期未还的记录
      *
@@ -104,4 +236,21 @@ public interface BorrowRecordMapper extends BaseMapper<BorrowRecord> {
     @Update("UPDATE t_borrow_record SET book_title = #{title}, update_time = NOW() " +
             "WHERE book_id = #{bookId} AND deleted = 0")
     int updateBookTitleByBookId(@Param("bookId") Long bookId, @Param("title") String title);
-}
\ No newline at end of file
+
+    /**
+     * 批量更新借阅记录中的书名（一条语句，只改写书名实际变化的记录，大小写变化也算变化）
+     *
+     * @param changes 书名变更，每本图书最多一条
+     * @return 影响行数
+     */
+    @Update("<script>" +
+            "UPDATE t_borrow_record r JOIN (" +
+            "<foreach collection='changes' item='change' separator=' UNION ALL '>" +
+            "SELECT #{change.bookId} AS book_id, #{change.title} AS title" +
+            "</foreach>" +
+            ") c ON r.book_id = c.book_id " +
+            "SET r.book_title = c.title, r.update_time = NOW() " +
+            "WHERE r.deleted = 0 AND r.book_title != c.title COLLATE utf8mb4_bin" +
+            "</script>")
+    int updateBookTitles(@Param("changes") List<BookTitleChange> changes);
+}
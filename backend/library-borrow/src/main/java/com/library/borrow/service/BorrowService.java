@@ -3,6 +3,8 @@ package com.library.borrow.service;
 import com.library.borrow.dto.*;
 import com.library.common.result.PageResult;
 
+import java.util.List;
+
 /**
  * 借阅服务接口
  *
@@ -21,6 +23,16 @@ public interface BorrowService {
      */
     Long borrowBook(Long userId, String username, BorrowRequest request);
 
+    /**
+     * 批量借书：一次检查借阅限额，一次远程调用预留全部库存，一条语句写入全部借阅记录
+     *
+     * @param userId   用户ID
+     * @param username 用户名
+     * @param request  批量借阅请求
+     * @return 与请求顺序一致的逐本借阅结果（重复的图书ID只返回一条）
+     */
+    List<BatchBorrowResult> borrowBooks(Long userId, String username, BatchBorrowRequest request);
+
     /**
      * 还书
      *
@@ -29,6 +41,14 @@ public interface BorrowService {
      */
     void returnBook(Long userId, ReturnRequest request);
 
+    /**
+     * 批量还书（管理员处理还书箱）：一次读取并标记全部借阅记录，每本图书只归还一次库存
+     *
+     * @param request 批量还书请求
+     * @return 与请求顺序一致的逐条归还结果（重复的借阅记录ID只返回一条）
+     */
+    List<BatchReturnResult> returnBooks(BatchReturnRequest request);
+
     /**
      * 续借
      *
@@ -94,6 +114,14 @@ public interface BorrowService {
      */
     int updateBookTitle(Long bookId, String title);
 
+    /**
+     * 批量更新借阅记录中的图书书名，书名未变化的记录不改写
+     *
+     * @param changes 书名变更，每本图书最多一条
+     * @return 更新的记录数
+     */
+    int updateBookTitles(List<BookTitleChange> changes);
+
     /**
      * 借阅统计
      */
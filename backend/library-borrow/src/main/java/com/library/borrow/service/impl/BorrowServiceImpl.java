@@ -8,6 +8,7 @@ import com.library.borrow.feign.BookClient;
 import com.library.borrow.mapper.BorrowRecordMapper;
 import com.library.borrow.service.BorrowService;
 import com.library.common.exception.BusinessException;
+import com.library.common.result.PageCursor;
 import com.library.common.result.PageResult;
 import com.library.common.result.Result;
 import com.library.common.result.ResultCode;
@@ -16,10 +17,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * 借阅服务实现类
@@ -34,6 +43,7 @@ public class BorrowServiceImpl implements BorrowService {
 
     private final BorrowRecordMapper borrowRecordMapper;
     private final BookClient bookClient;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * 用户最大借阅数量
@@ -48,8 +58,8 @@ public class BorrowServiceImpl implements BorrowService {
     private int maxRenewCount;
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public Long borrowBook(Long userId, String username, BorrowRequest request) {
+        // 不在事务中执行：远程预留库存期间不占用数据库连接，预留成功后写入借阅记录，写入失败时归还库存
         Long bookId = request.getBookId();
         Integer quantity = request.getQuantity();
 
@@ -66,34 +76,14 @@ public class BorrowServiceImpl implements BorrowService {
             throw new BusinessException(ResultCode.BAD_REQUEST, "您已借阅此书，请先归还后再借");
         }
 
-        // 3. 获取图书信息
-        Result<BookClient.BookInfo> bookResult = bookClient.getBookById(bookId);
-        if (!bookResult.isSuccess()) {
-            throw new BusinessException(ResultCode.BAD_REQUEST, bookResult.getMessage());
-        }
-        BookClient.BookInfo bookInfo = bookResult.getData();
-        if (bookInfo == null) {
-            throw new BusinessException(ResultCode.NOT_FOUND, "图书不存在");
-        }
-
-        // 4. 检查图书状态
-        if (bookInfo.status() != 1) {
-            throw new BusinessException(ResultCode.BAD_REQUEST, "图书已下架，无法借阅");
-        }
-
-        // 5. 检查库存
-        Result<Boolean> stockResult = bookClient.checkStock(bookId, quantity);
-        if (!stockResult.isSuccess() || !Boolean.TRUE.equals(stockResult.getData())) {
-            throw new BusinessException(ResultCode.BAD_REQUEST, "库存不足，无法借阅");
+        // 3. 预留库存：图书服务在一个事务内校验上架状态、扣减库存并返回书名和ISBN
+        Result<BookClient.BookReservation> reservationResult = bookClient.reserveForBorrow(bookId, quantity);
+        if (!reservationResult.isSuccess()) {
+            throw new BusinessException(reservationResult.getCode(), reservationResult.getMessage());
         }
+        BookClient.BookReservation reservation = reservationResult.getData();
 
-        // 6. 扣减库存
-        Result<Integer> borrowStockResult = bookClient.borrowStock(bookId, quantity);
-        if (!borrowStockResult.isSuccess()) {
-            throw new BusinessException(ResultCode.BAD_REQUEST, "借书失败: " + borrowStockResult.getMessage());
-        }
-
-        // 7. 创建借阅记录
+        // 4. 创建借阅记录
         LocalDateTime now = LocalDateTime.now();
         int borrowDays = request.getBorrowDays() != null ? request.getBorrowDays() : 30;
 
@@ -101,8 +91,8 @@ public class BorrowServiceImpl implements BorrowService {
                 .userId(userId)
                 .username(username)
                 .bookId(bookId)
-                .bookIsbn(bookInfo.isbn())
-                .bookTitle(bookInfo.title())
+                .bookIsbn(reservation.isbn())
+                .bookTitle(reservation.title())
                 .quantity(quantity)
                 .borrowTime(now)
                 .dueTime(now.plusDays(borrowDays))
@@ -112,15 +102,114 @@ public class BorrowServiceImpl implements BorrowService {
                 .deleted(0)
                 .build();
 
-        borrowRecordMapper.insert(record);
-        log.info("借书成功，用户: {}, 图书: {}, 借阅ID: {}", username, bookInfo.title(), record.getId());
+        try {
+            borrowRecordMapper.insert(record);
+        } catch (RuntimeException e) {
+            compensateReservation(bookId, quantity, e);
+            throw e;
+        }
+        log.info("借书成功，用户: {}, 图书: {}, 借阅ID: {}", username, reservation.title(), record.getId());
 
         return record.getId();
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
+    public List<BatchBorrowResult> borrowBooks(Long userId, String username, BatchBorrowRequest request) {
+        // 不在事务中执行：与单本借书相同，远程预留库存期间不占用数据库连接，写入失败时归还已预留的库存
+        boolean allOrNothing = !Boolean.FALSE.equals(request.getAllOrNothing());
+        Map<Long, BatchBorrowResult> results = new LinkedHashMap<>();
+        request.getBookIds().stream().distinct().forEach(bookId ->
+                results.put(bookId, BatchBorrowResult.builder().bookId(bookId).success(false).build()));
+
+        // 1. 检查借阅数量限制（每本书借一册）
+        int currentBorrowing = borrowRecordMapper.countBorrowingByUser(userId);
+        int remaining = Math.max(maxBorrowCount - currentBorrowing, 0);
+        if (allOrNothing && currentBorrowing + results.size() > maxBorrowCount) {
+            throw new BusinessException(ResultCode.BAD_REQUEST,
+                    String.format("借阅数量超过限制，当前借阅: %d，最大允许: %d", currentBorrowing, maxBorrowCount));
+        }
+
+        // 2. 检查是否已借阅同一本书
+        Set<Long> borrowingBookIds = new HashSet<>(
+                borrowRecordMapper.selectBorrowingBookIds(userId, results.keySet()));
+        List<Long> candidates = new ArrayList<>();
+        for (BatchBorrowResult result : results.values()) {
+            if (borrowingBookIds.contains(result.getBookId())) {
+                result.setMessage("您已借阅此书，请先归还后再借");
+            } else if (candidates.size() >= remaining) {
+                result.setMessage(String.format("借阅数量超过限制，当前借阅: %d，最大允许: %d",
+                        currentBorrowing, maxBorrowCount));
+            } else {
+                candidates.add(result.getBookId());
+            }
+        }
+        if (candidates.isEmpty()) {
+            return new ArrayList<>(results.values());
+        }
+        if (allOrNothing && candidates.size() < results.size()) {
+            candidates.forEach(bookId -> results.get(bookId).setMessage("同批其他图书无法借阅，未借阅"));
+            return new ArrayList<>(results.values());
+        }
+
+        // 3. 预留库存：一次远程调用，图书服务在一个事务内校验并扣减全部图书
+        List<BookClient.ReservationItem> items = candidates.stream()
+                .map(bookId -> new BookClient.ReservationItem(bookId, 1))
+                .toList();
+        Result<List<BookClient.BookReservation>> reservationResult =
+                bookClient.reserveForBorrowBatch(new BookClient.BatchReservation(items, allOrNothing));
+        if (!reservationResult.isSuccess()) {
+            throw new BusinessException(reservationResult.getCode(), reservationResult.getMessage());
+        }
+
+        // 4. 一条多行插入写入预留成功的借阅记录
+        LocalDateTime now = LocalDateTime.now();
+        int borrowDays = request.getBorrowDays() != null ? request.getBorrowDays() : 30;
+        List<BorrowRecord> records = new ArrayList<>();
+        for (BookClient.BookReservation reservation : reservationResult.getData()) {
+            BatchBorrowResult result = results.get(reservation.bookId());
+            result.setBookTitle(reservation.title());
+            if (!Boolean.TRUE.equals(reservation.reserved())) {
+                result.setMessage(reservation.message());
+                continue;
+            }
+            records.add(BorrowRecord.builder()
+                    .userId(userId)
+                    .username(username)
+                    .bookId(reservation.bookId())
+                    .bookIsbn(reservation.isbn())
+                    .bookTitle(reservation.title())
+                    .quantity(reservation.quantity())
+                    .borrowTime(now)
+                    .dueTime(now.plusDays(borrowDays))
+                    .status(BorrowStatus.BORROWING.getCode())
+                    .renewCount(0)
+                    .remark(request.getRemark())
+                    .deleted(0)
+                    .build());
+        }
+        if (records.isEmpty()) {
+            return new ArrayList<>(results.values());
+        }
+
+        try {
+            borrowRecordMapper.insertBatch(records);
+        } catch (RuntimeException e) {
+            records.forEach(record -> compensateReservation(record.getBookId(), record.getQuantity(), e));
+            throw e;
+        }
+        for (BorrowRecord record : records) {
+            BatchBorrowResult result = results.get(record.getBookId());
+            result.setSuccess(true);
+            result.setBorrowId(record.getId());
+        }
+        log.info("批量借书完成，用户: {}, 成功: {}/{}", username, records.size(), results.size());
+
+        return new ArrayList<>(results.values());
+    }
+
+    @Override
     public void returnBook(Long userId, ReturnRequest request) {
+        // 不在事务中执行：先用带状态条件的更新占住借阅记录（重复还书只有一个请求成功），再远程归还库存，归还失败时撤销
         Long borrowId = request.getBorrowId();
 
         // 1. 查询借阅记录
@@ -134,33 +223,64 @@ public class BorrowServiceImpl implements BorrowService {
             throw new BusinessException(ResultCode.FORBIDDEN, "无权操作他人的借阅记录");
         }
 
-        // 3. 检查状态
-        if (BorrowStatus.RETURNED.getCode().equals(record.getStatus())) {
+        // 3. 更新借阅记录为已归还
+        if (BorrowStatus.RETURNED.getCode().equals(record.getStatus())
+                || borrowRecordMapper.markReturned(borrowId, LocalDateTime.now(), request.getRemark()) == 0) {
             throw new BusinessException(ResultCode.BAD_REQUEST, "该书已归还，请勿重复操作");
         }
 
-        // 4. 归还库存
-        Result<Integer> returnStockResult = bookClient.returnStock(record.getBookId(), record.getQuantity());
+        // 4. 归还库存，失败时恢复借阅记录
+        Result<Integer> returnStockResult;
+        try {
+            returnStockResult = bookClient.returnStock(record.getBookId(), record.getQuantity());
+        } catch (RuntimeException e) {
+            revertReturn(record);
+            throw e;
+        }
         if (!returnStockResult.isSuccess()) {
+            revertReturn(record);
             throw new BusinessException(ResultCode.BAD_REQUEST, "还书失败: " + returnStockResult.getMessage());
         }
+        log.info("还书成功，借阅ID: {}, 用户: {}, 图书: {}", borrowId, record.getUsername(), record.getBookTitle());
+    }
 
-        // 5. 更新借阅记录
-        LocalDateTime now = LocalDateTime.now();
-        BorrowRecord updateRecord = BorrowRecord.builder()
-                .id(borrowId)
-                .returnTime(now)
-                .status(BorrowStatus.RETURNED.getCode())
-                .remark(request.getRemark())
-                .build();
+    @Override
+    public List<BatchReturnResult> returnBooks(BatchReturnRequest request) {
+        // 不在事务中执行：先在一个短事务内锁定并批量标记借阅记录，再按图书远程归还库存，归还失败的图书撤销对应记录
+        Map<Long, BatchReturnResult> results = new LinkedHashMap<>();
+        request.getBorrowIds().stream().distinct().forEach(borrowId ->
+                results.put(borrowId, BatchReturnResult.builder().borrowId(borrowId).success(false).build()));
+
+        // 1. 一次读取并标记全部可归还的借阅记录
+        List<BorrowRecord> claimed = Objects.requireNonNull(
+                transactionTemplate.execute(status -> claimForReturn(results, request.getRemark())));
+
+        // 2. 按图书合并归还数量，每本图书调用一次归还库存
+        Map<Long, List<BorrowRecord>> recordsByBook = claimed.stream()
+                .collect(Collectors.groupingBy(BorrowRecord::getBookId, LinkedHashMap::new, Collectors.toList()));
+        for (Map.Entry<Long, List<BorrowRecord>> entry : recordsByBook.entrySet()) {
+            List<BorrowRecord> records = entry.getValue();
+            int quantity = records.stream().mapToInt(BorrowRecord::getQuantity).sum();
+            String failure = returnStockForBatch(entry.getKey(), quantity);
+            for (BorrowRecord record : records) {
+                BatchReturnResult result = results.get(record.getId());
+                if (failure == null) {
+                    result.setSuccess(true);
+                } else {
+                    revertReturn(record);
+                    result.setMessage(failure);
+                }
+            }
+        }
+        long returned = results.values().stream().filter(BatchReturnResult::getSuccess).count();
+        log.info("批量还书完成，成功: {}/{}, 涉及图书: {} 本", returned, results.size(), recordsByBook.size());
 
-        borrowRecordMapper.updateById(updateRecord);
-        log.info("还书成功，借阅ID: {}, 用户: {}, 图书: {}", borrowId, record.getUsername(), record.getBookTitle());
+        return new ArrayList<>(results.values());
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public void renewBook(Long userId, RenewRequest request) {
+        // 只涉及本地数据：按读取时的续借次数做条件更新，单条语句无需事务
         Long borrowId = request.getBorrowId();
 
         // 1. 查询借阅记录
@@ -194,14 +314,10 @@ public class BorrowServiceImpl implements BorrowService {
         int renewDays = request.getRenewDays() != null ? request.getRenewDays() : 15;
         LocalDateTime newDueTime = record.getDueTime().plusDays(renewDays);
 
-        BorrowRecord updateRecord = BorrowRecord.builder()
-                .id(borrowId)
-                .dueTime(newDueTime)
-                .status(BorrowStatus.BORROWING.getCode())  // 续借后保持"借阅中"状态
-                .renewCount(record.getRenewCount() + 1)
-                .build();
-
-        borrowRecordMapper.updateById(updateRecord);
+        // 续借后保持"借阅中"状态；并发续借或已归还时条件不成立
+        if (borrowRecordMapper.renew(borrowId, newDueTime, record.getRenewCount()) == 0) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "借阅记录已变更，请刷新后重试");
+        }
         log.info("续借成功，借阅ID: {}, 用户: {}, 新到期时间: {}, 续借天数: {}", borrowId, record.getUsername(), newDueTime, renewDays);
     }
 
@@ -222,6 +338,10 @@ public class BorrowServiceImpl implements BorrowService {
 
     @Override
     public PageResult<BorrowRecordResponse> listAllBorrowRecords(BorrowQuery query) {
+        if (query.getCursor() != null) {
+            return listBorrowRecordsByCursor(query);
+        }
+
         Page<BorrowRecordResponse> page = new Page<>(query.getPageNum(), query.getPageSize());
         var result = borrowRecordMapper.selectBorrowPage(page, query);
 
@@ -231,6 +351,20 @@ public class BorrowServiceImpl implements BorrowService {
         return PageResult.of(result.getRecords(), result.getTotal(), query.getPageNum(), query.getPageSize());
     }
 
+    /**
+     * 游标分页查询借阅记录：多读一条判断是否还有下一页，按需统计总数
+     */
+    private PageResult<BorrowRecordResponse> listBorrowRecordsByCursor(BorrowQuery query) {
+        PageCursor cursor = PageCursor.decode(query.getCursor());
+        List<BorrowRecordResponse> records =
+                borrowRecordMapper.selectBorrowCursorPage(query, cursor, query.getPageSize() + 1);
+        records.forEach(this::enrichResponse);
+
+        Long total = Boolean.TRUE.equals(query.getWithTotal()) ? borrowRecordMapper.countBorrowRecords(query) : null;
+        return PageResult.ofCursor(records, query.getPageSize(), total,
+                record -> new PageCursor(record.getCreateTime(), record.getId()));
+    }
+
     @Override
     public int countUserBorrowing(Long userId) {
         return borrowRecordMapper.countBorrowingByUser(userId);
@@ -266,6 +400,86 @@ public class BorrowServiceImpl implements BorrowService {
         return borrowRecordMapper.updateBookTitleByBookId(bookId, title);
     }
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int updateBookTitles(List<BookTitleChange> changes) {
+        if (changes == null || changes.isEmpty()) {
+            return 0;
+        }
+        int count = borrowRecordMapper.updateBookTitles(changes);
+        log.info("批量更新 {} 本图书的借阅记录书名，共 {} 条记录", changes.size(), count);
+        return count;
+    }
+
+    /**
+     * 借阅记录写入失败后归还已预留的库存；补偿也失败时记录日志供人工核对
+     */
+    private void compensateReservation(Long bookId, Integer quantity, RuntimeException cause) {
+        log.warn("写入借阅记录失败，归还已预留库存，图书ID: {}, 数量: {}: {}", bookId, quantity, cause.getMessage());
+        try {
+            Result<Integer> result = bookClient.returnStock(bookId, quantity);
+            if (result.isSuccess()) {
+                return;
+            }
+            log.error("归还预留库存失败，需人工核对，图书ID: {}, 数量: {}, 原因: {}", bookId, quantity, result.getMessage());
+        } catch (RuntimeException e) {
+            log.error("归还预留库存失败，需人工核对，图书ID: {}, 数量: {}", bookId, quantity, e);
+        }
+    }
+
+    /**
+     * 锁定请求中的借阅记录，记录不存在或已归还的标明原因，其余用一条语句标记为已归还
+     */
+    private List<BorrowRecord> claimForReturn(Map<Long, BatchReturnResult> results, String remark) {
+        List<BorrowRecord> claimed = new ArrayList<>();
+        for (BorrowRecord record : borrowRecordMapper.selectByIdsForUpdate(results.keySet())) {
+            BatchReturnResult result = results.get(record.getId());
+            result.setBookId(record.getBookId());
+            result.setBookTitle(record.getBookTitle());
+            result.setUsername(record.getUsername());
+            if (BorrowStatus.RETURNED.getCode().equals(record.getStatus())) {
+                result.setMessage("该书已归还，请勿重复操作");
+            } else {
+                claimed.add(record);
+            }
+        }
+        results.values().stream()
+                .filter(result -> result.getBookId() == null)
+                .forEach(result -> result.setMessage("借阅记录不存在"));
+
+        if (!claimed.isEmpty()) {
+            List<Long> ids = claimed.stream().map(BorrowRecord::getId).toList();
+            borrowRecordMapper.markReturnedBatch(ids, LocalDateTime.now(), remark);
+        }
+        return claimed;
+    }
+
+    /**
+     * 批量还书时归还一本图书的库存
+     *
+     * @return 失败原因，成功时为 null
+     */
+    private String returnStockForBatch(Long bookId, int quantity) {
+        try {
+            Result<Integer> result = bookClient.returnStock(bookId, quantity);
+            return result.isSuccess() ? null : "还书失败: " + result.getMessage();
+        } catch (RuntimeException e) {
+            log.error("批量还书归还库存失败，图书ID: {}, 数量: {}", bookId, quantity, e);
+            return "还书失败: 图书服务调用异常";
+        }
+    }
+
+    /**
+     * 归还库存失败后恢复借阅记录的状态和备注
+     */
+    private void revertReturn(BorrowRecord record) {
+        try {
+            borrowRecordMapper.revertReturned(record.getId(), record.getStatus(), record.getRemark());
+        } catch (RuntimeException e) {
+            log.error("恢复借阅记录失败，需人工核对，借阅ID: {}", record.getId(), e);
+        }
+    }
+
     /**
      * 转换为响应对象
      */
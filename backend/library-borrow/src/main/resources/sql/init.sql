@@ -37,7 +37,9 @@ CREATE TABLE `t_borrow_record` (
     KEY `idx_borrow_time` (`borrow_time`),
     KEY `idx_due_time` (`due_time`),
     KEY `idx_user_book` (`user_id`, `book_id`),
-    KEY `idx_user_status` (`user_id`, `status`)
+    KEY `idx_user_status` (`user_id`, `status`),
+    KEY `idx_deleted_create_time` (`deleted`, `create_time`),
+    KEY `idx_user_deleted_create_time` (`user_id`, `deleted`, `create_time`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='借阅记录表';
 
 -- =====================================================
@@ -0,0 +1,258 @@
+package com.library.borrow.service.impl;
+
+import com.library.borrow.dto.BorrowRequest;
+import com.library.borrow.dto.ReturnRequest;
+import com.library.borrow.entity.BorrowRecord;
+import com.library.borrow.feign.BookClient;
+import com.library.borrow.mapper.BorrowRecordMapper;
+import com.library.common.result.Result;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 借阅写操作连接池压测（手动运行，不参与单元测试）
+ *
+ * <p>不依赖数据库和图书服务：
+ * <ul>
+ *     <li>HikariCP 连接池（与 BorrowHikariCP 相同的 20 个连接）包装一个假的 JDBC 数据源，每条 SQL 固定占用连接 2ms</li>
+ *     <li>图书服务用动态代理桩替代，每次调用耗时 remoteMs</li>
+ * </ul>
+ * writers 个线程交替借书 / 还书，同时一个线程每 50ms 查询一次在借数量，统计连接池峰值和读请求延迟。
+ * 分两轮运行：transactional 轮把每次写操作包在事务中（连接从第一条 SQL 起一直占用到远程调用结束，
+ * 即原先 {@code @Transactional} 写方法的行为），current 轮直接调用当前实现。
+ * 在 library-borrow 目录下执行 {@code mvn test-compile} 后运行：
+ * <pre>
+ * java -DremoteMs=2000 -Dwriters=60 -DrunMs=8000 \
+ *     -cp target/classes:target/test-classes:$(依赖类路径) com.library.borrow.service.impl.BorrowPoolLoadBenchmark
+ * </pre>
+ *
+ * @author Library System
+ * @since 1.0.0
+ */
+public class BorrowPoolLoadBenchmark {
+
+    private static final long REMOTE_MS = Long.getLong("remoteMs", 2000);
+    private static final int WRITERS = Integer.getInteger("writers", 60);
+    private static final long RUN_MS = Long.getLong("runMs", 8000);
+    private static final long CONNECTION_TIMEOUT_MS = Long.getLong("connectionTimeout", 30000);
+
+    /**
+     * 每条 SQL 占用连接的时间
+     */
+    private static final long SQL_MS = 2;
+
+    private static final int POOL_SIZE = 20;
+
+    public static void main(String[] args) throws Exception {
+        run(true);
+        run(false);
+    }
+
+    private static void run(boolean transactional) throws Exception {
+        String mode = transactional ? "transactional" : "current";
+        HikariConfig config = new HikariConfig();
+        config.setDataSource(fakeDataSource());
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setMinimumIdle(5);
+        config.setConnectionTimeout(CONNECTION_TIMEOUT_MS);
+        config.setPoolName("BorrowHikariCP-" + mode);
+        HikariDataSource dataSource = new HikariDataSource(config);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        BorrowServiceImpl service = new BorrowServiceImpl(mapper(dataSource), bookClient(), transactionTemplate);
+        ReflectionTestUtils.setField(service, "maxBorrowCount", 10);
+
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicInteger borrows = new AtomicInteger();
+        AtomicInteger returns = new AtomicInteger();
+        AtomicInteger writeErrors = new AtomicInteger();
+        AtomicInteger peakActive = new AtomicInteger();
+        AtomicInteger peakWaiting = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 2);
+
+        for (int i = 0; i < WRITERS; i++) {
+            long userId = i;
+            boolean borrow = i % 2 == 0;
+            Runnable operation = borrow
+                    ? () -> service.borrowBook(userId, "user" + userId, borrowRequest())
+                    : () -> service.returnBook(userId, returnRequest(userId));
+            executor.submit(() -> {
+                while (!stop.get()) {
+                    try {
+                        if (transactional) {
+                            transactionTemplate.executeWithoutResult(status -> operation.run());
+                        } else {
+                            operation.run();
+                        }
+                        (borrow ? borrows : returns).incrementAndGet();
+                    } catch (RuntimeException e) {
+                        writeErrors.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.submit(() -> {
+            sleep(1000);
+            while (!stop.get()) {
+                peakActive.accumulateAndGet(dataSource.getHikariPoolMXBean().getActiveConnections(), Math::max);
+                peakWaiting.accumulateAndGet(dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection(), Math::max);
+                sleep(10);
+            }
+        });
+
+        // 读请求：查询在借数量（不走事务，与 countUserBorrowing 一致）
+        List<Long> readLatencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger readErrors = new AtomicInteger();
+        Future<?> reader = executor.submit(() -> {
+            long end = System.currentTimeMillis() + RUN_MS;
+            while (System.currentTimeMillis() < end) {
+                long start = System.nanoTime();
+                try {
+                    service.countUserBorrowing(1L);
+                    readLatencies.add((System.nanoTime() - start) / 1_000_000);
+                } catch (RuntimeException e) {
+                    readErrors.incrementAndGet();
+                }
+                sleep(50);
+            }
+        });
+        reader.get();
+        stop.set(true);
+        executor.shutdown();
+        executor.awaitTermination(60, TimeUnit.SECONDS);
+        dataSource.close();
+
+        List<Long> sorted = new ArrayList<>(readLatencies);
+        Collections.sort(sorted);
+        System.out.printf("%-13s remote=%dms writers=%d | borrow=%d return=%d writeErr=%d | peakActive=%d peakWaiting=%d"
+                        + " | reads=%d readErr=%d p50=%dms p99=%dms max=%dms%n",
+                mode, REMOTE_MS, WRITERS, borrows.get(), returns.get(), writeErrors.get(),
+                peakActive.get(), peakWaiting.get(), sorted.size(), readErrors.get(),
+                percentile(sorted, 50), percentile(sorted, 99), sorted.isEmpty() ? -1 : sorted.get(sorted.size() - 1));
+    }
+
+    private static long percentile(List<Long> sorted, int percent) {
+        if (sorted.isEmpty()) {
+            return -1;
+        }
+        int index = (int) Math.ceil(percent / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.min(sorted.size() - 1, Math.max(0, index)));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static BorrowRequest borrowRequest() {
+        BorrowRequest request = new BorrowRequest();
+        request.setBookId(1L);
+        request.setQuantity(1);
+        return request;
+    }
+
+    private static ReturnRequest returnRequest(long userId) {
+        ReturnRequest request = new ReturnRequest();
+        request.setBorrowId(userId);
+        return request;
+    }
+
+    /**
+     * 借阅记录 Mapper 桩：每条 SQL 从连接池取连接（事务中复用事务连接）并占用 {@link #SQL_MS}
+     */
+    private static BorrowRecordMapper mapper(DataSource dataSource) {
+        return proxy(BorrowRecordMapper.class, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(proxy, args);
+            }
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try {
+                Thread.sleep(SQL_MS);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+            return switch (method.getName()) {
+                case "selectBorrowingByUserAndBook" -> List.of();
+                case "selectById" -> BorrowRecord.builder()
+                        .id((Long) args[0])
+                        .userId((Long) args[0])
+                        .bookId(1L)
+                        .quantity(1)
+                        .status(0)
+                        .renewCount(0)
+                        .deleted(0)
+                        .dueTime(LocalDateTime.now().plusDays(10))
+                        .build();
+                default -> method.getReturnType() == int.class ? 1 : null;
+            };
+        });
+    }
+
+    /**
+     * 慢图书服务桩：每次调用耗时 {@link #REMOTE_MS}
+     */
+    private static BookClient bookClient() {
+        return proxy(BookClient.class, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(proxy, args);
+            }
+            Thread.sleep(REMOTE_MS);
+            if ("reserveForBorrow".equals(method.getName())) {
+                return Result.success(new BookClient.BookReservation(1L, "9787000000000", "压测图书", 1, 10, true, null));
+            }
+            return Result.success(10);
+        });
+    }
+
+    /**
+     * 假的 JDBC 数据源：连接不做任何事，只用于让 HikariCP 管理连接的借出与归还
+     */
+    private static DataSource fakeDataSource() {
+        InvocationHandler connection = (proxy, method, args) -> switch (method.getName()) {
+            case "isValid" -> true;
+            case "isClosed", "isReadOnly", "getAutoCommit" -> false;
+            case "getTransactionIsolation" -> Connection.TRANSACTION_REPEATABLE_READ;
+            case "getNetworkTimeout" -> 0;
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "FakeConnection";
+            default -> null;
+        };
+        return proxy(DataSource.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getConnection" -> proxy(Connection.class, connection);
+            case "getLoginTimeout" -> 0;
+            case "getLogWriter" -> (PrintWriter) null;
+            case "hashCode" -> 1;
+            case "toString" -> "FakeDataSource";
+            default -> null;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(BorrowPoolLoadBenchmark.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
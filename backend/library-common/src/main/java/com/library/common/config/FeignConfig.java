@@ -1,5 +1,6 @@
 package com.library.common.config;
 
+import com.library.common.constant.CommonConstants;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
 import jakarta.servlet.http.HttpServletRequest;
@@ -41,6 +42,16 @@ public class FeignConfig {
                     if (username != null) {
                         template.header("X-Username", username);
                     }
+                    // 传递角色及网关签名，下游服务可本地验签
+                    for (String header : new String[]{
+                            CommonConstants.USER_ROLE_HEADER,
+                            CommonConstants.USER_TIMESTAMP_HEADER,
+                            CommonConstants.USER_SIGNATURE_HEADER}) {
+                        String value = request.getHeader(header);
+                        if (value != null) {
+                            template.header(header, value);
+                        }
+                    }
                 }
             }
         };
@@ -0,0 +1,36 @@
+package com.library.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 网关签名身份配置
+ *
+ * <p>网关与下游服务需配置相同的 secret
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "library.identity")
+public class IdentityProperties {
+
+    /**
+     * 是否启用签名身份头校验（关闭后回退为调用认证服务验证 Token）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 签名密钥
+     */
+    private String secret = "LibraryIdentityHeaderSecretKey2024ChangeMeInProduction";
+
+    /**
+     * 签名时间戳允许的最大偏差（秒）
+     */
+    private long maxSkewSeconds = 300;
+
+    /**
+     * 是否额外调用认证服务做吊销检查（用户禁用、Token 注销等）
+     */
+    private boolean revocationCheck = false;
+}
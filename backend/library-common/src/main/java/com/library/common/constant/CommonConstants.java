@@ -16,6 +16,15 @@ public final class CommonConstants {
     public static final String TOKEN_PREFIX = "Bearer ";
     public static final String TOKEN_TYPE = "JWT";
 
+    /**
+     * 网关签名身份头（网关解析 JWT 后写入，下游服务本地验签）
+     */
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USERNAME_HEADER = "X-Username";
+    public static final String USER_ROLE_HEADER = "X-User-Role";
+    public static final String USER_TIMESTAMP_HEADER = "X-User-Timestamp";
+    public static final String USER_SIGNATURE_HEADER = "X-User-Signature";
+
     /**
      * 用户角色
      */
@@ -0,0 +1,82 @@
+package com.library.common.interceptor;
+
+import com.library.common.config.IdentityProperties;
+import com.library.common.constant.CommonConstants;
+import com.library.common.dto.UserInfo;
+import com.library.common.utils.IdentitySignUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 签名身份拦截器
+ *
+ * <p>校验网关写入的 X-User-* 身份头及其 HMAC 签名，校验通过后写入 {@link UserContextHolder}。
+ * 签名缺失或无效时不拦截请求，由各服务的认证拦截器决定是否回退到远程验证。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrustedIdentityInterceptor implements HandlerInterceptor {
+
+    private final IdentityProperties identityProperties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!identityProperties.isEnabled()) {
+            return true;
+        }
+
+        String signature = request.getHeader(CommonConstants.USER_SIGNATURE_HEADER);
+        if (!StringUtils.hasText(signature)) {
+            return true;
+        }
+
+        String userId = request.getHeader(CommonConstants.USER_ID_HEADER);
+        String username = request.getHeader(CommonConstants.USERNAME_HEADER);
+        String role = request.getHeader(CommonConstants.USER_ROLE_HEADER);
+        String timestampHeader = request.getHeader(CommonConstants.USER_TIMESTAMP_HEADER);
+        if (!StringUtils.hasText(userId) || !StringUtils.hasText(timestampHeader)) {
+            return true;
+        }
+
+        long timestamp;
+        try {
+            timestamp = Long.parseLong(timestampHeader);
+        } catch (NumberFormatException e) {
+            log.warn("身份头时间戳格式错误: {}", timestampHeader);
+            return true;
+        }
+
+        long skew = Math.abs(System.currentTimeMillis() - timestamp);
+        if (skew > identityProperties.getMaxSkewSeconds() * 1000) {
+            log.warn("身份头已过期, userId={}, 偏差={}ms", userId, skew);
+            return true;
+        }
+
+        if (!IdentitySignUtils.verify(userId, username, role, timestamp, signature, identityProperties.getSecret())) {
+            log.warn("身份头签名校验失败, userId={}, URI={}", userId, request.getRequestURI());
+            return true;
+        }
+
+        try {
+            UserContextHolder.setUser(UserInfo.builder()
+                    .userId(Long.valueOf(userId))
+                    .username(username)
+                    .role(role)
+                    .build());
+        } catch (NumberFormatException e) {
+            log.warn("身份头用户ID格式错误: {}", userId);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        UserContextHolder.clear();
+    }
+}
@@ -0,0 +1,16 @@
+package com.library.common.loadbalancer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 负载均衡配置
+ *
+ * <p>所有服务默认使用 {@link PeakEwmaLoadBalancer}，library.loadbalancer.enabled=false 时回退为默认轮询
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "library.loadbalancer", name = "enabled", havingValue = "true", matchIfMissing = true)
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
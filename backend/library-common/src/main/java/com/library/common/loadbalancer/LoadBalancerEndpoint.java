@@ -0,0 +1,27 @@
+package com.library.common.loadbalancer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 负载均衡评分端点
+ *
+ * <p>GET /actuator/loadbalancer 返回各下游服务实例的在途请求数、EWMA 延迟和评分
+ */
+@Component
+@Endpoint(id = "loadbalancer")
+@RequiredArgsConstructor
+public class LoadBalancerEndpoint {
+
+    private final PeakEwmaTracker tracker;
+
+    @ReadOperation
+    public Map<String, List<PeakEwmaTracker.InstanceScore>> scores() {
+        return tracker.snapshot();
+    }
+}
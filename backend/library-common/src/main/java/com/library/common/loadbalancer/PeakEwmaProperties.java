@@ -0,0 +1,31 @@
+package com.library.common.loadbalancer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 延迟感知负载均衡配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "library.loadbalancer")
+public class PeakEwmaProperties {
+
+    /**
+     * 是否启用 P2C + Peak EWMA 负载均衡（关闭后使用默认的轮询）
+     */
+    private boolean enabled = true;
+
+    /**
+     * EWMA 衰减时间常数，越小越快遗忘历史延迟
+     */
+    private Duration decayTime = Duration.ofSeconds(10);
+
+    /**
+     * 调用失败或尚无延迟样本但有在途请求时计入的惩罚延迟
+     */
+    private Duration penalty = Duration.ofSeconds(1);
+}
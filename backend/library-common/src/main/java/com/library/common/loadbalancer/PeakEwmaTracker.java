@@ -0,0 +1,189 @@
+package com.library.common.loadbalancer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 实例延迟统计
+ *
+ * <p>作为 {@link LoadBalancerLifecycle} 挂在每次负载均衡调用上（网关路由与 Feign 调用均会回调），
+ * 为每个实例维护在途请求数和 Peak EWMA 延迟：
+ * 新样本高于当前值时直接取新样本（对变慢敏感），否则按时间衰减平滑（对恢复保守）。
+ * 实例评分 = EWMA 延迟 × (在途请求数 + 1)，越小越好
+ */
+@Component
+@RequiredArgsConstructor
+public class PeakEwmaTracker implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private final PeakEwmaProperties properties;
+
+    /**
+     * 服务名 -> (实例地址 -> 统计)
+     */
+    private final Map<String, Map<String, InstanceStats>> services = new ConcurrentHashMap<>();
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext context && context.getRequestStartTime() == 0) {
+            context.setRequestStartTime(System.nanoTime());
+        }
+        stats(lbResponse.getServer()).inflight.incrementAndGet();
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        InstanceStats stats = stats(lbResponse.getServer());
+        stats.inflight.decrementAndGet();
+
+        if (completionContext.status() == CompletionContext.Status.DISCARD) {
+            return;
+        }
+        long now = System.nanoTime();
+        long rtt = 0;
+        if (completionContext.getLoadBalancerRequest().getContext() instanceof TimedRequestContext context
+                && context.getRequestStartTime() > 0) {
+            rtt = now - context.getRequestStartTime();
+        }
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            rtt = Math.max(rtt, properties.getPenalty().toNanos());
+        }
+        if (rtt > 0) {
+            stats.observe(rtt, now, properties.getDecayTime().toNanos());
+        }
+    }
+
+    /**
+     * 计算实例评分（越小越好）
+     *
+     * @param instance 服务实例
+     * @return 评分
+     */
+    public double cost(ServiceInstance instance) {
+        return stats(instance).cost(properties.getPenalty().toNanos());
+    }
+
+    /**
+     * 清理已下线实例的统计
+     *
+     * @param serviceId 服务名
+     * @param instances 当前实例列表
+     */
+    public void retain(String serviceId, Collection<ServiceInstance> instances) {
+        Map<String, InstanceStats> byInstance = services.get(serviceId);
+        if (byInstance == null || byInstance.size() <= instances.size()) {
+            return;
+        }
+        Set<String> alive = new HashSet<>();
+        for (ServiceInstance instance : instances) {
+            alive.add(address(instance));
+        }
+        byInstance.keySet().retainAll(alive);
+    }
+
+    /**
+     * 当前所有实例的评分快照
+     *
+     * @return 服务名 -> 实例评分列表
+     */
+    public Map<String, List<InstanceScore>> snapshot() {
+        long penaltyNanos = properties.getPenalty().toNanos();
+        Map<String, List<InstanceScore>> result = new TreeMap<>();
+        services.forEach((serviceId, byInstance) -> {
+            List<InstanceScore> scores = new ArrayList<>();
+            byInstance.forEach((address, stats) -> scores.add(new InstanceScore(
+                    address,
+                    stats.inflight.get(),
+                    stats.ewma() / 1_000_000.0,
+                    stats.cost(penaltyNanos) / 1_000_000.0)));
+            result.put(serviceId, scores);
+        });
+        return result;
+    }
+
+    private InstanceStats stats(ServiceInstance instance) {
+        return services.computeIfAbsent(instance.getServiceId(), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(address(instance), k -> new InstanceStats());
+    }
+
+    private static String address(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    /**
+     * 单个实例的统计
+     */
+    private static final class InstanceStats {
+
+        private final AtomicInteger inflight = new AtomicInteger();
+
+        /**
+         * EWMA 延迟（纳秒），0 表示尚无样本
+         */
+        private double ewmaNanos;
+
+        private long lastObservedNanos;
+
+        synchronized void observe(long rttNanos, long now, long decayNanos) {
+            double current = ewmaNanos;
+            if (rttNanos > current) {
+                ewmaNanos = rttNanos;
+            } else {
+                double weight = Math.exp(-(double) (now - lastObservedNanos) / decayNanos);
+                ewmaNanos = current * weight + rttNanos * (1 - weight);
+            }
+            lastObservedNanos = now;
+        }
+
+        synchronized double ewma() {
+            return ewmaNanos;
+        }
+
+        double cost(long penaltyNanos) {
+            int pending = Math.max(0, inflight.get());
+            double latency = ewma();
+            if (latency == 0) {
+                // 尚无样本：空闲时优先试探，有在途请求时按惩罚延迟计算，避免新实例被瞬间压垮
+                return pending == 0 ? 0 : (double) penaltyNanos * (pending + 1);
+            }
+            return latency * (pending + 1);
+        }
+    }
+
+    /**
+     * 实例评分
+     *
+     * @param instance   实例地址
+     * @param inflight   在途请求数
+     * @param ewmaMillis EWMA 延迟（毫秒）
+     * @param score      评分（毫秒，越小越好）
+     */
+    public record InstanceScore(String instance, int inflight, double ewmaMillis, double score) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.library.common.result;
+
+import com.library.common.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 游标分页的游标
+ *
+ * <p>记录上一页最后一条记录的排序键（创建时间）和ID，下一页从 (createTime, id) 之后开始读取。
+ * 对外以不透明的 base64url 字符串传递，客户端只需原样回传 {@link PageResult#getNextCursor()}
+ *
+ * @param createTime 上一页最后一条记录的创建时间
+ * @param id         上一页最后一条记录的ID
+ */
+public record PageCursor(LocalDateTime createTime, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * 编码为不透明字符串
+     *
+     * @return 游标字符串
+     */
+    public String encode() {
+        String raw = createTime + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串
+     *
+     * @param cursor 游标字符串，null 或空字符串表示第一页
+     * @return 游标，第一页时为 null
+     * @throws BusinessException 游标格式无效
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(SEPARATOR);
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, index)),
+                    Long.parseLong(raw.substring(index + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BusinessException(ResultCode.BAD_REQUEST.getCode(), "无效的分页游标");
+        }
+    }
+}
@@ -5,10 +5,19 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * 分页响应结果
+ *
+ * <p>支持两种模式：
+ * <ul>
+ *     <li>页码分页：current / size / total / pages 均有值</li>
+ *     <li>游标分页：按 (创建时间, ID) 倒序读取，返回 nextCursor / hasMore，
+ *     current 和 pages 为空，total 仅在调用方要求时统计</li>
+ * </ul>
  */
 @Data
 @NoArgsConstructor
@@ -42,6 +51,16 @@ public class PageResult<T> implements Serializable {
      */
     private List<T> records;
 
+    /**
+     * 下一页游标（游标分页模式，没有下一页时为空）
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有下一页（游标分页模式）
+     */
+    private Boolean hasMore;
+
     public static <T> PageResult<T> of(Long current, Long size, Long total, List<T> records) {
         PageResult<T> pageResult = new PageResult<>();
         pageResult.setCurrent(current);
@@ -58,4 +77,29 @@ public class PageResult<T> implements Serializable {
     public static <T> PageResult<T> of(List<T> records, Long total, Integer pageNum, Integer pageSize) {
         return of(pageNum.longValue(), pageSize.longValue(), total, records);
     }
+
+    /**
+     * 游标分页：传入按 (创建时间, ID) 倒序多读一条的记录列表，截取当前页并生成下一页游标
+     *
+     * @param records       多读一条的记录列表（最多 pageSize + 1 条）
+     * @param pageSize      每页大小
+     * @param total         总记录数，不统计时为 null
+     * @param cursorFactory 从记录生成游标
+     * @return 分页结果
+     */
+    public static <T> PageResult<T> ofCursor(List<T> records, Integer pageSize, Long total,
+                                             Function<T, PageCursor> cursorFactory) {
+        boolean hasMore = records.size() > pageSize;
+        List<T> page = hasMore ? new ArrayList<>(records.subList(0, pageSize)) : records;
+
+        PageResult<T> pageResult = new PageResult<>();
+        pageResult.setSize(pageSize.longValue());
+        pageResult.setTotal(total);
+        pageResult.setRecords(page);
+        pageResult.setHasMore(hasMore);
+        if (hasMore) {
+            pageResult.setNextCursor(cursorFactory.apply(page.get(page.size() - 1)).encode());
+        }
+        return pageResult;
+    }
 }
\ No newline at end of file
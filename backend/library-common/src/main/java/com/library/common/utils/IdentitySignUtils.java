@@ -0,0 +1,74 @@
+package com.library.common.utils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * 身份头签名工具类
+ *
+ * <p>网关解析 JWT 后，将 userId / username / role 连同时间戳做 HmacSHA256 签名，
+ * 下游服务据此在本地验签，无需再回调认证服务。
+ * 签名原文格式：{@code userId + "\n" + username + "\n" + role + "\n" + timestamp}，
+ * 需与网关 {@code com.library.gateway.util.IdentitySignUtil} 保持一致。
+ */
+public final class IdentitySignUtils {
+
+    private IdentitySignUtils() {
+        throw new IllegalStateException("工具类不允许实例化");
+    }
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    /**
+     * 生成签名
+     *
+     * @param userId    用户ID
+     * @param username  用户名
+     * @param role      角色
+     * @param timestamp 签名时间戳（毫秒）
+     * @param secret    签名密钥
+     * @return Base64URL 编码的签名
+     */
+    public static String sign(String userId, String username, String role, long timestamp, String secret) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            byte[] raw = mac.doFinal(canonical(userId, username, role, timestamp).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("身份签名失败", e);
+        }
+    }
+
+    /**
+     * 校验签名（常量时间比较）
+     *
+     * @param userId    用户ID
+     * @param username  用户名
+     * @param role      角色
+     * @param timestamp 签名时间戳（毫秒）
+     * @param signature 待校验的签名
+     * @param secret    签名密钥
+     * @return 是否有效
+     */
+    public static boolean verify(String userId, String username, String role, long timestamp,
+                                 String signature, String secret) {
+        if (signature == null) {
+            return false;
+        }
+        String expected = sign(userId, username, role, timestamp, secret);
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII),
+                signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 签名原文
+     */
+    private static String canonical(String userId, String username, String role, long timestamp) {
+        return userId + "\n" + username + "\n" + role + "\n" + timestamp;
+    }
+}
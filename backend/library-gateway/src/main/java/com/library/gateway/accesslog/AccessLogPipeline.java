@@ -0,0 +1,256 @@
+package com.library.gateway.accesslog;
+
+import com.library.gateway.config.AccessLogProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步访问日志管道
+ *
+ * <p>请求线程只把字段写入预分配的环形缓冲区槽位，不格式化、不做 IO；
+ * 单个后台线程按顺序取出记录，拼接为单行 JSON 写入 ACCESS_LOG 日志器（滚动文件见 logback-spring.xml）：
+ * <ul>
+ *     <li>多生产者通过 CAS 申请序号，槽位写完后发布序号，消费者按序号顺序读取</li>
+ *     <li>缓冲区满时直接丢弃新记录，不阻塞请求线程</li>
+ *     <li>状态码小于 400 的请求按比例采样，4xx / 5xx 始终记录</li>
+ * </ul>
+ * 指标：gateway.accesslog.events{outcome=written|sampled_out|dropped}
+ *
+ * @author Library Team
+ */
+@Slf4j
+@Component
+public class AccessLogPipeline {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("ACCESS_LOG");
+
+    /**
+     * 缓冲区为空时写线程的休眠时间
+     */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final AccessLogProperties properties;
+
+    private final Slot[] slots;
+    private final int mask;
+
+    /**
+     * 下一个待申请的序号
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * 下一个待消费的序号（仅写线程修改）
+     */
+    private volatile long head;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private final StringBuilder line = new StringBuilder(512);
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AccessLogPipeline(AccessLogProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        int capacity = Integer.highestOneBit(Math.max(2, properties.getBufferSize() - 1)) << 1;
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+
+        registerCounter(meterRegistry, "written", written);
+        registerCounter(meterRegistry, "sampled_out", sampledOut);
+        registerCounter(meterRegistry, "dropped", dropped);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "access-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * 提交一条访问记录
+     *
+     * @param requestId     请求 ID
+     * @param method        请求方法
+     * @param path          请求路径
+     * @param query         原始查询串，可为 null
+     * @param clientIp      客户端 IP
+     * @param routeId       路由 ID，未匹配路由时为 null
+     * @param status        响应状态码，未知时为 0
+     * @param durationNanos 请求耗时
+     * @param startMillis   请求开始时间（epoch 毫秒）
+     */
+    public void offer(String requestId, String method, String path, String query, String clientIp,
+                      String routeId, int status, long durationNanos, long startMillis) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (status < 400 && ThreadLocalRandom.current().nextDouble() >= properties.getSuccessSampleRate()) {
+            sampledOut.increment();
+            return;
+        }
+
+        long seq;
+        do {
+            seq = tail.get();
+            if (seq - head >= slots.length) {
+                dropped.increment();
+                return;
+            }
+        } while (!tail.compareAndSet(seq, seq + 1));
+
+        Slot slot = slots[(int) (seq & mask)];
+        slot.requestId = requestId;
+        slot.method = method;
+        slot.path = path;
+        slot.query = query;
+        slot.clientIp = clientIp;
+        slot.routeId = routeId;
+        slot.status = status;
+        slot.durationNanos = durationNanos;
+        slot.startMillis = startMillis;
+        // 发布：写线程看到序号后才会读取上面的字段
+        slot.sequence = seq;
+    }
+
+    private void drainLoop() {
+        while (true) {
+            long seq = head;
+            Slot slot = slots[(int) (seq & mask)];
+            if (slot.sequence != seq) {
+                if (!running && seq == tail.get()) {
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            try {
+                ACCESS_LOG.info(format(slot));
+                written.increment();
+            } catch (Exception e) {
+                log.error("访问日志写入失败", e);
+            }
+            slot.clear();
+            head = seq + 1;
+        }
+    }
+
+    private String format(Slot slot) {
+        StringBuilder sb = line;
+        sb.setLength(0);
+        sb.append("{\"ts\":\"");
+        DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochMilli(slot.startMillis), sb);
+        sb.append("\",\"id\":");
+        appendString(sb, slot.requestId);
+        sb.append(",\"method\":");
+        appendString(sb, slot.method);
+        sb.append(",\"path\":");
+        appendString(sb, slot.path);
+        if (slot.query != null) {
+            sb.append(",\"query\":");
+            appendString(sb, slot.query);
+        }
+        sb.append(",\"ip\":");
+        appendString(sb, slot.clientIp);
+        if (slot.routeId != null) {
+            sb.append(",\"route\":");
+            appendString(sb, slot.routeId);
+        }
+        sb.append(",\"status\":").append(slot.status);
+        sb.append(",\"ms\":").append(slot.durationNanos / 1_000_000)
+                .append('.').append(slot.durationNanos / 100_000 % 10);
+        sb.append('}');
+        return sb.toString();
+    }
+
+    private static void appendString(StringBuilder sb, String value) {
+        if (value == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    private void registerCounter(MeterRegistry meterRegistry, String outcome, LongAdder adder) {
+        FunctionCounter.builder("gateway.accesslog.events", adder, LongAdder::doubleValue)
+                .description("访问日志记录数")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 环形缓冲区槽位
+     */
+    private static final class Slot {
+
+        /**
+         * 已发布的序号，-1 表示空槽
+         */
+        volatile long sequence = -1;
+
+        String requestId;
+        String method;
+        String path;
+        String query;
+        String clientIp;
+        String routeId;
+        int status;
+        long durationNanos;
+        long startMillis;
+
+        void clear() {
+            requestId = null;
+            path = null;
+            query = null;
+            clientIp = null;
+            routeId = null;
+        }
+    }
+}
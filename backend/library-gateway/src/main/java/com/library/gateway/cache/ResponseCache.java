@@ -0,0 +1,181 @@
+package com.library.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.library.gateway.config.ResponseCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 网关响应缓存
+ *
+ * <p>缓存公开图书目录接口的完整响应体：
+ * <ul>
+ *     <li>键为请求路径 + 规范化后的查询参数</li>
+ *     <li>条目写入后按 TTL 过期，容量有上限，超出后按 W-TinyLFU 策略淘汰</li>
+ *     <li>每个条目携带基于响应体 SHA-256 的强 ETag</li>
+ *     <li>图书服务通知变更时按图书 ID 精确清除或整体清除</li>
+ *     <li>命中率、淘汰数等指标通过 /actuator/metrics/cache.* 暴露（cache=gatewayResponseCache）</li>
+ * </ul>
+ *
+ * @author Library Team
+ */
+@Slf4j
+@Component
+public class ResponseCache {
+
+    /**
+     * 指标中的缓存名称
+     */
+    private static final String CACHE_NAME = "gatewayResponseCache";
+
+    /**
+     * 图书接口路径前缀
+     */
+    private static final String BOOKS_PREFIX = "/api/books";
+
+    /**
+     * 分类接口路径前缀（分类响应包含图书数量）
+     */
+    private static final String CATEGORIES_PREFIX = "/api/categories";
+
+    private final Cache<String, CachedResponse> cache;
+
+    /**
+     * 缓存代数，每次清除时递增。
+     * 请求开始时记录代数，写入时代数已变化说明期间发生过清除，响应可能已过时，不再写入
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("响应缓存初始化完成, ttl={}, maximumSize={}", properties.getTtl(), properties.getMaximumSize());
+    }
+
+    /**
+     * 查询缓存
+     *
+     * @param key 缓存键
+     * @return 缓存的响应，未命中返回 null
+     */
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * 当前缓存代数
+     *
+     * @return 缓存代数
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * 写入缓存
+     *
+     * @param key         缓存键
+     * @param response    响应
+     * @param generation  请求开始时的缓存代数
+     */
+    public void put(String key, CachedResponse response, long generation) {
+        if (this.generation.get() != generation) {
+            return;
+        }
+        cache.put(key, response);
+        // 写入与清除并发时，再次确认，避免清除前的旧响应残留
+        if (this.generation.get() != generation) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * 清除指定图书相关的缓存：该图书自身的接口、所有列表、ISBN 查询等无法按 ID 区分的接口，
+     * 以及包含图书数量的分类接口。只有库存变化时分类接口不受影响，保留分类缓存
+     *
+     * @param bookId    图书 ID
+     * @param stockOnly 是否只有库存发生变化
+     */
+    public void purgeBook(Long bookId, boolean stockOnly) {
+        generation.incrementAndGet();
+        String id = String.valueOf(bookId);
+        cache.asMap().keySet().removeIf(key -> {
+            if (key.startsWith(CATEGORIES_PREFIX)) {
+                return !stockOnly;
+            }
+            if (!key.startsWith(BOOKS_PREFIX)) {
+                return false;
+            }
+            String keyBookId = extractBookId(key);
+            return keyBookId == null || keyBookId.equals(id);
+        });
+        log.debug("已清除图书 {} 相关的响应缓存, stockOnly={}", bookId, stockOnly);
+    }
+
+    /**
+     * 清除全部缓存
+     */
+    public void purgeAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+        log.debug("已清除全部响应缓存");
+    }
+
+    /**
+     * 从缓存键中解析 /api/books/{id} 形式的图书 ID
+     *
+     * @param key 缓存键
+     * @return 图书 ID，非按 ID 访问的接口返回 null
+     */
+    private String extractBookId(String key) {
+        int start = BOOKS_PREFIX.length();
+        if (key.length() <= start + 1 || key.charAt(start) != '/') {
+            return null;
+        }
+        int end = start + 1;
+        while (end < key.length() && Character.isDigit(key.charAt(end))) {
+            end++;
+        }
+        if (end == start + 1 || (end < key.length() && key.charAt(end) != '/' && key.charAt(end) != '?')) {
+            return null;
+        }
+        return key.substring(start + 1, end);
+    }
+
+    /**
+     * 计算强 ETag
+     *
+     * @param body 响应体
+     * @return 带引号的 ETag
+     */
+    public static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    /**
+     * 缓存的响应
+     *
+     * @param contentType 响应内容类型
+     * @param body        响应体
+     * @param etag        强 ETag
+     */
+    public record CachedResponse(String contentType, byte[] body, String etag) {
+    }
+}
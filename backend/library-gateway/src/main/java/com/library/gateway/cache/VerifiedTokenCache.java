@@ -0,0 +1,141 @@
+package com.library.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.library.gateway.config.JwtProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 已验证 Token 缓存
+ *
+ * <p>缓存 JWT 验签并解析后的用户信息，同一 Token 的后续请求无需再做 HMAC 验签和 JSON 解析：
+ * <ul>
+ *     <li>键为 SHA-256(密钥 + Token) 摘要，不保存原始 Token；密钥变更后旧条目自然失效</li>
+ *     <li>条目在 Token 的 exp 时刻过期</li>
+ *     <li>容量有上限，超出后按 W-TinyLFU 策略淘汰</li>
+ *     <li>命中率、淘汰数等指标通过 /actuator/metrics/cache.* 暴露（cache=gatewayTokenCache）</li>
+ * </ul>
+ *
+ * @author Library Team
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    /**
+     * 指标中的缓存名称
+     */
+    private static final String CACHE_NAME = "gatewayTokenCache";
+
+    private final boolean enabled;
+
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        this.enabled = jwtProperties.getCache().isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getCache().getMaximumSize())
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("Token 缓存初始化完成, enabled={}, maximumSize={}",
+                enabled, jwtProperties.getCache().getMaximumSize());
+    }
+
+    /**
+     * 查询已验证的 Token
+     *
+     * @param token  JWT Token
+     * @param secret 签名密钥
+     * @return 已验证的用户信息，未命中或已过期返回 null
+     */
+    public VerifiedToken get(String token, String secret) {
+        if (!enabled) {
+            return null;
+        }
+        VerifiedToken verified = cache.getIfPresent(digest(token, secret));
+        if (verified != null && verified.expiresAt() <= System.currentTimeMillis()) {
+            return null;
+        }
+        return verified;
+    }
+
+    /**
+     * 缓存已验证的 Token
+     *
+     * @param token    JWT Token
+     * @param secret   签名密钥
+     * @param verified 已验证的用户信息
+     */
+    public void put(String token, String secret, VerifiedToken verified) {
+        if (enabled) {
+            cache.put(digest(token, secret), verified);
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 计算缓存键
+     */
+    private String digest(String token, String secret) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(secret.getBytes(StandardCharsets.UTF_8));
+            md.update((byte) 0);
+            md.update(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    /**
+     * 按 Token exp 计算条目过期时间
+     */
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.expiresAt() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * 已验证的 Token 信息
+     *
+     * @param userId    用户 ID
+     * @param username  用户名
+     * @param role      用户角色
+     * @param expiresAt 过期时间（毫秒时间戳）
+     */
+    public record VerifiedToken(Long userId, String username, String role, long expiresAt) {
+    }
+}
@@ -0,0 +1,142 @@
+package com.library.gateway.concurrency;
+
+import com.library.gateway.config.ConcurrencyLimitProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 单个路由的自适应并发上限（Gradient 算法）
+ *
+ * <p>维护长期 RTT（EWMA）作为无排队时的基线，每个样本计算
+ * {@code gradient = clamp(tolerance × longRtt / rtt, 0.5, 1)}，新上限为
+ * {@code limit × gradient + sqrt(limit)}，再按平滑系数向新上限靠拢：
+ * <ul>
+ *     <li>RTT 接近基线时上限逐步增长（sqrt(limit) 为允许的排队余量）</li>
+ *     <li>RTT 明显高于基线（下游开始排队）时上限按比例收缩，最多减半</li>
+ *     <li>下游失败（5xx、超时）时按 backoffRatio 直接收缩</li>
+ *     <li>在途请求不足上限一半时不增长，避免空闲期上限虚高</li>
+ * </ul>
+ * 不同优先级可使用上限的不同比例，压力上升时低优先级请求先被拒绝
+ *
+ * @author Library Team
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final ConcurrencyLimitProperties properties;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private volatile double limit;
+
+    /**
+     * 长期 RTT（纳秒），0 表示尚无样本
+     */
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimit(ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        this.limit = properties.getInitialLimit();
+    }
+
+    /**
+     * 尝试获取并发许可
+     *
+     * @param priority 请求优先级
+     * @return 获取成功返回获取时的在途请求数（释放时需传回），失败返回 -1
+     */
+    public int tryAcquire(RequestPriority priority) {
+        double threshold = limit * share(priority);
+        while (true) {
+            int current = inflight.get();
+            if (current >= threshold) {
+                return -1;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * 请求成功完成，释放许可并记录 RTT 样本
+     *
+     * @param rttNanos          请求耗时
+     * @param inflightAtAcquire 获取许可时的在途请求数
+     */
+    public void onSuccess(long rttNanos, int inflightAtAcquire) {
+        inflight.decrementAndGet();
+        if (rttNanos > 0) {
+            sample(rttNanos, inflightAtAcquire);
+        }
+    }
+
+    /**
+     * 下游失败，释放许可并收缩上限
+     */
+    public synchronized void onDropped() {
+        inflight.decrementAndGet();
+        limit = clamp(limit * properties.getBackoffRatio());
+    }
+
+    /**
+     * 请求被取消，仅释放许可
+     */
+    public void onIgnore() {
+        inflight.decrementAndGet();
+    }
+
+    private synchronized void sample(long rttNanos, int inflightAtAcquire) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            double alpha = 2.0 / (properties.getLongWindow() + 1);
+            longRttNanos = longRttNanos * (1 - alpha) + rttNanos * alpha;
+        }
+
+        // 长期 RTT 远高于当前 RTT 时（如下游恢复后），加速回落基线
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        double current = limit;
+        double gradient = Math.max(0.5, Math.min(1.0, properties.getRttTolerance() * longRttNanos / rttNanos));
+        double newLimit = current * gradient + Math.sqrt(current);
+
+        // 负载不足一半时不增长
+        if (newLimit > current && inflightAtAcquire < current / 2) {
+            return;
+        }
+        double smoothing = properties.getSmoothing();
+        limit = clamp(current * (1 - smoothing) + newLimit * smoothing);
+    }
+
+    private double clamp(double value) {
+        return Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), value));
+    }
+
+    private double share(RequestPriority priority) {
+        return switch (priority) {
+            case CRITICAL -> 1.0;
+            case NORMAL -> properties.getNormalShare();
+            case LOW -> properties.getLowShare();
+        };
+    }
+
+    /**
+     * 当前并发上限
+     *
+     * @return 并发上限
+     */
+    public double getLimit() {
+        return limit;
+    }
+
+    /**
+     * 当前在途请求数
+     *
+     * @return 在途请求数
+     */
+    public int getInflight() {
+        return inflight.get();
+    }
+}
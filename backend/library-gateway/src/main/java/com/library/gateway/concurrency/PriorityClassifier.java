@@ -0,0 +1,79 @@
+package com.library.gateway.concurrency;
+
+import com.library.gateway.config.ConcurrencyLimitProperties;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/**
+ * 请求优先级分类器
+ *
+ * <p>按配置的 "METHOD /path" 规则将请求分为高、普通、低三个优先级，未命中任何规则的请求为普通优先级
+ *
+ * @author Library Team
+ */
+@Component
+public class PriorityClassifier {
+
+    private final List<Rule> criticalRules;
+    private final List<Rule> lowRules;
+
+    public PriorityClassifier(ConcurrencyLimitProperties properties) {
+        this.criticalRules = properties.getCriticalPaths().stream().map(PriorityClassifier::parse).toList();
+        this.lowRules = properties.getLowPaths().stream().map(PriorityClassifier::parse).toList();
+    }
+
+    /**
+     * 判断请求优先级
+     *
+     * @param request HTTP 请求
+     * @return 请求优先级
+     */
+    public RequestPriority classify(ServerHttpRequest request) {
+        PathContainer path = request.getPath().pathWithinApplication();
+        HttpMethod method = request.getMethod();
+        if (matchesAny(criticalRules, method, path)) {
+            return RequestPriority.CRITICAL;
+        }
+        if (matchesAny(lowRules, method, path)) {
+            return RequestPriority.LOW;
+        }
+        return RequestPriority.NORMAL;
+    }
+
+    private static boolean matchesAny(List<Rule> rules, HttpMethod method, PathContainer path) {
+        for (Rule rule : rules) {
+            if ((rule.method() == null || rule.method() == method) && rule.pattern().matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 解析 "METHOD /path" 或 "/path" 形式的规则
+     */
+    private static Rule parse(String expression) {
+        String value = expression.trim();
+        int space = value.indexOf(' ');
+        if (space < 0) {
+            return new Rule(null, PathPatternParser.defaultInstance.parse(value));
+        }
+        HttpMethod method = HttpMethod.valueOf(value.substring(0, space).trim().toUpperCase());
+        return new Rule(method, PathPatternParser.defaultInstance.parse(value.substring(space + 1).trim()));
+    }
+
+    /**
+     * 分类规则
+     *
+     * @param method  限定的请求方法，null 表示不限
+     * @param pattern 路径模式
+     */
+    private record Rule(HttpMethod method, PathPattern pattern) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.library.gateway.concurrency;
+
+/**
+ * 请求优先级
+ *
+ * @author Library Team
+ */
+public enum RequestPriority {
+
+    /**
+     * 高优先级：借书、还书、续借
+     */
+    CRITICAL,
+
+    /**
+     * 普通优先级：图书浏览等其他请求
+     */
+    NORMAL,
+
+    /**
+     * 低优先级：管理端列表、统计、导出
+     */
+    LOW
+}
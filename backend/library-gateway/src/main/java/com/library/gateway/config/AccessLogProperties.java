@@ -0,0 +1,33 @@
+package com.library.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 访问日志配置属性
+ *
+ * <p>日志文件位置与滚动策略见 logback-spring.xml 中的 ACCESS_LOG appender
+ *
+ * @author Library Team
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "library.access-log")
+public class AccessLogProperties {
+
+    /**
+     * 是否记录访问日志
+     */
+    private boolean enabled = true;
+
+    /**
+     * 环形缓冲区容量（向上取整为 2 的幂），写满时新记录被丢弃并计数
+     */
+    private int bufferSize = 8192;
+
+    /**
+     * 状态码小于 400 的请求的采样比例（0~1），4xx / 5xx 始终记录
+     */
+    private double successSampleRate = 1.0;
+}
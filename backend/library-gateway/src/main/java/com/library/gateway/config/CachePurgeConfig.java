@@ -0,0 +1,35 @@
+package com.library.gateway.config;
+
+import com.library.gateway.handler.CachePurgeHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * 缓存清除路由配置
+ *
+ * <p>该路由由网关自身处理，不转发到下游服务
+ *
+ * @author Library Team
+ */
+@Configuration
+@RequiredArgsConstructor
+public class CachePurgeConfig {
+
+    private final CachePurgeHandler cachePurgeHandler;
+
+    /**
+     * 配置缓存清除路由
+     *
+     * @return RouterFunction
+     */
+    @Bean
+    public RouterFunction<ServerResponse> cachePurgeRouter() {
+        return RouterFunctions.route()
+                .POST("/internal/cache/purge", cachePurgeHandler)
+                .build();
+    }
+}
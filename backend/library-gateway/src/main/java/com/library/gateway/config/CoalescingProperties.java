@@ -0,0 +1,36 @@
+package com.library.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 请求合并配置属性
+ *
+ * <p>相同的匿名 GET 请求并发到达时只转发一次，其余请求共享同一份响应
+ *
+ * @author Library Team
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "library.coalescing")
+public class CoalescingProperties {
+
+    /**
+     * 是否启用请求合并
+     */
+    private boolean enabled = true;
+
+    /**
+     * 可共享的响应体最大字节数，超出时等待中的请求各自转发
+     */
+    private int maxBodyBytes = 1024 * 1024;
+
+    /**
+     * 参与合并的路径（仅匿名 GET 请求）
+     */
+    private List<String> paths = new ArrayList<>(List.of("/api/books/**", "/api/categories/**"));
+}
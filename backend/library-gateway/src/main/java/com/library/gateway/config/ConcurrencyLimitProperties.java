@@ -0,0 +1,86 @@
+package com.library.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 自适应并发限制配置属性
+ *
+ * <p>每个路由维护一个根据观测到的 RTT 自动调整的并发上限，
+ * 请求按优先级分类，压力上升时低优先级请求先被拒绝
+ *
+ * @author Library Team
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "library.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * 是否启用自适应并发限制
+     */
+    private boolean enabled = true;
+
+    /**
+     * 初始并发上限
+     */
+    private int initialLimit = 20;
+
+    /**
+     * 最小并发上限
+     */
+    private int minLimit = 5;
+
+    /**
+     * 最大并发上限
+     */
+    private int maxLimit = 200;
+
+    /**
+     * 允许的 RTT 放大倍数：短期 RTT 不超过长期 RTT 的该倍数时不收缩上限
+     */
+    private double rttTolerance = 1.5;
+
+    /**
+     * 上限调整的平滑系数（0~1，越大调整越快）
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * 长期 RTT 的 EWMA 窗口（样本数）
+     */
+    private int longWindow = 600;
+
+    /**
+     * 下游失败（5xx、超时）时上限的收缩比例
+     */
+    private double backoffRatio = 0.9;
+
+    /**
+     * 普通优先级请求可使用的并发上限比例
+     */
+    private double normalShare = 0.8;
+
+    /**
+     * 低优先级请求可使用的并发上限比例
+     */
+    private double lowShare = 0.5;
+
+    /**
+     * 高优先级请求（借书、还书、续借），格式为 "METHOD /path" 或 "/path"
+     */
+    private List<String> criticalPaths = new ArrayList<>(List.of(
+            "POST /api/borrow", "POST /api/borrow/batch", "POST /api/return", "POST /api/renew"));
+
+    /**
+     * 低优先级请求（管理端列表、统计、导入导出、批量还书），格式同上。
+     * 批量还书是管理员处理还书箱的后台操作，被拒绝后可重试，不与学生借还书争抢并发
+     */
+    private List<String> lowPaths = new ArrayList<>(List.of(
+            "GET /api/borrow/all", "GET /api/borrow/user/**", "GET /api/borrow/statistics/**",
+            "POST /api/books/import", "GET /api/books/export", "POST /api/return/batch"));
+}
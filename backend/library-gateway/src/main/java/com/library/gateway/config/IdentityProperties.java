@@ -0,0 +1,34 @@
+package com.library.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 签名身份头配置
+ * 
+ * <p>网关解析 JWT 后，对写入下游的 X-User-* 请求头做 HMAC 签名，
+ * 下游服务使用相同的 secret 在本地验签，无需逐请求回调认证服务
+ *
+ * @author Library Team
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "library.identity")
+public class IdentityProperties {
+
+    /**
+     * 是否对身份头签名
+     */
+    private boolean enabled = true;
+
+    /**
+     * 签名密钥（需与下游服务 library.identity.secret 一致）
+     */
+    private String secret = "LibraryIdentityHeaderSecretKey2024ChangeMeInProduction";
+
+    /**
+     * 校验内部调用（如缓存清除通知）签名时允许的最大时间偏差（秒）
+     */
+    private long maxSkewSeconds = 300;
+}
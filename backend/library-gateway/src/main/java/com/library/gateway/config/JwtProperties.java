@@ -14,6 +14,7 @@ import java.util.List;
  * <ul>
  *     <li>secret：JWT 签名密钥</li>
  *     <li>whitelist：不需要认证的白名单路径</li>
+ *     <li>cache：已验证 Token 的本地缓存</li>
  * </ul>
  *
  * @author Library Team
@@ -42,4 +43,26 @@ public class JwtProperties {
      * 白名单路径列表（不需要认证）
      */
     private List<String> whitelist = new ArrayList<>();
+
+    /**
+     * 已验证 Token 缓存配置
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * 已验证 Token 缓存配置
+     */
+    @Data
+    public static class Cache {
+
+        /**
+         * 是否启用缓存
+         */
+        private boolean enabled = true;
+
+        /**
+         * 最大缓存条目数
+         */
+        private long maximumSize = 100_000;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.library.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 限流配置属性
+ *
+ * <p>各路由的速率与容量在路由的 RateLimiter 过滤器参数中配置，这里只包含全局开关和令牌桶表的维护参数
+ *
+ * @author Library Team
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "library.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * 是否启用限流
+     */
+    private boolean enabled = true;
+
+    /**
+     * 令牌桶空闲多久（且已回满）后被清理
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * 网关前受信任的反向代理层数：0 表示网关直接面向客户端，按 TCP 连接的对端地址限流；
+     * N 表示取 X-Forwarded-For 从右数第 N 个地址（由受信任代理追加，客户端伪造的值在其左侧）
+     */
+    private int trustedProxies = 0;
+}
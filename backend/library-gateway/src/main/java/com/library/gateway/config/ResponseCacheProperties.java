@@ -0,0 +1,48 @@
+package com.library.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 响应缓存配置属性
+ *
+ * <p>对公开的图书目录 GET 接口在网关本地缓存响应，
+ * 由图书服务在数据变更后通知网关清除
+ *
+ * @author Library Team
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "library.response-cache")
+public class ResponseCacheProperties {
+
+    /**
+     * 是否启用响应缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 缓存条目存活时间（写入后计时，兜底丢失的清除通知）
+     */
+    private Duration ttl = Duration.ofSeconds(60);
+
+    /**
+     * 最大缓存条目数
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * 单个响应体允许缓存的最大字节数，超出则不缓存
+     */
+    private int maxBodyBytes = 256 * 1024;
+
+    /**
+     * 可缓存的路径（仅 GET 请求）
+     */
+    private List<String> paths = new ArrayList<>(List.of("/api/books/**", "/api/categories/**"));
+}
@@ -0,0 +1,44 @@
+package com.library.gateway.config;
+
+import com.library.gateway.metrics.RouteTiming;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.util.context.ContextView;
+
+/**
+ * 路由延迟统计配置
+ *
+ * <p>为网关转发使用的 HttpClient 注册回调，在请求发往下游和收到下游响应头时标记 {@link RouteTiming}
+ *
+ * @author Library Team
+ */
+@Configuration
+public class RouteLatencyConfig {
+
+    /**
+     * 下游请求计时回调
+     *
+     * @return HttpClientCustomizer
+     */
+    @Bean
+    public HttpClientCustomizer routeTimingHttpClientCustomizer() {
+        return httpClient -> httpClient
+                .doOnRequest((request, connection) -> {
+                    RouteTiming timing = timing(request.currentContextView());
+                    if (timing != null) {
+                        timing.markRequestSent();
+                    }
+                })
+                .doOnResponse((response, connection) -> {
+                    RouteTiming timing = timing(response.currentContextView());
+                    if (timing != null) {
+                        timing.markResponseReceived();
+                    }
+                });
+    }
+
+    private static RouteTiming timing(ContextView context) {
+        return context.getOrDefault(RouteTiming.CONTEXT_KEY, null);
+    }
+}
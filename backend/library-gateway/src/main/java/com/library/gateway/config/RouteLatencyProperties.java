@@ -0,0 +1,50 @@
+package com.library.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 路由延迟指标配置属性
+ *
+ * @author Library Team
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "library.route-latency")
+public class RouteLatencyProperties {
+
+    /**
+     * 是否记录路由延迟指标
+     */
+    private boolean enabled = true;
+
+    /**
+     * 是否为总耗时发布直方图桶（供 Prometheus 聚合计算分位数）
+     */
+    private boolean percentileHistogram = true;
+
+    /**
+     * 进程内计算的分位数（/actuator/routelatency 展示）
+     */
+    private List<Double> percentiles = new ArrayList<>(List.of(0.5, 0.9, 0.99, 0.999));
+
+    /**
+     * 直方图下界
+     */
+    private Duration minimumExpectedValue = Duration.ofMillis(1);
+
+    /**
+     * 直方图上界
+     */
+    private Duration maximumExpectedValue = Duration.ofSeconds(30);
+
+    /**
+     * 分位数统计窗口
+     */
+    private Duration expiry = Duration.ofMinutes(2);
+}
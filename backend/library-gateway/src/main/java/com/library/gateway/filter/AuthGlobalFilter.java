@@ -2,9 +2,15 @@ package com.library.gateway.filter;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.gateway.cache.VerifiedTokenCache;
+import com.library.gateway.cache.VerifiedTokenCache.VerifiedToken;
+import com.library.gateway.config.IdentityProperties;
 import com.library.gateway.config.JwtProperties;
+import com.library.gateway.util.IdentitySignUtil;
 import com.library.gateway.util.JwtUtil;
+import com.library.gateway.util.WhitelistMatcher;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
@@ -18,13 +24,13 @@ import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -35,6 +41,7 @@ import java.util.Map;
  *     <li>白名单路径直接放行</li>
  *     <li>其他路径验证 Token 有效性</li>
  *     <li>验证通过后将用户信息放入请求头传递给下游服务</li>
+ *     <li>身份头附带 HMAC 签名，下游服务本地验签，无需回调认证服务</li>
  * </ul>
  *
  * @author Library Team
@@ -46,10 +53,12 @@ public class AuthGlobalFilter implements GlobalFilter, Ordered {
 
     private final JwtProperties jwtProperties;
     private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final IdentityProperties identityProperties;
+    private final IdentitySignUtil identitySignUtil;
+    private final WhitelistMatcher whitelistMatcher;
     private final ObjectMapper objectMapper;
 
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
-
     /**
      * 用户 ID 请求头名称
      */
@@ -65,18 +74,44 @@ public class AuthGlobalFilter implements GlobalFilter, Ordered {
      */
     private static final String USER_ROLE_HEADER = "X-User-Role";
 
+    /**
+     * 身份签名时间戳请求头名称
+     */
+    private static final String USER_TIMESTAMP_HEADER = "X-User-Timestamp";
+
+    /**
+     * 身份签名请求头名称
+     */
+    private static final String USER_SIGNATURE_HEADER = "X-User-Signature";
+
+    /**
+     * 全部身份头（仅允许网关写入）
+     */
+    private static final List<String> IDENTITY_HEADERS = List.of(
+            USER_ID_HEADER, USERNAME_HEADER, USER_ROLE_HEADER, USER_TIMESTAMP_HEADER, USER_SIGNATURE_HEADER);
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        ServerHttpRequest request = exchange.getRequest();
+        // 移除客户端伪造的身份头，身份头只能由网关写入
+        ServerHttpRequest request = stripIdentityHeaders(exchange.getRequest());
         String path = request.getURI().getPath();
         HttpMethod method = request.getMethod();
 
         log.debug("Gateway 收到请求: {} {}", method, path);
 
         // 检查是否是白名单路径
-        if (isWhitelistPath(path, method)) {
+        if (whitelistMatcher.matches(request.getPath().pathWithinApplication(), method)) {
             log.debug("白名单路径放行: {}", path);
-            return chain.filter(exchange);
+            // 携带有效 Token 时同样附加签名身份，避免下游再回调认证服务
+            String token = getToken(request);
+            if (StringUtils.hasText(token)) {
+                try {
+                    request = withIdentity(request, verifyToken(token));
+                } catch (Exception e) {
+                    log.debug("白名单路径 Token 无效，忽略: {}", e.getMessage());
+                }
+            }
+            return chain.filter(exchange.mutate().request(request).build());
         }
 
         // 获取 Token
@@ -86,75 +121,99 @@ public class AuthGlobalFilter implements GlobalFilter, Ordered {
             return unauthorizedResponse(exchange, "请先登录");
         }
 
-        // 验证 Token
+        // 验证并解析 Token（优先命中已验证 Token 缓存）
+        VerifiedToken verified;
         try {
-            if (!jwtUtil.validateToken(token, jwtProperties.getSecret())) {
-                log.warn("Token 验证失败或已过期: {}", path);
-                return unauthorizedResponse(exchange, "登录已过期，请重新登录");
-            }
-
-            // 解析 Token 获取用户信息
-            Claims claims = jwtUtil.parseToken(token, jwtProperties.getSecret());
-            Long userId = claims.get("userId", Long.class);
-            String username = claims.getSubject();
-            String role = claims.get("role", String.class);
-
-            log.debug("Token 验证成功, userId={}, username={}, role={}", userId, username, role);
-
-            // 将用户信息放入请求头，传递给下游服务
-            ServerHttpRequest mutatedRequest = request.mutate()
-                    .header(USER_ID_HEADER, String.valueOf(userId))
-                    .header(USERNAME_HEADER, username)
-                    .header(USER_ROLE_HEADER, role)
-                    .build();
-
-            return chain.filter(exchange.mutate().request(mutatedRequest).build());
-
+            verified = verifyToken(token);
+        } catch (JwtException e) {
+            log.warn("Token 验证失败或已过期: {}, {}", path, e.getMessage());
+            return unauthorizedResponse(exchange, "登录已过期，请重新登录");
         } catch (Exception e) {
             log.error("Token 解析异常: {}", e.getMessage());
             return unauthorizedResponse(exchange, "无效的 Token");
         }
+
+        // 将用户信息放入请求头，传递给下游服务
+        ServerHttpRequest mutatedRequest = withIdentity(request, verified);
+
+        return chain.filter(exchange.mutate().request(mutatedRequest).build());
     }
 
     /**
-     * 检查是否是白名单路径
+     * 验证 Token 并提取用户信息
+     *
+     * <p>缓存未命中时做一次验签解析（同时校验 exp），结果缓存至 Token 过期
      *
-     * @param path   请求路径
-     * @param method 请求方法
-     * @return true-是白名单路径
+     * @param token JWT Token
+     * @return 已验证的用户信息
+     * @throws JwtException 验签失败或已过期
      */
-    private boolean isWhitelistPath(String path, HttpMethod method) {
-        // 配置文件中的白名单
-        for (String pattern : jwtProperties.getWhitelist()) {
-            if (pathMatcher.match(pattern, path)) {
-                return true;
-            }
+    private VerifiedToken verifyToken(String token) {
+        String secret = jwtProperties.getSecret();
+        VerifiedToken verified = verifiedTokenCache.get(token, secret);
+        if (verified != null) {
+            return verified;
         }
 
-        // 内置白名单规则
-        // 1. 登录、注册、退出接口
-        if (pathMatcher.match("/api/auth/login", path) ||
-            pathMatcher.match("/api/auth/register", path) ||
-            pathMatcher.match("/api/auth/logout", path)) {
-            return true;
+        Claims claims = jwtUtil.parseToken(token, secret);
+        verified = new VerifiedToken(
+                claims.get("userId", Long.class),
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.getExpiration().getTime());
+        verifiedTokenCache.put(token, secret, verified);
+        return verified;
+    }
+
+    /**
+     * 将用户信息及其签名写入请求头
+     *
+     * @param request  HTTP 请求
+     * @param verified 已验证的用户信息
+     * @return 携带身份头的请求
+     */
+    private ServerHttpRequest withIdentity(ServerHttpRequest request, VerifiedToken verified) {
+        String userId = String.valueOf(verified.userId());
+        String username = verified.username();
+        String role = verified.role();
+
+        log.debug("Token 验证成功, userId={}, username={}, role={}", userId, username, role);
+
+        ServerHttpRequest.Builder builder = request.mutate()
+                .header(USER_ID_HEADER, userId)
+                .header(USERNAME_HEADER, username)
+                .header(USER_ROLE_HEADER, role);
+
+        if (identityProperties.isEnabled()) {
+            long timestamp = System.currentTimeMillis();
+            builder.header(USER_TIMESTAMP_HEADER, String.valueOf(timestamp))
+                    .header(USER_SIGNATURE_HEADER,
+                            identitySignUtil.sign(userId, username, role, timestamp, identityProperties.getSecret()));
         }
+        return builder.build();
+    }
 
-        // 2. 图书查询接口（GET 请求）
-        if (method == HttpMethod.GET) {
-            if (pathMatcher.match("/api/books", path) ||
-                pathMatcher.match("/api/books/**", path) ||
-                pathMatcher.match("/api/categories", path) ||
-                pathMatcher.match("/api/categories/**", path)) {
-                return true;
+    /**
+     * 移除请求中已有的身份头
+     *
+     * @param request HTTP 请求
+     * @return 不含身份头的请求
+     */
+    private ServerHttpRequest stripIdentityHeaders(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        boolean present = false;
+        for (String name : IDENTITY_HEADERS) {
+            if (headers.containsKey(name)) {
+                present = true;
+                break;
             }
         }
-
-        // 3. 健康检查接口
-        if (pathMatcher.match("/actuator/**", path)) {
-            return true;
+        if (!present) {
+            return request;
         }
-
-        return false;
+        return request.mutate()
+                .headers(h -> IDENTITY_HEADERS.forEach(h::remove))
+                .build();
     }
 
     /**
@@ -0,0 +1,220 @@
+package com.library.gateway.filter;
+
+import com.library.gateway.config.CoalescingProperties;
+import com.library.gateway.config.JwtProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 请求合并（single-flight）过滤器
+ *
+ * <p>同一缓存键的匿名 GET 请求已有一个在转发中时，后到的请求不再转发，
+ * 而是等待该请求完成并复用其响应状态、响应头和响应体。
+ * 转发完成即移除在途记录，之后的请求重新转发，不会拿到过时数据。
+ * 首个请求未产生可共享的响应（出错、取消或响应体过大）时，等待中的请求各自转发。
+ *
+ * <p>指标：
+ * <ul>
+ *     <li>gateway.coalescing.requests{role=leader}：实际转发的请求数</li>
+ *     <li>gateway.coalescing.requests{role=follower}：被合并的请求数</li>
+ *     <li>gateway.coalescing.inflight：在途的转发数</li>
+ * </ul>
+ * 合并率 = follower / (leader + follower)
+ *
+ * @author Library Team
+ */
+@Slf4j
+@Component
+public class CoalescingFilter implements GlobalFilter, Ordered {
+
+    /**
+     * 过滤器顺序：在响应缓存过滤器之后执行，只合并缓存未命中的请求
+     */
+    public static final int ORDER = ResponseCacheFilter.ORDER + 5;
+
+    private static final String METRIC_REQUESTS = "gateway.coalescing.requests";
+
+    private final CoalescingProperties properties;
+    private final JwtProperties jwtProperties;
+    private final List<PathPattern> patterns;
+
+    /**
+     * 在途的转发：缓存键 -> 共享响应
+     */
+    private final Map<String, Sinks.One<SharedResponse>> inflight = new ConcurrentHashMap<>();
+
+    private final Counter leaderCounter;
+    private final Counter followerCounter;
+
+    public CoalescingFilter(CoalescingProperties properties, JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jwtProperties = jwtProperties;
+        this.patterns = properties.getPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        this.leaderCounter = Counter.builder(METRIC_REQUESTS)
+                .description("参与合并判断的匿名 GET 请求数")
+                .tag("role", "leader")
+                .register(meterRegistry);
+        this.followerCounter = Counter.builder(METRIC_REQUESTS)
+                .description("参与合并判断的匿名 GET 请求数")
+                .tag("role", "follower")
+                .register(meterRegistry);
+        Gauge.builder("gateway.coalescing.inflight", inflight, Map::size)
+                .description("在途的合并转发数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.isEnabled()
+                || request.getMethod() != HttpMethod.GET
+                || StringUtils.hasText(request.getHeaders().getFirst(jwtProperties.getHeader()))
+                || !isCoalescingPath(request.getPath().pathWithinApplication())) {
+            return chain.filter(exchange);
+        }
+
+        String key = ResponseCacheFilter.cacheKey(request);
+        Sinks.One<SharedResponse> sink = Sinks.one();
+        Sinks.One<SharedResponse> existing = inflight.putIfAbsent(key, sink);
+
+        if (existing != null) {
+            followerCounter.increment();
+            log.debug("合并请求: {}", key);
+            return existing.asMono()
+                    .flatMap(shared -> writeShared(exchange.getResponse(), shared).thenReturn(Boolean.TRUE))
+                    .switchIfEmpty(Mono.defer(() -> chain.filter(exchange).thenReturn(Boolean.TRUE)))
+                    .then();
+        }
+
+        leaderCounter.increment();
+        ServerHttpResponse decorated = new CapturingResponseDecorator(exchange.getResponse(), key, sink);
+        return chain.filter(exchange.mutate().response(decorated).build())
+                .doFinally(signal -> {
+                    // 未产生共享响应时，让等待中的请求各自转发
+                    inflight.remove(key, sink);
+                    sink.tryEmitEmpty();
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /**
+     * 是否是参与合并的路径
+     */
+    private boolean isCoalescingPath(PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 将共享响应写入当前请求，保留当前请求已有的响应头（如 CORS）
+     */
+    private Mono<Void> writeShared(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.status());
+        HttpHeaders headers = response.getHeaders();
+        shared.headers().forEach((name, values) -> {
+            if (!headers.containsKey(name)) {
+                headers.put(name, values);
+            }
+        });
+        headers.setContentLength(shared.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    /**
+     * 是否是可共享的响应头（排除逐跳头、长度和 CORS 头）
+     */
+    private static boolean isShareableHeader(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        return !lower.startsWith("access-control-")
+                && !lower.equals("content-length")
+                && !lower.equals("transfer-encoding")
+                && !lower.equals("connection")
+                && !lower.equals("vary");
+    }
+
+    /**
+     * 捕获首个请求响应的装饰器
+     */
+    private class CapturingResponseDecorator extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final Sinks.One<SharedResponse> sink;
+
+        CapturingResponseDecorator(ServerHttpResponse delegate, String key, Sinks.One<SharedResponse> sink) {
+            super(delegate);
+            this.key = key;
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                HttpStatusCode status = getDelegate().getStatusCode();
+                if (status != null && bytes.length <= properties.getMaxBodyBytes()) {
+                    HttpHeaders headers = new HttpHeaders();
+                    getDelegate().getHeaders().forEach((name, values) -> {
+                        if (isShareableHeader(name)) {
+                            headers.put(name, List.copyOf(values));
+                        }
+                    });
+                    // 先移除在途记录再发布，之后到达的请求重新转发
+                    inflight.remove(key, sink);
+                    sink.tryEmitValue(new SharedResponse(status, headers, bytes));
+                }
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+    }
+
+    /**
+     * 共享的响应
+     *
+     * @param status  响应状态
+     * @param headers 响应头
+     * @param body    响应体
+     */
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+}
@@ -0,0 +1,156 @@
+package com.library.gateway.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.gateway.concurrency.AdaptiveConcurrencyLimit;
+import com.library.gateway.concurrency.PriorityClassifier;
+import com.library.gateway.concurrency.RequestPriority;
+import com.library.gateway.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 自适应并发限制过滤器
+ *
+ * <p>按路由维护 {@link AdaptiveConcurrencyLimit}，请求按 {@link PriorityClassifier} 分级后申请并发许可，
+ * 超出所在优先级可用的并发上限时立即返回 503，而不是在下游排队直到连接池超时。
+ * 在响应缓存和请求合并之后执行，命中缓存或被合并的请求不占用许可。
+ *
+ * <p>指标：
+ * <ul>
+ *     <li>gateway.concurrency.limit{route}：当前并发上限</li>
+ *     <li>gateway.concurrency.inflight{route}：在途请求数</li>
+ *     <li>gateway.concurrency.rejected{route, priority}：被拒绝的请求数</li>
+ * </ul>
+ *
+ * @author Library Team
+ */
+@Slf4j
+@Component
+public class ConcurrencyLimitFilter implements GlobalFilter, Ordered {
+
+    /**
+     * 过滤器顺序：在请求合并过滤器之后执行
+     */
+    public static final int ORDER = CoalescingFilter.ORDER + 5;
+
+    private final ConcurrencyLimitProperties properties;
+    private final PriorityClassifier priorityClassifier;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 路由 ID -> 并发上限
+     */
+    private final Map<String, AdaptiveConcurrencyLimit> limits = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties,
+                                  PriorityClassifier priorityClassifier,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.priorityClassifier = priorityClassifier;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null) {
+            return chain.filter(exchange);
+        }
+
+        AdaptiveConcurrencyLimit limit = limits.computeIfAbsent(route.getId(), this::createLimit);
+        RequestPriority priority = priorityClassifier.classify(exchange.getRequest());
+        int inflightAtAcquire = limit.tryAcquire(priority);
+        if (inflightAtAcquire < 0) {
+            log.warn("并发超限，拒绝请求: route={}, priority={}, limit={}, inflight={}",
+                    route.getId(), priority, (int) limit.getLimit(), limit.getInflight());
+            meterRegistry.counter("gateway.concurrency.rejected",
+                    "route", route.getId(), "priority", priority.name()).increment();
+            return serviceUnavailable(exchange);
+        }
+
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            if (signal == SignalType.CANCEL) {
+                limit.onIgnore();
+                return;
+            }
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            if (signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError())) {
+                limit.onDropped();
+            } else {
+                limit.onSuccess(System.nanoTime() - start, inflightAtAcquire);
+            }
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private AdaptiveConcurrencyLimit createLimit(String routeId) {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(properties);
+        Gauge.builder("gateway.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("路由当前的自适应并发上限")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limit, AdaptiveConcurrencyLimit::getInflight)
+                .description("路由在途请求数")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return limit;
+    }
+
+    /**
+     * 返回 503 响应
+     *
+     * @param exchange ServerWebExchange
+     * @return Mono<Void>
+     */
+    private Mono<Void> serviceUnavailable(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("code", HttpStatus.SERVICE_UNAVAILABLE.value());
+        result.put("message", "系统繁忙，请稍后重试");
+        result.put("data", null);
+        result.put("timestamp", System.currentTimeMillis());
+
+        try {
+            byte[] bytes = objectMapper.writeValueAsString(result).getBytes(StandardCharsets.UTF_8);
+            DataBuffer buffer = response.bufferFactory().wrap(bytes);
+            return response.writeWith(Mono.just(buffer));
+        } catch (JsonProcessingException e) {
+            log.error("JSON 序列化失败", e);
+            return response.setComplete();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.library.gateway.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.gateway.config.RateLimitProperties;
+import com.library.gateway.ratelimit.TokenBucketTable;
+import com.library.gateway.ratelimit.TokenBucketTable.Acquisition;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 本地令牌桶限流过滤器工厂
+ *
+ * <p>在路由上配置，按路由分别限流：
+ * <pre>
+ * filters:
+ *   - name: RateLimiter
+ *     args:
+ *       replenishRate: 1
+ *       burstCapacity: 5
+ *       keyType: IP
+ * </pre>
+ * keyType 为 USER 时按网关解析出的用户 ID 限流，匿名请求按客户端 IP 限流；为 IP 时始终按客户端 IP 限流。
+ * 客户端 IP 取 TCP 连接的对端地址，网关部署在反向代理之后时按 library.rate-limit.trusted-proxies
+ * 只信任代理追加的 X-Forwarded-For 条目，客户端自带的代理头不影响限流键。
+ * 超出限制时返回 429 并携带 Retry-After（秒），被拒绝次数通过 gateway.ratelimit.rejected 指标暴露
+ *
+ * @author Library Team
+ */
+@Slf4j
+@Component
+public class RateLimiterGatewayFilterFactory extends AbstractGatewayFilterFactory<RateLimiterGatewayFilterFactory.Config> {
+
+    /**
+     * 用户 ID 请求头名称（由 AuthGlobalFilter 写入，客户端传入的同名头已被移除）
+     */
+    private static final String USER_ID_HEADER = "X-User-Id";
+
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final TokenBucketTable tokenBucketTable;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final RemoteAddressResolver remoteAddressResolver;
+
+    public RateLimiterGatewayFilterFactory(TokenBucketTable tokenBucketTable,
+                                           RateLimitProperties properties,
+                                           ObjectMapper objectMapper,
+                                           MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.tokenBucketTable = tokenBucketTable;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.remoteAddressResolver = properties.getTrustedProxies() > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(properties.getTrustedProxies())
+                : new RemoteAddressResolver() {
+                };
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("replenishRate", "burstCapacity", "keyType");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            if (!properties.isEnabled()) {
+                return chain.filter(exchange);
+            }
+
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "unknown";
+            String key = routeId + ":" + resolveKey(exchange, config.getKeyType());
+
+            Acquisition acquisition = tokenBucketTable.tryAcquire(
+                    key, config.getReplenishRate(), config.getBurstCapacity());
+            exchange.getResponse().getHeaders().set(REMAINING_HEADER, String.valueOf(acquisition.remaining()));
+            if (acquisition.allowed()) {
+                return chain.filter(exchange);
+            }
+
+            log.warn("请求被限流: {} {}, key={}", exchange.getRequest().getMethod(),
+                    exchange.getRequest().getURI().getPath(), key);
+            meterRegistry.counter("gateway.ratelimit.rejected", "route", routeId).increment();
+            return tooManyRequests(exchange, acquisition.retryAfterMillis());
+        };
+    }
+
+    /**
+     * 解析限流键
+     */
+    private String resolveKey(ServerWebExchange exchange, KeyType keyType) {
+        if (keyType == KeyType.USER) {
+            String userId = exchange.getRequest().getHeaders().getFirst(USER_ID_HEADER);
+            if (StringUtils.hasText(userId)) {
+                return "user:" + userId;
+            }
+        }
+        InetSocketAddress address = remoteAddressResolver.resolve(exchange);
+        if (address == null || address.getAddress() == null) {
+            return "ip:unknown";
+        }
+        return "ip:" + address.getAddress().getHostAddress();
+    }
+
+    /**
+     * 返回 429 响应
+     *
+     * @param exchange         ServerWebExchange
+     * @param retryAfterMillis 建议的重试等待时间（毫秒）
+     * @return Mono<Void>
+     */
+    private Mono<Void> tooManyRequests(ServerWebExchange exchange, long retryAfterMillis) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, (retryAfterMillis + 999) / 1000)));
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("code", HttpStatus.TOO_MANY_REQUESTS.value());
+        result.put("message", "请求过于频繁，请稍后重试");
+        result.put("data", null);
+        result.put("timestamp", System.currentTimeMillis());
+
+        try {
+            byte[] bytes = objectMapper.writeValueAsString(result).getBytes(StandardCharsets.UTF_8);
+            DataBuffer buffer = response.bufferFactory().wrap(bytes);
+            return response.writeWith(Mono.just(buffer));
+        } catch (JsonProcessingException e) {
+            log.error("JSON 序列化失败", e);
+            return response.setComplete();
+        }
+    }
+
+    /**
+     * 限流键类型
+     */
+    public enum KeyType {
+        /**
+         * 按用户 ID 限流，匿名请求按 IP
+         */
+        USER,
+        /**
+         * 按客户端 IP 限流
+         */
+        IP
+    }
+
+    /**
+     * 路由限流配置
+     */
+    @Data
+    public static class Config {
+
+        /**
+         * 每秒补充的令牌数
+         */
+        private double replenishRate = 10;
+
+        /**
+         * 桶容量（允许的突发请求数）
+         */
+        private long burstCapacity = 20;
+
+        /**
+         * 限流键类型
+         */
+        private KeyType keyType = KeyType.USER;
+    }
+}
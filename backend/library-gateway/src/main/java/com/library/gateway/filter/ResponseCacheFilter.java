@@ -0,0 +1,284 @@
+package com.library.gateway.filter;
+
+import com.library.gateway.cache.ResponseCache;
+import com.library.gateway.cache.ResponseCache.CachedResponse;
+import com.library.gateway.config.JwtProperties;
+import com.library.gateway.config.ResponseCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * 响应缓存过滤器
+ *
+ * <p>对公开图书目录的匿名 GET 请求（携带 Token 或签名身份的请求按用户鉴权，不读也不写缓存）：
+ * <ul>
+ *     <li>命中缓存时直接由网关返回，不再访问图书服务</li>
+ *     <li>请求携带的 If-None-Match 与 ETag 一致时返回 304</li>
+ *     <li>未命中时转发到下游，200 响应写入缓存并附加 ETag</li>
+ * </ul>
+ * 响应头 X-Cache 标识 HIT / MISS
+ *
+ * @author Library Team
+ */
+@Slf4j
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    /**
+     * 过滤器顺序：在认证过滤器之后执行
+     */
+    public static final int ORDER = -90;
+
+    /**
+     * 缓存状态响应头
+     */
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    /**
+     * 网关写入的签名身份头（由认证过滤器在本过滤器之前写入）
+     */
+    private static final String USER_ID_HEADER = "X-User-Id";
+
+    private final ResponseCacheProperties properties;
+    private final ResponseCache responseCache;
+    private final JwtProperties jwtProperties;
+    private final List<PathPattern> patterns;
+
+    public ResponseCacheFilter(ResponseCacheProperties properties, ResponseCache responseCache,
+                               JwtProperties jwtProperties) {
+        this.properties = properties;
+        this.responseCache = responseCache;
+        this.jwtProperties = jwtProperties;
+        this.patterns = properties.getPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.isEnabled()
+                || request.getMethod() != HttpMethod.GET
+                || isAuthenticated(request)
+                || !isCacheablePath(request.getPath().pathWithinApplication())) {
+            return chain.filter(exchange);
+        }
+
+        String key = cacheKey(request);
+        CachedResponse cached = responseCache.get(key);
+        if (cached != null) {
+            log.debug("响应缓存命中: {}", key);
+            return writeCached(exchange, cached);
+        }
+
+        long generation = responseCache.generation();
+        ServerHttpResponse decorated = new CachingResponseDecorator(exchange, key, generation);
+        return chain.filter(exchange.mutate().response(decorated).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /**
+     * 是否携带用户身份：这类响应可能依赖调用者的权限（如管理员查询导入进度），不能与匿名请求共享
+     */
+    private boolean isAuthenticated(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        return StringUtils.hasText(headers.getFirst(jwtProperties.getHeader()))
+                || StringUtils.hasText(headers.getFirst(USER_ID_HEADER));
+    }
+
+    /**
+     * 是否是可缓存的路径
+     */
+    private boolean isCacheablePath(PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 构建缓存键：路径 + 按参数名排序后的查询参数
+     *
+     * @param request HTTP 请求
+     * @return 缓存键
+     */
+    static String cacheKey(ServerHttpRequest request) {
+        String path = request.getPath().pathWithinApplication().value();
+        MultiValueMap<String, String> params = request.getQueryParams();
+        if (params.isEmpty()) {
+            return path;
+        }
+        StringBuilder key = new StringBuilder(path).append('?');
+        new TreeMap<>(params).forEach((name, values) -> {
+            for (String value : values) {
+                key.append(encode(name)).append('=').append(encode(value)).append('&');
+            }
+        });
+        key.setLength(key.length() - 1);
+        return key.toString();
+    }
+
+    private static String encode(String value) {
+        return value == null ? "" : URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 直接返回缓存的响应
+     */
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.etag());
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+
+        if (isNotModified(exchange.getRequest(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.contentType() != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, cached.contentType());
+        }
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    /**
+     * 检查 If-None-Match 是否与 ETag 匹配（弱比较）
+     */
+    private static boolean isNotModified(ServerHttpRequest request, String etag) {
+        for (String candidate : request.getHeaders().getIfNoneMatch()) {
+            if ("*".equals(candidate) || etag.equals(candidate)
+                    || (candidate.startsWith("W/") && etag.equals(candidate.substring(2)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 下游响应是否允许缓存
+     */
+    private static boolean isCacheable(ServerHttpResponse response) {
+        if (response.getStatusCode() != HttpStatus.OK) {
+            return false;
+        }
+        HttpHeaders headers = response.getHeaders();
+        if (headers.containsKey(HttpHeaders.SET_COOKIE) || headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null) {
+            String value = cacheControl.toLowerCase(Locale.ROOT);
+            return !value.contains("no-store") && !value.contains("private");
+        }
+        return true;
+    }
+
+    /**
+     * 缓存下游响应体的装饰器
+     */
+    private class CachingResponseDecorator extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final String key;
+        private final long generation;
+
+        CachingResponseDecorator(ServerWebExchange exchange, String key, long generation) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+            this.generation = generation;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!isCacheable(getDelegate())) {
+                return super.writeWith(body);
+            }
+            int maxBodyBytes = properties.getMaxBodyBytes();
+            if (getDelegate().getHeaders().getContentLength() > maxBodyBytes) {
+                return super.writeWith(body);
+            }
+
+            // 边读边计数：累计不超过上限时收集完整响应体；一旦超过，停止收集，
+            // 先写出已收到的数据，后续数据直接透传，不在网关内存中拼接超大响应体
+            long[] received = {0};
+            return Flux.from(body)
+                    .<DataBuffer>map(buffer -> buffer)
+                    .bufferUntil(buffer -> (received[0] += buffer.readableByteCount()) > maxBodyBytes)
+                    .switchOnFirst((first, chunks) -> {
+                        if (first.hasValue() && received[0] <= maxBodyBytes) {
+                            // 未超过上限时上游已结束，首个分组就是完整响应体
+                            return chunks.next().flatMap(buffers -> cacheAndWrite(buffers, (int) received[0]));
+                        }
+                        return super.writeWith(chunks.concatMapIterable(Function.identity()));
+                    })
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .then();
+        }
+
+        /**
+         * 写入缓存并返回响应体（或 304）
+         */
+        private Mono<Void> cacheAndWrite(List<DataBuffer> buffers, int size) {
+            byte[] bytes = new byte[size];
+            int offset = 0;
+            for (DataBuffer buffer : buffers) {
+                int length = buffer.readableByteCount();
+                buffer.read(bytes, offset, length);
+                offset += length;
+                DataBufferUtils.release(buffer);
+            }
+
+            HttpHeaders headers = getDelegate().getHeaders();
+            String etag = ResponseCache.etag(bytes);
+            String contentType = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+            responseCache.put(key, new CachedResponse(contentType, bytes, etag), generation);
+            headers.setETag(etag);
+            headers.set(CACHE_STATUS_HEADER, "MISS");
+
+            if (isNotModified(exchange.getRequest(), etag)) {
+                getDelegate().setStatusCode(HttpStatus.NOT_MODIFIED);
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+                headers.remove(HttpHeaders.TRANSFER_ENCODING);
+                return getDelegate().setComplete();
+            }
+            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+        }
+    }
+}
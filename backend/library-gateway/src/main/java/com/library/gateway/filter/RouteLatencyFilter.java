@@ -0,0 +1,54 @@
+package com.library.gateway.filter;
+
+import com.library.gateway.config.RouteLatencyProperties;
+import com.library.gateway.metrics.RouteLatencyRecorder;
+import com.library.gateway.metrics.RouteTiming;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * 路由延迟统计过滤器
+ *
+ * <p>紧随日志过滤器执行，创建 {@link RouteTiming} 放入 Exchange 属性和 Reactor Context，
+ * 请求结束时交给 {@link RouteLatencyRecorder} 按阶段记录。
+ * 转发开始的时间点由 {@link UpstreamTimingFilter} 标记，下游请求发出和响应头到达由 HttpClient 回调标记
+ *
+ * @author Library Team
+ */
+@Component
+@RequiredArgsConstructor
+public class RouteLatencyFilter implements GlobalFilter, Ordered {
+
+    private final RouteLatencyProperties properties;
+    private final RouteLatencyRecorder recorder;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null) {
+            return chain.filter(exchange);
+        }
+
+        RouteTiming timing = new RouteTiming(System.nanoTime());
+        exchange.getAttributes().put(RouteTiming.ATTRIBUTE, timing);
+        return chain.filter(exchange)
+                .doFinally(signal -> recorder.record(route.getId(),
+                        exchange.getRequest().getMethod().name(),
+                        exchange.getResponse().getStatusCode(),
+                        timing, System.nanoTime()))
+                .contextWrite(ctx -> ctx.put(RouteTiming.CONTEXT_KEY, timing));
+    }
+
+    @Override
+    public int getOrder() {
+        // 日志过滤器之后立即执行，统计范围覆盖其余全部过滤器
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+}
@@ -0,0 +1,35 @@
+package com.library.gateway.filter;
+
+import com.library.gateway.metrics.RouteTiming;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * 转发开始计时过滤器
+ *
+ * <p>在 {@link NettyRoutingFilter} 之前执行，标记网关过滤器阶段结束、开始向下游转发的时间点
+ *
+ * @author Library Team
+ */
+@Component
+public class UpstreamTimingFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        RouteTiming timing = exchange.getAttribute(RouteTiming.ATTRIBUTE);
+        if (timing != null) {
+            timing.markRouting();
+        }
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyRoutingFilter.ORDER - 1;
+    }
+}
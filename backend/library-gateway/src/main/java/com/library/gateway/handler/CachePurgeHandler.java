@@ -0,0 +1,97 @@
+package com.library.gateway.handler;
+
+import com.library.gateway.cache.ResponseCache;
+import com.library.gateway.config.IdentityProperties;
+import com.library.gateway.util.IdentitySignUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * 响应缓存清除处理器
+ *
+ * <p>供图书服务在目录数据变更后调用：{@code POST /internal/cache/purge?type=BOOK&id=1}，
+ * type 为 CATEGORY、CATALOG（如批量导入）或未指定图书 ID 时清除全部缓存；
+ * 图书只有库存变化时附带 {@code stockOnly=true}，只清除该图书和列表缓存，保留分类缓存。
+ * 调用方需携带以 library.identity.secret 签名的系统身份头，未通过校验的请求返回 403
+ *
+ * @author Library Team
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CachePurgeHandler implements HandlerFunction<ServerResponse> {
+
+    private static final String USER_ID_HEADER = "X-User-Id";
+    private static final String USERNAME_HEADER = "X-Username";
+    private static final String USER_ROLE_HEADER = "X-User-Role";
+    private static final String USER_TIMESTAMP_HEADER = "X-User-Timestamp";
+    private static final String USER_SIGNATURE_HEADER = "X-User-Signature";
+
+    /**
+     * 内部调用使用的系统角色
+     */
+    private static final String SYSTEM_ROLE = "SYSTEM";
+
+    private final ResponseCache responseCache;
+    private final IdentityProperties identityProperties;
+    private final IdentitySignUtil identitySignUtil;
+
+    @Override
+    public Mono<ServerResponse> handle(ServerRequest request) {
+        if (!isTrustedCaller(request.headers().asHttpHeaders())) {
+            log.warn("拒绝未签名的缓存清除请求: {}", request.remoteAddress().orElse(null));
+            return ServerResponse.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        String type = request.queryParam("type").orElse("ALL");
+        Long bookId = request.queryParam("id").map(this::parseId).orElse(null);
+        boolean stockOnly = request.queryParam("stockOnly").map(Boolean::parseBoolean).orElse(false);
+        if ("BOOK".equalsIgnoreCase(type) && bookId != null) {
+            responseCache.purgeBook(bookId, stockOnly);
+        } else {
+            responseCache.purgeAll();
+        }
+        log.info("响应缓存已清除, type={}, id={}, stockOnly={}", type, bookId, stockOnly);
+        return ServerResponse.noContent().build();
+    }
+
+    /**
+     * 校验调用方的系统身份签名
+     */
+    private boolean isTrustedCaller(HttpHeaders headers) {
+        String userId = headers.getFirst(USER_ID_HEADER);
+        String username = headers.getFirst(USERNAME_HEADER);
+        String role = headers.getFirst(USER_ROLE_HEADER);
+        String timestampHeader = headers.getFirst(USER_TIMESTAMP_HEADER);
+        String signature = headers.getFirst(USER_SIGNATURE_HEADER);
+        if (!SYSTEM_ROLE.equals(role) || timestampHeader == null || signature == null) {
+            return false;
+        }
+
+        long timestamp;
+        try {
+            timestamp = Long.parseLong(timestampHeader);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (Math.abs(System.currentTimeMillis() - timestamp) > identityProperties.getMaxSkewSeconds() * 1000) {
+            return false;
+        }
+        return identitySignUtil.verify(userId, username, role, timestamp, signature, identityProperties.getSecret());
+    }
+
+    private Long parseId(String id) {
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.library.gateway.loadbalancer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 负载均衡配置
+ *
+ * <p>网关 lb:// 路由默认使用 {@link PeakEwmaLoadBalancer}，library.loadbalancer.enabled=false 时回退为默认轮询
+ *
+ * @author Library Team
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "library.loadbalancer", name = "enabled", havingValue = "true", matchIfMissing = true)
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
@@ -0,0 +1,86 @@
+package com.library.gateway.metrics;
+
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 路由延迟端点
+ *
+ * <p>GET /actuator/routelatency 按路由返回各 方法 × 状态码类别 的请求数、总耗时及各阶段的分位数（毫秒），
+ * 用于区分慢在网关过滤器还是下游服务
+ *
+ * @author Library Team
+ */
+@Component
+@Endpoint(id = "routelatency")
+@RequiredArgsConstructor
+public class RouteLatencyEndpoint {
+
+    private final RouteLatencyRecorder recorder;
+
+    @ReadOperation
+    public Map<String, List<RouteLatency>> latencies() {
+        Map<String, List<RouteLatency>> result = new TreeMap<>();
+        recorder.timers().forEach((key, timers) -> {
+            Map<String, Map<String, Double>> phases = new LinkedHashMap<>();
+            timers.phases().forEach((phase, timer) -> phases.put(phase, percentiles(timer.takeSnapshot())));
+
+            HistogramSnapshot total = timers.total().takeSnapshot();
+            result.computeIfAbsent(key.route(), k -> new ArrayList<>()).add(new RouteLatency(
+                    key.method(), key.status(), total.count(),
+                    round(total.mean(TimeUnit.MILLISECONDS)), round(total.max(TimeUnit.MILLISECONDS)),
+                    percentiles(total), phases));
+        });
+        result.values().forEach(list -> list.sort(
+                Comparator.comparing(RouteLatency::method).thenComparing(RouteLatency::status)));
+        return result;
+    }
+
+    private static Map<String, Double> percentiles(HistogramSnapshot snapshot) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            values.put(label(value.percentile()), round(value.value(TimeUnit.MILLISECONDS)));
+        }
+        return values;
+    }
+
+    /**
+     * 0.5 -> p50，0.999 -> p999
+     */
+    private static String label(double percentile) {
+        return "p" + BigDecimal.valueOf(percentile).movePointRight(2)
+                .stripTrailingZeros().toPlainString().replace(".", "");
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 100) / 100.0;
+    }
+
+    /**
+     * 单个维度的延迟统计
+     *
+     * @param method      请求方法
+     * @param status      状态码类别
+     * @param count       累计请求数
+     * @param meanMillis  累计平均耗时
+     * @param maxMillis   统计窗口内的最大耗时
+     * @param percentiles 总耗时分位数
+     * @param phases      各阶段耗时分位数
+     */
+    public record RouteLatency(String method, String status, long count, double meanMillis, double maxMillis,
+                               Map<String, Double> percentiles, Map<String, Map<String, Double>> phases) {
+    }
+}
@@ -0,0 +1,148 @@
+package com.library.gateway.metrics;
+
+import com.library.gateway.config.RouteLatencyProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 路由延迟记录器
+ *
+ * <p>按 路由 ID × 请求方法 × 状态码类别 维护一组 Timer（分位数由 Micrometer 基于 HdrHistogram 计算）：
+ * <ul>
+ *     <li>gateway.route.latency{route, method, status}：总耗时，可发布直方图桶供 Prometheus 聚合</li>
+ *     <li>gateway.route.phase{route, method, status, phase}：各阶段耗时，只计算进程内分位数，避免桶数量膨胀</li>
+ * </ul>
+ *
+ * @author Library Team
+ */
+@Component
+public class RouteLatencyRecorder {
+
+    public static final String LATENCY_METRIC = "gateway.route.latency";
+    public static final String PHASE_METRIC = "gateway.route.phase";
+
+    private final MeterRegistry meterRegistry;
+    private final RouteLatencyProperties properties;
+    private final double[] percentiles;
+
+    private final Map<Key, RouteTimers> timers = new ConcurrentHashMap<>();
+
+    public RouteLatencyRecorder(MeterRegistry meterRegistry, RouteLatencyProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.percentiles = properties.getPercentiles().stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    /**
+     * 记录一次请求
+     *
+     * @param routeId  路由 ID
+     * @param method   请求方法
+     * @param status   响应状态码，可为 null
+     * @param timing   各阶段时间点
+     * @param endNanos 请求结束时间
+     */
+    public void record(String routeId, String method, HttpStatusCode status, RouteTiming timing, long endNanos) {
+        RouteTimers t = timers.computeIfAbsent(new Key(routeId, method, statusClass(status)), this::register);
+        long start = timing.getStartNanos();
+        t.total().record(endNanos - start, TimeUnit.NANOSECONDS);
+
+        long routing = timing.getRoutingNanos();
+        long sent = timing.getRequestSentNanos();
+        long received = timing.getResponseReceivedNanos();
+        if (routing == 0) {
+            // 在过滤器中直接返回（缓存命中、鉴权失败、限流等）
+            t.preFilter().record(endNanos - start, TimeUnit.NANOSECONDS);
+            return;
+        }
+        t.preFilter().record(routing - start, TimeUnit.NANOSECONDS);
+        if (sent == 0) {
+            // 未能发出请求（连接失败或转发到本地处理）
+            t.upstreamConnect().record(endNanos - routing, TimeUnit.NANOSECONDS);
+            return;
+        }
+        t.upstreamConnect().record(sent - routing, TimeUnit.NANOSECONDS);
+        if (received == 0) {
+            t.upstreamResponse().record(endNanos - sent, TimeUnit.NANOSECONDS);
+            return;
+        }
+        t.upstreamResponse().record(received - sent, TimeUnit.NANOSECONDS);
+        t.write().record(endNanos - received, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 已注册的全部 Timer
+     *
+     * @return 维度 -> Timer 组
+     */
+    public Map<Key, RouteTimers> timers() {
+        return timers;
+    }
+
+    private RouteTimers register(Key key) {
+        Timer total = Timer.builder(LATENCY_METRIC)
+                .description("网关路由请求总耗时")
+                .tags("route", key.route(), "method", key.method(), "status", key.status())
+                .publishPercentiles(percentiles)
+                .publishPercentileHistogram(properties.isPercentileHistogram())
+                .minimumExpectedValue(properties.getMinimumExpectedValue())
+                .maximumExpectedValue(properties.getMaximumExpectedValue())
+                .distributionStatisticExpiry(properties.getExpiry())
+                .register(meterRegistry);
+        return new RouteTimers(total,
+                phase(key, "pre_filter"),
+                phase(key, "upstream_connect"),
+                phase(key, "upstream_response"),
+                phase(key, "write"));
+    }
+
+    private Timer phase(Key key, String phase) {
+        return Timer.builder(PHASE_METRIC)
+                .description("网关路由请求各阶段耗时")
+                .tags("route", key.route(), "method", key.method(), "status", key.status(), "phase", phase)
+                .publishPercentiles(percentiles)
+                .distributionStatisticExpiry(properties.getExpiry())
+                .register(meterRegistry);
+    }
+
+    private static String statusClass(HttpStatusCode status) {
+        if (status == null) {
+            return "UNKNOWN";
+        }
+        return (status.value() / 100) + "xx";
+    }
+
+    /**
+     * Timer 维度
+     */
+    public record Key(String route, String method, String status) {
+    }
+
+    /**
+     * 同一维度下的总耗时与各阶段 Timer
+     */
+    public record RouteTimers(Timer total, Timer preFilter, Timer upstreamConnect,
+                              Timer upstreamResponse, Timer write) {
+
+        /**
+         * 按阶段顺序排列的阶段 Timer
+         *
+         * @return 阶段名 -> Timer
+         */
+        public Map<String, Timer> phases() {
+            Map<String, Timer> phases = new LinkedHashMap<>();
+            phases.put("pre_filter", preFilter);
+            phases.put("upstream_connect", upstreamConnect);
+            phases.put("upstream_response", upstreamResponse);
+            phases.put("write", write);
+            return phases;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.library.gateway.metrics;
+
+/**
+ * 单个请求在网关内各阶段的时间点（System.nanoTime）
+ *
+ * <p>请求进入、开始转发、请求发往下游、收到下游响应头四个时间点把耗时划分为：
+ * <ul>
+ *     <li>pre_filter：网关过滤器（鉴权、缓存、限流等）</li>
+ *     <li>upstream_connect：获取或建立下游连接</li>
+ *     <li>upstream_response：下游处理，直到收到响应头</li>
+ *     <li>write：响应体写回客户端</li>
+ * </ul>
+ * 各时间点由不同线程写入，字段使用 volatile，未到达的时间点为 0
+ *
+ * @author Library Team
+ */
+public class RouteTiming {
+
+    /**
+     * Reactor Context 中的键，供下游 HttpClient 回调取得当前请求的计时对象
+     */
+    public static final Class<RouteTiming> CONTEXT_KEY = RouteTiming.class;
+
+    /**
+     * Exchange 属性名
+     */
+    public static final String ATTRIBUTE = RouteTiming.class.getName();
+
+    private final long startNanos;
+
+    private volatile long routingNanos;
+
+    private volatile long requestSentNanos;
+
+    private volatile long responseReceivedNanos;
+
+    public RouteTiming(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    public void markRouting() {
+        routingNanos = System.nanoTime();
+    }
+
+    public void markRequestSent() {
+        requestSentNanos = System.nanoTime();
+    }
+
+    public void markResponseReceived() {
+        responseReceivedNanos = System.nanoTime();
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getRoutingNanos() {
+        return routingNanos;
+    }
+
+    public long getRequestSentNanos() {
+        return requestSentNanos;
+    }
+
+    public long getResponseReceivedNanos() {
+        return responseReceivedNanos;
+    }
+}
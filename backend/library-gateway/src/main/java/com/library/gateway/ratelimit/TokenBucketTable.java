@@ -0,0 +1,170 @@
+package com.library.gateway.ratelimit;
+
+import com.library.gateway.config.RateLimitProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * 本地令牌桶表
+ *
+ * <p>进程内按键维护令牌桶，不依赖 Redis：
+ * <ul>
+ *     <li>按键哈希分段加锁，不同分段的请求互不竞争</li>
+ *     <li>令牌按距上次访问的时间惰性补充，无需定时任务</li>
+ *     <li>访问某分段时顺带清理其中空闲且已回满的桶（清理后重建的桶同样是满的，限流效果不变）</li>
+ * </ul>
+ * 桶数量通过 gateway.ratelimit.buckets 指标暴露
+ *
+ * @author Library Team
+ */
+@Component
+public class TokenBucketTable {
+
+    /**
+     * 分段数（2 的幂）
+     */
+    private static final int STRIPES = 64;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private final long idleTimeoutNanos;
+
+    public TokenBucketTable(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.idleTimeoutNanos = properties.getIdleTimeout().toNanos();
+        Gauge.builder("gateway.ratelimit.buckets", this, TokenBucketTable::size)
+                .description("限流令牌桶数量")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 尝试获取一个令牌
+     *
+     * @param key           限流键
+     * @param replenishRate 每秒补充的令牌数
+     * @param burstCapacity 桶容量
+     * @return 获取结果
+     */
+    public Acquisition tryAcquire(String key, double replenishRate, long burstCapacity) {
+        long now = System.nanoTime();
+        Stripe stripe = stripes[spread(key.hashCode()) & (STRIPES - 1)];
+        synchronized (stripe) {
+            if (now - stripe.lastSweepNanos > idleTimeoutNanos) {
+                stripe.sweep(now, idleTimeoutNanos);
+            }
+
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(replenishRate, burstCapacity, now);
+                stripe.buckets.put(key, bucket);
+            } else {
+                bucket.refill(now, replenishRate, burstCapacity);
+            }
+
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return new Acquisition(true, (long) bucket.tokens, 0);
+            }
+            long retryAfterMillis = (long) Math.ceil((1 - bucket.tokens) / replenishRate * 1000);
+            return new Acquisition(false, 0, retryAfterMillis);
+        }
+    }
+
+    /**
+     * 当前令牌桶数量
+     *
+     * @return 桶数量
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.buckets.size();
+            }
+        }
+        return size;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * 分段：一个锁保护一组令牌桶
+     */
+    private static final class Stripe {
+
+        private final Map<String, Bucket> buckets = new HashMap<>();
+
+        private long lastSweepNanos = System.nanoTime();
+
+        /**
+         * 清理空闲且已回满的桶
+         */
+        void sweep(long now, long idleTimeoutNanos) {
+            Iterator<Bucket> iterator = buckets.values().iterator();
+            while (iterator.hasNext()) {
+                Bucket bucket = iterator.next();
+                long idle = now - bucket.lastRefillNanos;
+                if (idle > idleTimeoutNanos && bucket.isFullAt(now)) {
+                    iterator.remove();
+                }
+            }
+            lastSweepNanos = now;
+        }
+    }
+
+    /**
+     * 令牌桶
+     */
+    private static final class Bucket {
+
+        private double tokens;
+
+        private long lastRefillNanos;
+
+        /**
+         * 最近一次访问使用的速率与容量（路由配置刷新后随之更新）
+         */
+        private double replenishRate;
+
+        private long burstCapacity;
+
+        Bucket(double replenishRate, long burstCapacity, long now) {
+            this.replenishRate = replenishRate;
+            this.burstCapacity = burstCapacity;
+            this.tokens = burstCapacity;
+            this.lastRefillNanos = now;
+        }
+
+        void refill(long now, double replenishRate, long burstCapacity) {
+            this.replenishRate = replenishRate;
+            this.burstCapacity = burstCapacity;
+            double elapsedSeconds = (now - lastRefillNanos) / 1_000_000_000.0;
+            tokens = Math.min(burstCapacity, tokens + elapsedSeconds * replenishRate);
+            lastRefillNanos = now;
+        }
+
+        boolean isFullAt(long now) {
+            double elapsedSeconds = (now - lastRefillNanos) / 1_000_000_000.0;
+            return tokens + elapsedSeconds * replenishRate >= burstCapacity;
+        }
+    }
+
+    /**
+     * 令牌获取结果
+     *
+     * @param allowed          是否放行
+     * @param remaining        剩余令牌数
+     * @param retryAfterMillis 被拒绝时建议的重试等待时间（毫秒）
+     */
+    public record Acquisition(boolean allowed, long remaining, long retryAfterMillis) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.library.gateway.util;
+
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+/**
+ * 身份头签名工具类
+ * 
+ * <p>签名原文格式：{@code userId + "\n" + username + "\n" + role + "\n" + timestamp}，
+ * 算法 HmacSHA256，结果 Base64URL 编码（无填充）。
+ * 需与下游 {@code com.library.common.utils.IdentitySignUtils} 保持一致
+ *
+ * @author Library Team
+ */
+@Component
+public class IdentitySignUtil {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    /**
+     * 生成签名
+     *
+     * @param userId    用户 ID
+     * @param username  用户名
+     * @param role      用户角色
+     * @param timestamp 签名时间戳（毫秒）
+     * @param secret    签名密钥
+     * @return 签名字符串
+     */
+    public String sign(String userId, String username, String role, long timestamp, String secret) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            String canonical = userId + "\n" + username + "\n" + role + "\n" + timestamp;
+            byte[] raw = mac.doFinal(canonical.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("身份签名失败", e);
+        }
+    }
+
+    /**
+     * 校验签名（常量时间比较）
+     *
+     * @param userId    用户 ID
+     * @param username  用户名
+     * @param role      用户角色
+     * @param timestamp 签名时间戳（毫秒）
+     * @param signature 待校验的签名
+     * @param secret    签名密钥
+     * @return true-签名有效
+     */
+    public boolean verify(String userId, String username, String role, long timestamp,
+                          String signature, String secret) {
+        if (signature == null) {
+            return false;
+        }
+        String expected = sign(userId, username, role, timestamp, secret);
+        return MessageDigest.isEqual(
+                expected.getBytes(StandardCharsets.UTF_8),
+                signature.getBytes(StandardCharsets.UTF_8));
+    }
+}
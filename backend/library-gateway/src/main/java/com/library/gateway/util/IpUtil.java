@@ -0,0 +1,58 @@
+package com.library.gateway.util;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+/**
+ * 客户端 IP 工具类
+ *
+ * @author Library Team
+ */
+public final class IpUtil {
+
+    private IpUtil() {
+        throw new IllegalStateException("工具类不允许实例化");
+    }
+
+    /**
+     * 获取客户端 IP（仅用于日志）
+     *
+     * <p>优先读取代理头，这些头可由客户端任意设置，不能作为限流等安全判断的依据
+     *
+     * @param request HTTP 请求
+     * @return 客户端 IP
+     */
+    public static String getClientIp(ServerHttpRequest request) {
+        // 优先从代理头获取
+        String ip = request.getHeaders().getFirst("X-Forwarded-For");
+        if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
+            // 多级代理时取第一个 IP
+            int index = ip.indexOf(',');
+            if (index != -1) {
+                return ip.substring(0, index).trim();
+            }
+            return ip;
+        }
+
+        ip = request.getHeaders().getFirst("X-Real-IP");
+        if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
+            return ip;
+        }
+
+        ip = request.getHeaders().getFirst("Proxy-Client-IP");
+        if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
+            return ip;
+        }
+
+        ip = request.getHeaders().getFirst("WL-Proxy-Client-IP");
+        if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
+            return ip;
+        }
+
+        // 从远程地址获取
+        if (request.getRemoteAddress() != null) {
+            return request.getRemoteAddress().getAddress().getHostAddress();
+        }
+
+        return "unknown";
+    }
+}
@@ -3,6 +3,7 @@ package com.library.gateway.util;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -14,8 +15,8 @@ import java.util.Date;
 
 /**
  * JWT 工具类
- * 
- * <p>用于解析和验证 JWT Token
+ *
+ * <p>用于解析和验证 JWT Token。JwtParser 按密钥缓存复用，密钥变更（如 Nacos 刷新）时自动重建
  *
  * @author Library Team
  */
@@ -23,6 +24,11 @@ import java.util.Date;
 @Component
 public class JwtUtil {
 
+    /**
+     * 当前密钥对应的解析器
+     */
+    private volatile CachedParser cachedParser;
+
     /**
      * 解析 JWT Token
      *
@@ -32,10 +38,7 @@ public class JwtUtil {
      * @throws JwtException 解析失败时抛出
      */
     public Claims parseToken(String token, String secret) {
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
+        return getParser(secret)
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -95,4 +98,29 @@ public class JwtUtil {
         Claims claims = parseToken(token, secret);
         return claims.get("role", String.class);
     }
-}
\ No newline at end of file
+
+    /**
+     * 获取密钥对应的解析器（JwtParser 线程安全，可复用）
+     *
+     * @param secret 签名密钥
+     * @return JwtParser
+     */
+    private JwtParser getParser(String secret) {
+        CachedParser current = cachedParser;
+        if (current != null && current.secret().equals(secret)) {
+            return current.parser();
+        }
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        JwtParser parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+        cachedParser = new CachedParser(secret, parser);
+        return parser;
+    }
+
+    /**
+     * 密钥与解析器
+     */
+    private record CachedParser(String secret, JwtParser parser) {
+    }
+}
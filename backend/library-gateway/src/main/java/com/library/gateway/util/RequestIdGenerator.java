@@ -0,0 +1,58 @@
+package com.library.gateway.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 请求 ID 生成器
+ *
+ * <p>ID 由进程启动时随机生成的 6 位实例前缀和单调递增的序号组成，均为 base62 编码，
+ * 同一实例内严格递增、不同实例间不冲突，生成时只需一次原子自增，不依赖 UUID 的安全随机数
+ *
+ * @author Library Team
+ */
+public final class RequestIdGenerator {
+
+    private static final char[] DIGITS =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    private static final int PREFIX_LENGTH = 6;
+
+    /**
+     * long 的 base62 表示最多 11 位
+     */
+    private static final int MAX_LENGTH = PREFIX_LENGTH + 11;
+
+    private static final char[] PREFIX = new char[PREFIX_LENGTH];
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    static {
+        long seed = ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE;
+        for (int i = PREFIX_LENGTH - 1; i >= 0; i--) {
+            PREFIX[i] = DIGITS[(int) (seed % 62)];
+            seed /= 62;
+        }
+    }
+
+    private RequestIdGenerator() {
+    }
+
+    /**
+     * 生成下一个请求 ID
+     *
+     * @return 请求 ID
+     */
+    public static String next() {
+        long value = SEQUENCE.incrementAndGet();
+        char[] buf = new char[MAX_LENGTH];
+        int pos = MAX_LENGTH;
+        do {
+            buf[--pos] = DIGITS[(int) (value % 62)];
+            value /= 62;
+        } while (value > 0);
+        pos -= PREFIX_LENGTH;
+        System.arraycopy(PREFIX, 0, buf, pos, PREFIX_LENGTH);
+        return new String(buf, pos, MAX_LENGTH - pos);
+    }
+}
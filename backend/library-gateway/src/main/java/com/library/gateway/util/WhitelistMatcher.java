@@ -0,0 +1,201 @@
+package com.library.gateway.util;
+
+import com.library.gateway.config.JwtProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PatternParseException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 白名单路径匹配器
+ *
+ * <p>启动时将白名单规则预编译为 {@link PathPattern}，并按模式的字面量前缀段组织成路径段前缀树：
+ * 匹配时沿请求路径逐段下行，只对沿途节点上挂载的少量规则做完整匹配，
+ * 匹配开销与路径深度相关，而不再随白名单规则数量线性增长。
+ *
+ * <p>配置中心刷新（{@link RefreshScopeRefreshedEvent}）后自动重新编译
+ *
+ * @author Library Team
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WhitelistMatcher {
+
+    private static final PathPatternParser PARSER = PathPatternParser.defaultInstance;
+
+    private static final AntPathMatcher ANT_MATCHER = new AntPathMatcher();
+
+    private final JwtProperties jwtProperties;
+
+    /**
+     * 当前生效的前缀树（整体替换，读无锁）
+     */
+    private volatile Node root = new Node();
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    /**
+     * 配置刷新后重新编译（此时 JwtProperties 已完成重新绑定）
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void onRefresh() {
+        rebuild();
+    }
+
+    /**
+     * 检查是否是白名单路径
+     *
+     * @param path   请求路径
+     * @param method 请求方法
+     * @return true-是白名单路径
+     */
+    public boolean matches(PathContainer path, HttpMethod method) {
+        Node node = root;
+        if (node.matches(path, method)) {
+            return true;
+        }
+        for (PathContainer.Element element : path.elements()) {
+            if (!(element instanceof PathContainer.PathSegment segment)) {
+                continue;
+            }
+            node = node.children.get(segment.valueToMatch());
+            if (node == null) {
+                return false;
+            }
+            if (node.matches(path, method)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 重新编译白名单规则
+     */
+    public void rebuild() {
+        Node newRoot = new Node();
+        int count = 0;
+
+        // 配置文件中的白名单
+        for (String pattern : jwtProperties.getWhitelist()) {
+            count += add(newRoot, pattern, null) ? 1 : 0;
+        }
+
+        // 内置白名单规则
+        // 1. 登录、注册、退出接口
+        add(newRoot, "/api/auth/login", null);
+        add(newRoot, "/api/auth/register", null);
+        add(newRoot, "/api/auth/logout", null);
+
+        // 2. 图书查询接口（GET 请求）
+        add(newRoot, "/api/books", HttpMethod.GET);
+        add(newRoot, "/api/books/**", HttpMethod.GET);
+        add(newRoot, "/api/categories", HttpMethod.GET);
+        add(newRoot, "/api/categories/**", HttpMethod.GET);
+
+        // 3. 健康检查接口
+        add(newRoot, "/actuator/**", null);
+
+        this.root = newRoot;
+        log.info("白名单规则编译完成，配置规则 {} 条", count);
+    }
+
+    /**
+     * 添加一条规则：挂载到其字面量前缀段对应的节点上
+     *
+     * @param root    前缀树根节点
+     * @param pattern 路径模式
+     * @param method  限定的请求方法，null 表示不限
+     * @return 是否添加成功
+     */
+    private boolean add(Node root, String pattern, HttpMethod method) {
+        if (pattern == null || pattern.isBlank()) {
+            return false;
+        }
+        Rule rule;
+        try {
+            rule = new Rule(method, PARSER.parse(pattern), null);
+        } catch (PatternParseException e) {
+            // PathPattern 不支持的写法（如中间位置的 **）回退为 AntPathMatcher，挂在根节点
+            log.warn("白名单规则 {} 无法预编译，回退为 AntPathMatcher: {}", pattern, e.getMessage());
+            root.rules.add(new Rule(method, null, pattern));
+            return true;
+        }
+
+        Node node = root;
+        for (String segment : pattern.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (isWildcard(segment)) {
+                break;
+            }
+            node = node.children.computeIfAbsent(segment, k -> new Node());
+        }
+        node.rules.add(rule);
+        return true;
+    }
+
+    /**
+     * 路径段是否包含通配符或变量
+     */
+    private static boolean isWildcard(String segment) {
+        return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0;
+    }
+
+    /**
+     * 前缀树节点
+     */
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+
+        private final List<Rule> rules = new ArrayList<>();
+
+        boolean matches(PathContainer path, HttpMethod method) {
+            for (Rule rule : rules) {
+                if (rule.matches(path, method)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 单条白名单规则
+     *
+     * @param method     限定的请求方法，null 表示不限
+     * @param pattern    预编译的路径模式
+     * @param antPattern 无法预编译时使用的 Ant 风格模式
+     */
+    private record Rule(HttpMethod method, PathPattern pattern, String antPattern) {
+
+        boolean matches(PathContainer path, HttpMethod requestMethod) {
+            if (method != null && method != requestMethod) {
+                return false;
+            }
+            if (pattern != null) {
+                return pattern.matches(path);
+            }
+            return ANT_MATCHER.match(antPattern, path.value());
+        }
+    }
+}
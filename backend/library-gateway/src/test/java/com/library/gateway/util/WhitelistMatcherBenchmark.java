@@ -0,0 +1,126 @@
+package com.library.gateway.util;
+
+import com.library.gateway.config.JwtProperties;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 白名单匹配基准（手动运行，不参与单元测试）
+ *
+ * <p>配置 N = 10 / 100 / 1000 条合成规则（{@code /api/svc<i>/public/**}）加内置规则，
+ * 对比原先逐条 {@link AntPathMatcher} 的循环与 {@link WhitelistMatcher} 前缀树的单次匹配耗时。
+ * 计时前先用两种实现逐条校验一组命中 / 未命中的请求，结果不一致时抛出异常。
+ * 在 library-gateway 目录下执行 {@code mvn test-compile} 后运行：
+ * <pre>
+ * java -cp target/classes:target/test-classes:$(依赖类路径) com.library.gateway.util.WhitelistMatcherBenchmark
+ * </pre>
+ *
+ * @author Library Team
+ */
+public class WhitelistMatcherBenchmark {
+
+    private static final int[] RULE_COUNTS = {10, 100, 1000};
+
+    private static final int WARMUP_ROUNDS = 3;
+
+    private static final AntPathMatcher ANT_MATCHER = new AntPathMatcher();
+
+    /**
+     * 计时用的请求：大部分为未命中白名单的业务请求，与线上分布接近
+     */
+    private static final String[] PATHS = {
+            "/api/borrow/records/my", "/api/books/123", "/api/auth/login", "/api/users/42/profile"};
+    private static final HttpMethod[] METHODS = {HttpMethod.POST, HttpMethod.GET, HttpMethod.POST, HttpMethod.PUT};
+
+    public static void main(String[] args) {
+        for (int ruleCount : RULE_COUNTS) {
+            List<String> whitelist = new ArrayList<>(ruleCount);
+            for (int i = 0; i < ruleCount; i++) {
+                whitelist.add("/api/svc" + i + "/public/**");
+            }
+            JwtProperties properties = new JwtProperties();
+            properties.setWhitelist(whitelist);
+            WhitelistMatcher matcher = new WhitelistMatcher(properties);
+            matcher.rebuild();
+
+            crossCheck(whitelist, matcher, ruleCount);
+
+            PathContainer[] containers = new PathContainer[PATHS.length];
+            for (int i = 0; i < PATHS.length; i++) {
+                containers[i] = PathContainer.parsePath(PATHS[i]);
+            }
+            int legacyIterations = 2_000_000 / Math.max(1, ruleCount / 10);
+            int compiledIterations = 5_000_000;
+            long sink = 0;
+            double legacyNanos = 0;
+            double compiledNanos = 0;
+            for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < legacyIterations; i++) {
+                    int k = i & 3;
+                    sink += legacyMatches(whitelist, PATHS[k], METHODS[k]) ? 1 : 0;
+                }
+                long middle = System.nanoTime();
+                for (int i = 0; i < compiledIterations; i++) {
+                    int k = i & 3;
+                    sink += matcher.matches(containers[k], METHODS[k]) ? 1 : 0;
+                }
+                legacyNanos = (double) (middle - start) / legacyIterations;
+                compiledNanos = (double) (System.nanoTime() - middle) / compiledIterations;
+            }
+            System.out.printf("N=%-5d AntPathMatcher 循环: %.2fus/op  前缀树: %.2fus/op  (sink=%d)%n",
+                    ruleCount, legacyNanos / 1000, compiledNanos / 1000, sink);
+        }
+    }
+
+    /**
+     * 两种实现对命中 / 未命中的请求结果必须一致
+     */
+    private static void crossCheck(List<String> whitelist, WhitelistMatcher matcher, int ruleCount) {
+        List<String> paths = new ArrayList<>(List.of(PATHS));
+        paths.add("/api/svc0/public/docs");
+        paths.add("/api/svc" + (ruleCount - 1) + "/public/a/b/c");
+        paths.add("/api/svc" + ruleCount + "/public/docs");
+        paths.add("/api/svc1/private/docs");
+        paths.add("/api/books");
+        paths.add("/api/categories/tree");
+        paths.add("/actuator/health");
+        paths.add("/api/auth/register");
+        for (String path : paths) {
+            for (HttpMethod method : new HttpMethod[]{HttpMethod.GET, HttpMethod.POST}) {
+                boolean expected = legacyMatches(whitelist, path, method);
+                if (matcher.matches(PathContainer.parsePath(path), method) != expected) {
+                    throw new IllegalStateException("匹配结果不一致: " + method + " " + path + ", 期望 " + expected);
+                }
+            }
+        }
+    }
+
+    /**
+     * 原先 AuthGlobalFilter 中的逐条匹配逻辑
+     */
+    private static boolean legacyMatches(List<String> whitelist, String path, HttpMethod method) {
+        for (String pattern : whitelist) {
+            if (ANT_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        if (ANT_MATCHER.match("/api/auth/login", path)
+                || ANT_MATCHER.match("/api/auth/register", path)
+                || ANT_MATCHER.match("/api/auth/logout", path)) {
+            return true;
+        }
+        if (method == HttpMethod.GET
+                && (ANT_MATCHER.match("/api/books", path)
+                || ANT_MATCHER.match("/api/books/**", path)
+                || ANT_MATCHER.match("/api/categories", path)
+                || ANT_MATCHER.match("/api/categories/**", path))) {
+            return true;
+        }
+        return ANT_MATCHER.match("/actuator/**", path);
+    }
+}
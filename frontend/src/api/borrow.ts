@@ -1,6 +1,10 @@
 import request from '../utils/request';
 import {
   ApiResponse,
+  BatchBorrowRequest,
+  BatchBorrowResult,
+  BatchReturnRequest,
+  BatchReturnResult,
   BorrowRecord,
   BorrowRequest,
   PageRequest,
@@ -13,11 +17,21 @@ export const borrowBook = (data: BorrowRequest): Promise<ApiResponse<BorrowRecor
   return request.post('/api/borrow', data);
 };
 
+// 批量借阅图书
+export const borrowBooks = (data: BatchBorrowRequest): Promise<ApiResponse<BatchBorrowResult[]>> => {
+  return request.post('/api/borrow/batch', data);
+};
+
 // 归还图书
 export const returnBook = (id: number): Promise<ApiResponse<void>> => {
   return request.post('/api/return', { borrowId: id });
 };
 
+// 批量还书（管理员）
+export const returnBooks = (data: BatchReturnRequest): Promise<ApiResponse<BatchReturnResult[]>> => {
+  return request.post('/api/return/batch', data);
+};
+
 // 续借图书
 export const renewBook = (id: number, data: RenewRequest): Promise<ApiResponse<BorrowRecord>> => {
   return request.post('/api/renew', { borrowId: id, ...data });
@@ -80,6 +80,8 @@ const AdminPanel: React.FC = () => {
       const response = await bookApi.getBooks({
         page: bookPage,
         size: bookPageSize,
+        // 编辑表单直接使用列表数据，需要封面和简介
+        fields: 'detail',
       });
       setBooks(response.data.records);
       setBookTotal(response.data.total);
@@ -103,6 +103,35 @@ export interface BorrowRequest {
   borrowDays: number;
 }
 
+export interface BatchBorrowRequest {
+  bookIds: number[];
+  allOrNothing?: boolean;
+  borrowDays?: number;
+  remark?: string;
+}
+
+export interface BatchBorrowResult {
+  bookId: number;
+  bookTitle?: string;
+  success: boolean;
+  borrowId?: number;
+  message?: string;
+}
+
+export interface BatchReturnRequest {
+  borrowIds: number[];
+  remark?: string;
+}
+
+export interface BatchReturnResult {
+  borrowId: number;
+  bookId?: number;
+  bookTitle?: string;
+  username?: string;
+  success: boolean;
+  message?: string;
+}
+
 export interface RenewRequest {
   renewDays: number;
 }
@@ -115,6 +144,7 @@ export interface PageRequest {
   categoryId?: number;
   status?: number;
   userId?: number;
+  fields?: 'summary' | 'detail'; // 图书列表字段集，summary 不含封面和简介
 }
 
 export interface PageResponse<T> {